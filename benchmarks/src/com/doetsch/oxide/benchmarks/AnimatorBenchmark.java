@@ -0,0 +1,112 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JPanel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideAnimator;
+
+/**
+ * AnimatorBenchmark measures the ticks per second of an OxideAnimator
+ * stepping 1,000 concurrent animations, each of which blends a panel's
+ * background color over one second and restarts itself when it ends.
+ * Every tick advances the animator's clock by one 16 ms frame on top of
+ * the system clock, which still runs during a tick so that the tick
+ * budget applies: either the default 8 ms or 100 microseconds, under
+ * which a tick steps only part of the animations and drops the rest
+ * until the next tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimatorBenchmark {
+
+	/*
+	 * The number of concurrent animations, and the length of one of them
+	 * and of a frame
+	 */
+	private static final int ANIMATION_COUNT = 1000;
+	private static final long DURATION_MILLIS = 1000;
+	private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+	@Param({ "8000", "100" })
+	private long tickBudgetMicros;
+
+	//The virtual time added to the system clock
+	private long offset;
+	private OxideAnimator animator;
+
+	@Setup
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+
+		animator = new OxideAnimator(new OxideAnimator.Clock() {
+
+			@Override
+			public long nanoTime () {
+				return System.nanoTime() + offset;
+			}
+
+		}, 0, TimeUnit.MICROSECONDS.toNanos(tickBudgetMicros));
+
+		for (int i = 0; i < ANIMATION_COUNT; i++) {
+			animator.start(new BlendAnimation(new JPanel()), DURATION_MILLIS);
+
+			/*
+			 * Stagger the animations so that they don't all restart at once
+			 */
+			offset += TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS) / ANIMATION_COUNT;
+		}
+	}
+
+	@Benchmark
+	public long tick () {
+		offset += FRAME_NANOS;
+		animator.tick();
+		return animator.getStepCount();
+	}
+
+	/**
+	 * BlendAnimation blends a panel's background from black to white,
+	 * restarting when it ends.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private final class BlendAnimation implements OxideAnimator.Animation {
+
+		private final JPanel panel;
+
+		private BlendAnimation (JPanel panel) {
+			this.panel = panel;
+		}
+
+		@Override
+		public void step (float progress) {
+
+			panel.setBackground(OxideAnimator.blend(Color.BLACK, Color.WHITE, progress));
+
+			if (progress >= 1f) {
+				animator.start(this, DURATION_MILLIS);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * BenchmarkDisplay gives benchmarks a display to realize frames on. When
+ * the JVM has no display, Caciocavallo's in-memory toolkit is installed
+ * in place of the platform toolkit, so that windows are realized and
+ * painted without a window system.
+ */
+public final class BenchmarkDisplay {
+
+	private static boolean isInstalled;
+
+	private BenchmarkDisplay () {
+	}
+
+	/**
+	 * Installs the in-memory toolkit if there is no display. This must be
+	 * called before any AWT or Swing class is used.
+	 */
+	public static synchronized void install () {
+
+		if (isInstalled) {
+			return;
+		}
+
+		isInstalled = true;
+
+		if (System.getenv("DISPLAY") == null) {
+			try {
+				Class.forName("com.github.caciocavallosilano.cacio.ctc.junit.CacioExtension");
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException("Caciocavallo is not on the class path", e);
+			}
+		}
+	}
+
+	/**
+	 * Runs the given task on the event dispatch thread and returns its
+	 * result.
+	 *
+	 * @param <T> the type of the task's result
+	 * @param task the task to run
+	 * @return the task's result
+	 */
+	public static <T> T onEdt (final Callable<T> task) {
+
+		final Object[] result = new Object[1];
+
+		try {
+			SwingUtilities.invokeAndWait(new Runnable() {
+
+				@Override
+				public void run () {
+					try {
+						result[0] = task.call();
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+
+		@SuppressWarnings("unchecked")
+		T typedResult = (T) result[0];
+		return typedResult;
+	}
+
+	/**
+	 * Runs the given task on the event dispatch thread.
+	 *
+	 * @param task the task to run
+	 */
+	public static void onEdt (final Runnable task) {
+		onEdt(new Callable<Void>() {
+
+			@Override
+			public Void call () {
+				task.run();
+				return null;
+			}
+
+		});
+	}
+
+}
@@ -0,0 +1,191 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideCompiledSkin;
+import com.doetsch.oxide.OxideDecorationPainter;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideInternalFrame;
+import com.doetsch.oxide.OxideSkin;
+
+/**
+ * ChildFrameBenchmark compares a heavyweight child OxideFrame, a window
+ * of its own, with an OxideInternalFrame inside a parent frame's content
+ * pane: opening and closing a child, and dragging one by its title bar
+ * with a press, a sequence of drags and a release. Every operation runs
+ * on the event dispatch thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChildFrameBenchmark {
+
+	/*
+	 * The number of drag events in a drag sequence
+	 */
+	private static final int DRAG_LENGTH = 20;
+
+	@Param({ "heavyweight", "internal" })
+	private String kind;
+
+	private OxideSkin skin;
+	private OxideFrame parentFrame;
+	private OxideFrame heavyweightChild;
+	private OxideInternalFrame internalChild;
+
+	/*
+	 * The component receiving the drag events and the drag's starting
+	 * point within it
+	 */
+	private Component dragTarget;
+	private int dragX;
+	private int dragY;
+
+	@Setup(Level.Trial)
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+		skin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				parentFrame = new OxideFrame.Builder(skin)
+						.title("Parent")
+						.bounds(50, 50, 1200, 800)
+						.build();
+
+				if (kind.equals("heavyweight")) {
+					heavyweightChild = openHeavyweight();
+					dragTarget = FrameBenchmark.findTitleLabel(heavyweightChild);
+					dragX = 10;
+					dragY = 10;
+				} else {
+					internalChild = openInternal();
+					dragTarget = internalChild;
+
+					OxideDecorationPainter painter = new OxideDecorationPainter(skin, false);
+					painter.setTitle("Child");
+					painter.setContentSize(400, 300);
+
+					Rectangle titleBounds = painter.getTitleBounds();
+					dragX = titleBounds.x + skin.getFrameBorderWidth() + 10;
+					dragY = (int) titleBounds.getCenterY() + skin.getFrameBorderWidth();
+				}
+			}
+
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				if (heavyweightChild != null) {
+					heavyweightChild.dispose();
+				}
+
+				parentFrame.dispose();
+			}
+
+		});
+	}
+
+	@Benchmark
+	public void openClose () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				if (kind.equals("heavyweight")) {
+					openHeavyweight().dispose();
+				} else {
+					openInternal().dispose();
+				}
+			}
+
+		});
+	}
+
+	@Benchmark
+	public void dragSequence () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				int x = 300;
+				int y = 200;
+
+				dispatch(MouseEvent.MOUSE_PRESSED, x, y);
+
+				for (int i = 0; i < DRAG_LENGTH; i++) {
+					x += (i < DRAG_LENGTH / 2 ? 3 : -3);
+					y += (i < DRAG_LENGTH / 2 ? 2 : -2);
+					dispatch(MouseEvent.MOUSE_DRAGGED, x, y);
+				}
+
+				dispatch(MouseEvent.MOUSE_RELEASED, x, y);
+			}
+
+		});
+	}
+
+	/*
+	 * Opens a heavyweight child frame.
+	 */
+	private OxideFrame openHeavyweight () {
+		return new OxideFrame.Builder(skin)
+				.parentFrame(false)
+				.title("Child")
+				.bounds(200, 200, 400, 300)
+				.dragCoalescing(false)
+				.build();
+	}
+
+	/*
+	 * Opens an internal child frame in the parent frame.
+	 */
+	private OxideInternalFrame openInternal () {
+
+		OxideInternalFrame frame = new OxideInternalFrame("Child", skin);
+		frame.setContentPaneBounds(150, 150, 400, 300);
+		parentFrame.addInternalFrame(frame);
+
+		return frame;
+	}
+
+	/*
+	 * Dispatches a left button event at the given screen location directly
+	 * to the drag target.
+	 */
+	private void dispatch (int id, int x, int y) {
+		dragTarget.dispatchEvent(new MouseEvent(dragTarget, id, System.currentTimeMillis(),
+				InputEvent.BUTTON1_DOWN_MASK, dragX, dragY, x, y, 1, false, MouseEvent.BUTTON1));
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JComponent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideComponentFactory;
+import com.doetsch.oxide.OxideDefaultSkin;
+
+/**
+ * ComponentFactoryBenchmark measures the create methods of
+ * OxideComponentFactory. Components are created on the benchmark thread,
+ * which the factory allows for components that are not yet realized.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentFactoryBenchmark {
+
+	private OxideComponentFactory factory;
+
+	@Setup
+	public void setUp () {
+		BenchmarkDisplay.install();
+		factory = new OxideComponentFactory(new OxideDefaultSkin());
+	}
+
+	@Benchmark
+	public JComponent createButton () {
+		return factory.createButton();
+	}
+
+	@Benchmark
+	public JComponent createComboBox () {
+		return factory.createComboBox();
+	}
+
+	@Benchmark
+	public JComponent createTitledPanel () {
+		return factory.createTitledPanel("Title");
+	}
+
+	@Benchmark
+	public JComponent createLabel () {
+		return factory.createLabel("Label");
+	}
+
+	@Benchmark
+	public JComponent createRadioButton () {
+		return factory.createRadioButton();
+	}
+
+	@Benchmark
+	public JComponent createCheckBox () {
+		return factory.createCheckBox();
+	}
+
+	@Benchmark
+	public JComponent createTextField () {
+		return factory.createTextField();
+	}
+
+	@Benchmark
+	public JComponent createTextArea () {
+		return factory.createTextArea();
+	}
+
+	@Benchmark
+	public JComponent createList () {
+		return factory.createList();
+	}
+
+}
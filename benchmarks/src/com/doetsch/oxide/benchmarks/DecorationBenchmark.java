@@ -0,0 +1,118 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideCompiledSkin;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideSkin;
+
+/**
+ * DecorationBenchmark compares the component tree decoration of an
+ * OxideFrame with its painted decoration: the cost of building an
+ * unrealized frame, whose allocation per operation reported by the GC
+ * profiler bounds the frame's footprint, and the cost of resizing and
+ * painting a realized frame on the event dispatch thread. The number of
+ * components each decoration creates is checked by
+ * OxideFrameDecorationTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecorationBenchmark {
+
+	@Param({ "tree", "painted" })
+	private String decoration;
+
+	private OxideSkin skin;
+	private OxideFrame frame;
+	private int step;
+
+	@Setup(Level.Trial)
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+		skin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame = newBuilder()
+						.bounds(100, 100, 400, 300)
+						.build();
+			}
+
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame.dispose();
+			}
+
+		});
+	}
+
+	@Benchmark
+	public OxideFrame build () {
+
+		/*
+		 * Build on the benchmark thread, which is allowed for an unrealized
+		 * and unmanaged frame, to leave out the event dispatch round trip
+		 */
+		return newBuilder()
+				.visible(false)
+				.windowManager(null)
+				.build();
+	}
+
+	@Benchmark
+	public void resize () {
+
+		final int delta = (step++ & 1) * 40;
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame.setBounds(100, 100, 400 + delta, 300 + delta);
+				frame.getRootPane().paintImmediately(0, 0, frame.getWidth(), frame.getHeight());
+			}
+
+		});
+	}
+
+	/*
+	 * Returns a Builder for a titled child frame with the benchmarked
+	 * decoration.
+	 */
+	private OxideFrame.Builder newBuilder () {
+		return new OxideFrame.Builder(skin)
+				.parentFrame(false)
+				.title("Decoration")
+				.paintedDecoration(decoration.equals("painted"));
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Component;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideEventRecorder;
+import com.doetsch.oxide.OxideEventReplayer;
+import com.doetsch.oxide.OxideFrame;
+
+/**
+ * EventReplayBenchmark records a title bar drag of a frame, a press,
+ * TRACE_LENGTH - 2 drags and a release, with an OxideEventRecorder, then
+ * measures the time per event of decoding the trace and of replaying it
+ * into the frame at maximum speed. A replayed event includes the
+ * invokeAndWait round trip the replayer waits on before posting the
+ * next one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventReplayBenchmark {
+
+	/*
+	 * The number of events in the recorded trace
+	 */
+	private static final int TRACE_LENGTH = 200;
+
+	private OxideFrame frame;
+	private byte[] trace;
+	private OxideEventReplayer replayer;
+
+	@Setup(Level.Trial)
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame = new OxideFrame.Builder(new OxideDefaultSkin())
+						.title("Replay")
+						.bounds(100, 100, 400, 300)
+						.dragCoalescing(false)
+						.build();
+
+				Component titleLabel = FrameBenchmark.findTitleLabel(frame);
+				OxideEventRecorder recorder = new OxideEventRecorder(frame);
+				int x = 200;
+				int y = 90;
+
+				recorder.start();
+				dispatch(titleLabel, MouseEvent.MOUSE_PRESSED, x, y);
+
+				for (int i = 0; i < TRACE_LENGTH - 2; i++) {
+					x += (i < TRACE_LENGTH / 2 ? 3 : -3);
+					y += (i < TRACE_LENGTH / 2 ? 2 : -2);
+					dispatch(titleLabel, MouseEvent.MOUSE_DRAGGED, x, y);
+				}
+
+				dispatch(titleLabel, MouseEvent.MOUSE_RELEASED, x, y);
+				recorder.stop();
+
+				if (recorder.getEventCount() != TRACE_LENGTH) {
+					throw new IllegalStateException("Recorded " + recorder.getEventCount() + " events");
+				}
+
+				trace = recorder.toByteArray();
+			}
+
+		});
+
+		replayer = new OxideEventReplayer(trace);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame.dispose();
+			}
+
+		});
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TRACE_LENGTH)
+	public OxideEventReplayer decode () {
+		return new OxideEventReplayer(trace);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TRACE_LENGTH)
+	public OxideEventReplayer.Report replay () throws InterruptedException {
+		return replayer.replay(frame, false);
+	}
+
+	/*
+	 * Dispatches a left button event at the given screen location directly
+	 * to the given component.
+	 */
+	private static void dispatch (Component component, int id, int x, int y) {
+		component.dispatchEvent(new MouseEvent(component, id, System.currentTimeMillis(),
+				InputEvent.BUTTON1_DOWN_MASK, 10, 10, x, y, 1, false, MouseEvent.BUTTON1));
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JRadioButton;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideComponentFactory;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFormTemplate;
+import com.doetsch.oxide.OxideSkin;
+
+/**
+ * FormTemplateBenchmark measures building the same form, a titled panel
+ * with twelve controls, from an OxideFormTemplate and by hand with the
+ * equivalent OxideComponentFactory calls on the default skin, which the
+ * factory reads for every component. Forms are built on the benchmark
+ * thread, as neither is realized.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormTemplateBenchmark {
+
+	/*
+	 * The form, in the template text format
+	 */
+	private static final String FORM =
+			"panel 0 0 360 220 Customer\n"
+			+ "label 10 20 100 24 Name\n"
+			+ "textField 120 20 220 24\n"
+			+ "label 10 50 100 24 Email\n"
+			+ "textField 120 50 220 24\n"
+			+ "label 10 80 100 24 Notes\n"
+			+ "textArea 120 80 220 48\n"
+			+ "checkBox 10 135 160 24 Active\n"
+			+ "checkBox 180 135 160 24 Newsletter\n"
+			+ "radioButton 10 160 160 24 Retail\n"
+			+ "radioButton 180 160 160 24 Wholesale\n"
+			+ "button 170 188 80 24 Save\n"
+			+ "button 260 188 80 24 Cancel\n";
+
+	private OxideFormTemplate template;
+	private OxideComponentFactory factory;
+
+	@Setup
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+
+		OxideSkin skin = new OxideDefaultSkin();
+		template = OxideFormTemplate.parse(FORM, skin);
+		factory = new OxideComponentFactory(skin);
+	}
+
+	@Benchmark
+	public JPanel template () {
+		return template.instantiate();
+	}
+
+	@Benchmark
+	public JPanel handWritten () {
+
+		JPanel panel = factory.createTitledPanel("Customer");
+		panel.setBounds(0, 0, 360, 220);
+
+		add(panel, factory.createLabel("Name"), 10, 20, 100, 24);
+		add(panel, factory.createTextField(), 120, 20, 220, 24);
+		add(panel, factory.createLabel("Email"), 10, 50, 100, 24);
+		add(panel, factory.createTextField(), 120, 50, 220, 24);
+		add(panel, factory.createLabel("Notes"), 10, 80, 100, 24);
+		add(panel, factory.createTextArea(), 120, 80, 220, 48);
+		add(panel, checkBox("Active"), 10, 135, 160, 24);
+		add(panel, checkBox("Newsletter"), 180, 135, 160, 24);
+		add(panel, radioButton("Retail"), 10, 160, 160, 24);
+		add(panel, radioButton("Wholesale"), 180, 160, 160, 24);
+		add(panel, button("Save"), 170, 188, 80, 24);
+		add(panel, button("Cancel"), 260, 188, 80, 24);
+
+		return panel;
+	}
+
+	/*
+	 * Create the factory's text-less controls with the given text.
+	 */
+	private JCheckBox checkBox (String text) {
+		JCheckBox checkBox = factory.createCheckBox();
+		checkBox.setText(text);
+		return checkBox;
+	}
+
+	private JRadioButton radioButton (String text) {
+		JRadioButton radioButton = factory.createRadioButton();
+		radioButton.setText(text);
+		return radioButton;
+	}
+
+	private JButton button (String text) {
+		JButton button = factory.createButton();
+		button.setText(text);
+		return button;
+	}
+
+	/*
+	 * Places the given control in the panel.
+	 */
+	private static void add (JPanel panel, JComponent control, int left, int top, int width, int height) {
+		control.setBounds(left, top, width, height);
+		panel.add(control);
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideSkin;
+
+/**
+ * FrameBenchmark measures the core operations of an OxideFrame:
+ * constructing and disposing a frame, resizing and moving it through
+ * setBounds(), which relays out its decoration, and dragging it by its
+ * title label with a press, a sequence of drags and a release. Every
+ * operation runs on the event dispatch thread, so each includes the cost
+ * of one invokeAndWait round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameBenchmark {
+
+	/*
+	 * The number of drag events in a drag sequence
+	 */
+	private static final int DRAG_LENGTH = 20;
+
+	private OxideSkin skin;
+	private OxideFrame frame;
+	private Component titleLabel;
+	private int step;
+
+	@Setup(Level.Trial)
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+		skin = new OxideDefaultSkin();
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame = new OxideFrame.Builder(skin)
+						.title("Benchmark")
+						.bounds(100, 100, 400, 300)
+						.dragCoalescing(false)
+						.build();
+				titleLabel = findTitleLabel(frame);
+			}
+
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame.dispose();
+			}
+
+		});
+	}
+
+	@Benchmark
+	public OxideFrame construct () {
+		return BenchmarkDisplay.onEdt(new Callable<OxideFrame>() {
+
+			@Override
+			public OxideFrame call () {
+				OxideFrame constructed = new OxideFrame(false, skin);
+				constructed.dispose();
+				return constructed;
+			}
+
+		});
+	}
+
+	@Benchmark
+	public void resize () {
+
+		final int delta = (step++ & 1) * 40;
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame.setBounds(100, 100, 400 + delta, 300 + delta);
+			}
+
+		});
+	}
+
+	@Benchmark
+	public void move () {
+
+		final int delta = (step++ & 1) * 40;
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frame.setBounds(100 + delta, 100 + delta, 400, 300);
+			}
+
+		});
+	}
+
+	@Benchmark
+	public void dragSequence () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				int x = 200;
+				int y = 90;
+
+				dispatch(MouseEvent.MOUSE_PRESSED, x, y);
+
+				for (int i = 0; i < DRAG_LENGTH; i++) {
+					x += (i < DRAG_LENGTH / 2 ? 3 : -3);
+					y += (i < DRAG_LENGTH / 2 ? 2 : -2);
+					dispatch(MouseEvent.MOUSE_DRAGGED, x, y);
+				}
+
+				dispatch(MouseEvent.MOUSE_RELEASED, x, y);
+			}
+
+		});
+	}
+
+	/*
+	 * Dispatches a left button event at the given screen location directly
+	 * to the title label.
+	 */
+	private void dispatch (int id, int x, int y) {
+		titleLabel.dispatchEvent(new MouseEvent(titleLabel, id, System.currentTimeMillis(),
+				InputEvent.BUTTON1_DOWN_MASK, 10, 10, x, y, 1, false, MouseEvent.BUTTON1));
+	}
+
+	/*
+	 * Returns the frame's title label, the component that drags the frame.
+	 */
+	static Component findTitleLabel (Container container) {
+
+		for (Component component : container.getComponents()) {
+			if (component.getClass().getName().endsWith("$DragAnchorLabel")) {
+				return component;
+			}
+
+			if (component instanceof Container) {
+				Component titleLabel = findTitleLabel((Container) component);
+
+				if (titleLabel != null) {
+					return titleLabel;
+				}
+			}
+		}
+
+		return null;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideOffscreenRenderer;
+
+/**
+ * OffscreenRenderBenchmark measures the renders per second of
+ * OxideOffscreenRenderer for a 320x200 child frame, on one thread and on
+ * four threads sharing the renderer, with a content pane holding a label
+ * and a button and with an empty one. Only the decoration is painted in
+ * parallel; the renderer serializes content, so the four threads contend
+ * for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffscreenRenderBenchmark {
+
+	/*
+	 * Fills each rendered content pane
+	 */
+	private static final OxideOffscreenRenderer.ContentBuilder CONTENT =
+			new OxideOffscreenRenderer.ContentBuilder() {
+
+				@Override
+				public void build (JPanel contentPane) {
+
+					JLabel label = new JLabel("Status: ready");
+					label.setBounds(10, 10, 200, 24);
+					contentPane.add(label);
+
+					JButton button = new JButton("Refresh");
+					button.setBounds(10, 44, 100, 28);
+					contentPane.add(button);
+				}
+
+			};
+
+	private OxideOffscreenRenderer renderer;
+
+	@Setup
+	public void setUp () {
+		BenchmarkDisplay.install();
+		renderer = new OxideOffscreenRenderer(new OxideDefaultSkin(), false);
+	}
+
+	@Benchmark
+	public BufferedImage render () {
+		return renderer.render("Thumbnail", 320, 200, CONTENT);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BufferedImage renderConcurrently () {
+		return renderer.render("Thumbnail", 320, 200, CONTENT);
+	}
+
+	@Benchmark
+	public BufferedImage renderEmpty () {
+		return renderer.render("Thumbnail", 320, 200, null);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BufferedImage renderEmptyConcurrently () {
+		return renderer.render("Thumbnail", 320, 200, null);
+	}
+
+}
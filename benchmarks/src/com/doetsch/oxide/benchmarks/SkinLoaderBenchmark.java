@@ -0,0 +1,141 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideCompiledSkin;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideSkinLoader;
+
+/**
+ * SkinLoaderBenchmark measures the two halves of a skin reload: parsing
+ * skin file content, both uncached and served from the loader's cache,
+ * and applying a new skin to frameCount open frames in a single batch on
+ * the event dispatch thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkinLoaderBenchmark {
+
+	/*
+	 * A skin file setting a value of every type
+	 */
+	private static final byte[] CONTENT = ("# Benchmark skin\n"
+			+ "decorationBorderWidth = 8\n"
+			+ "parentFrameTitleBarHeight = 28\n"
+			+ "frameBorderColor = #202020\n"
+			+ "decorationBorderColor = #1F4E79\n"
+			+ "contentPanelColor = #F5F5F0\n"
+			+ "childTitleFontColor = #FFFFFF\n"
+			+ "parentTitleFontFace = SansSerif bold 20\n"
+			+ "childTitleFontFace = SansSerif plain 14\n"
+			+ "buttonHoverBorder = line #FFFFFF 1\n"
+			+ "buttonDefaultBorder = empty 1 1 1 1\n").getBytes(StandardCharsets.UTF_8);
+
+	@Param({ "10" })
+	private int frameCount;
+
+	private OxideCompiledSkin baseSkin;
+	private OxideSkinLoader loader;
+	private OxideCompiledSkin loadedSkin;
+	private List<OxideFrame> frames;
+	private int step;
+
+	@Setup(Level.Trial)
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+		baseSkin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+		loader = new OxideSkinLoader(baseSkin);
+		loadedSkin = loader.parse(CONTENT);
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frames = new ArrayList<OxideFrame>();
+
+				for (int i = 0; i < frameCount; i++) {
+					frames.add(new OxideFrame.Builder(baseSkin)
+							.parentFrame(false)
+							.title("Frame " + i)
+							.bounds(50 + (i * 20), 50 + (i * 20), 300, 200)
+							.build());
+				}
+			}
+
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				for (OxideFrame frame : frames) {
+					frame.dispose();
+				}
+			}
+
+		});
+	}
+
+	@Benchmark
+	public OxideCompiledSkin parse () {
+
+		/*
+		 * A new loader has an empty cache
+		 */
+		return new OxideSkinLoader(baseSkin).parse(CONTENT);
+	}
+
+	@Benchmark
+	public OxideCompiledSkin parseCached () {
+		return loader.parse(CONTENT);
+	}
+
+	@Benchmark
+	public void apply () {
+
+		final OxideCompiledSkin skin = ((step++ & 1) == 0 ? loadedSkin : baseSkin);
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				OxideFrame.batch(frames, new OxideFrame.Update() {
+
+					@Override
+					public void apply (OxideFrame frame) {
+						frame.setOxideSkin(skin);
+					}
+
+				});
+			}
+
+		});
+	}
+
+}
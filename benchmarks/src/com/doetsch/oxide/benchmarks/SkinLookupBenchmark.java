@@ -0,0 +1,83 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.doetsch.oxide.OxideCompiledSkin;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideSkin;
+
+/**
+ * SkinLookupBenchmark measures the throughput of OxideSkin getters, one
+ * lookup of every color, font and border a frame reads per operation.
+ * The GC profiler's gc.alloc.rate.norm shows the allocation per
+ * operation: the default skin creates its colors, fonts and borders on
+ * every call, whereas the compiled skin returns fields and allocates
+ * nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkinLookupBenchmark {
+
+	private OxideSkin defaultSkin;
+	private OxideSkin compiledSkin;
+
+	@Setup
+	public void setUp () {
+		defaultSkin = new OxideDefaultSkin();
+		compiledSkin = OxideCompiledSkin.compile(defaultSkin);
+	}
+
+	@Benchmark
+	public void defaultSkin (Blackhole blackhole) {
+		lookUp(defaultSkin, blackhole);
+	}
+
+	@Benchmark
+	public void compiledSkin (Blackhole blackhole) {
+		lookUp(compiledSkin, blackhole);
+	}
+
+	/*
+	 * Looks up every value of the given skin.
+	 */
+	static void lookUp (OxideSkin skin, Blackhole blackhole) {
+		blackhole.consume(skin.getDecorationBorderWidth());
+		blackhole.consume(skin.getFrameBorderWidth());
+		blackhole.consume(skin.getParentFrameTitleBarHeight());
+		blackhole.consume(skin.getChildFrameTitleBarHeight());
+		blackhole.consume(skin.getFrameBorderColor());
+		blackhole.consume(skin.getDecorationBorderColor());
+		blackhole.consume(skin.getContentPanelColor());
+		blackhole.consume(skin.getMouseHoverBorderColor());
+		blackhole.consume(skin.getParentTitleFontFace());
+		blackhole.consume(skin.getParentTitleFontColor());
+		blackhole.consume(skin.getChildTitleFontFace());
+		blackhole.consume(skin.getChildTitleFontColor());
+		blackhole.consume(skin.getMenuButtonFontFace());
+		blackhole.consume(skin.getMenuButtonFontColor());
+		blackhole.consume(skin.getMenuButtonSelectedColor());
+		blackhole.consume(skin.getMenuButtonUnselectedColor());
+		blackhole.consume(skin.getButtonHoverBorder());
+		blackhole.consume(skin.getButtonDefaultBorder());
+		blackhole.consume(skin.getControlFontFace());
+		blackhole.consume(skin.getControlFontColor());
+		blackhole.consume(skin.getShadeColor1());
+	}
+
+}
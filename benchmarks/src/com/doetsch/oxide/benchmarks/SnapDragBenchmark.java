@@ -0,0 +1,150 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Component;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideCompiledSkin;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideSkin;
+import com.doetsch.oxide.OxideWindowManager;
+
+/**
+ * SnapDragBenchmark measures the title bar drag events per second a
+ * frame handles while snapping to windowCount other frames, spread over
+ * a 3840x2160 area and managed by a window manager with a snap distance
+ * of 10 pixels. Every drag event moves the frame, updates the manager's
+ * spatial index and queries it for nearby edges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapDragBenchmark {
+
+	/*
+	 * The number of drag events in one operation
+	 */
+	private static final int DRAG_LENGTH = 100;
+
+	@Param({ "10", "100", "300" })
+	private int windowCount;
+
+	private OxideWindowManager windowManager;
+	private List<OxideFrame> frames;
+	private OxideFrame draggedFrame;
+	private Component titleLabel;
+
+	@Setup(Level.Trial)
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+
+		final OxideSkin skin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+		windowManager = new OxideWindowManager();
+		windowManager.setSnapDistance(10);
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				frames = new ArrayList<OxideFrame>();
+
+				int columns = (int) Math.ceil(Math.sqrt(windowCount * 16.0 / 9));
+
+				for (int i = 0; i < windowCount; i++) {
+					frames.add(new OxideFrame.Builder(skin)
+							.parentFrame(false)
+							.title("Window " + i)
+							.bounds((i % columns) * 3840 / columns, (i / columns) * 3840 / columns * 9 / 16,
+									200, 120)
+							.windowManager(windowManager)
+							.build());
+				}
+
+				draggedFrame = new OxideFrame.Builder(skin)
+						.parentFrame(false)
+						.title("Dragged")
+						.bounds(1800, 1000, 200, 120)
+						.windowManager(windowManager)
+						.build();
+				titleLabel = FrameBenchmark.findTitleLabel(draggedFrame);
+			}
+
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				draggedFrame.dispose();
+
+				for (OxideFrame frame : frames) {
+					frame.dispose();
+				}
+			}
+
+		});
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(DRAG_LENGTH)
+	public void drag () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				int x = 1900;
+				int y = 990;
+
+				dispatch(MouseEvent.MOUSE_PRESSED, x, y);
+
+				/*
+				 * Sweep the frame across its neighbors and back
+				 */
+				for (int i = 0; i < DRAG_LENGTH; i++) {
+					x += (i < DRAG_LENGTH / 2 ? 7 : -7);
+					y += (i < DRAG_LENGTH / 2 ? 3 : -3);
+					dispatch(MouseEvent.MOUSE_DRAGGED, x, y);
+				}
+
+				dispatch(MouseEvent.MOUSE_RELEASED, x, y);
+			}
+
+		});
+	}
+
+	/*
+	 * Dispatches a left button event at the given screen location directly
+	 * to the dragged frame's title label.
+	 */
+	private void dispatch (int id, int x, int y) {
+		titleLabel.dispatchEvent(new MouseEvent(titleLabel, id, System.currentTimeMillis(),
+				InputEvent.BUTTON1_DOWN_MASK, 10, 10, x, y, 1, false, MouseEvent.BUTTON1));
+	}
+
+}
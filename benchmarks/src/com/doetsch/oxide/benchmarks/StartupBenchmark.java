@@ -0,0 +1,107 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideCompiledSkin;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideSkin;
+
+/**
+ * StartupBenchmark measures opening a set of windows with a title,
+ * bounds and content through the OxideFrame constructor, which realizes
+ * the window before configuring it, and through OxideFrame.Builder,
+ * which configures it first and realizes it once. Each operation opens
+ * and disposes windowCount frames on the event dispatch thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupBenchmark {
+
+	@Param({ "1", "10" })
+	private int windowCount;
+
+	private OxideSkin skin;
+
+	@Setup
+	public void setUp () {
+		BenchmarkDisplay.install();
+		skin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+	}
+
+	@Benchmark
+	public void constructor () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				OxideFrame[] frames = new OxideFrame[windowCount];
+
+				for (int i = 0; i < windowCount; i++) {
+					OxideFrame frame = new OxideFrame(false, skin);
+					frame.setTitle("Window " + i);
+					frame.setBounds(50 + (i * 20), 50 + (i * 20), 400, 300);
+					frame.getContentPane().add(new JLabel("Content"));
+					frame.getContentPane().add(new JButton("Button"));
+					frame.validate();
+					frames[i] = frame;
+				}
+
+				dispose(frames);
+			}
+
+		});
+	}
+
+	@Benchmark
+	public void builder () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				OxideFrame[] frames = new OxideFrame[windowCount];
+
+				for (int i = 0; i < windowCount; i++) {
+					frames[i] = new OxideFrame.Builder(skin)
+							.title("Window " + i)
+							.bounds(50 + (i * 20), 50 + (i * 20), 400, 300)
+							.add(new JLabel("Content"))
+							.add(new JButton("Button"))
+							.build();
+				}
+
+				dispose(frames);
+			}
+
+		});
+	}
+
+	/*
+	 * Disposes the given frames.
+	 */
+	private static void dispose (OxideFrame[] frames) {
+		for (OxideFrame frame : frames) {
+			frame.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.DefaultListSelectionModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideComponentFactory;
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideStringPoolModel;
+import com.doetsch.oxide.OxideVirtualList;
+
+/**
+ * VirtualListBenchmark measures scrolling an OxideVirtualList over a
+ * string pool model of rowCount rows: each scroll operation paints the
+ * viewport at a new position, spread over the whole list, into an
+ * offscreen image, at a cost that doesn't depend on the number of rows.
+ * Selecting the next row, as the arrow keys do, a row about a million
+ * rows away, and a range of about a million rows, as a shift click does,
+ * are measured as well, with the list's default OxideListSelectionModel
+ * and with a DefaultListSelectionModel, whose cost for the far jumps is
+ * proportional to the distance since it visits every index between the
+ * old and the new selection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class VirtualListBenchmark {
+
+	/*
+	 * The viewport's dimensions
+	 */
+	private static final int VIEWPORT_WIDTH = 400;
+	private static final int VIEWPORT_HEIGHT = 400;
+
+	@Param({ "10000000" })
+	private int rowCount;
+
+	@Param({ "oxide", "default" })
+	private String selectionModel;
+
+	private OxideVirtualList list;
+	private BufferedImage viewport;
+	private int listHeight;
+	private int position;
+	private int row;
+
+	@Setup
+	public void setUp () {
+
+		BenchmarkDisplay.install();
+
+		OxideStringPoolModel model = new OxideStringPoolModel(rowCount, rowCount * 12);
+		StringBuilder text = new StringBuilder();
+
+		for (int i = 0; i < rowCount; i++) {
+			text.setLength(0);
+			text.append("SYM").append(i).append(" 1.25");
+			model.addRow(text);
+		}
+
+		list = new OxideComponentFactory(new OxideDefaultSkin()).createVirtualList(model);
+
+		if (selectionModel.equals("default")) {
+			list.setSelectionModel(new DefaultListSelectionModel());
+		}
+
+		listHeight = rowCount * list.getRowHeight();
+		list.setSize(VIEWPORT_WIDTH, listHeight);
+		viewport = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+	}
+
+	@Benchmark
+	public void scroll () {
+
+		/*
+		 * Step by a large prime so that successive viewports land all over
+		 * the list
+		 */
+		position = (int) ((position + 7_919_993L) % (listHeight - VIEWPORT_HEIGHT));
+
+		Graphics2D g = viewport.createGraphics();
+
+		try {
+			g.translate(0, -position);
+			g.setClip(0, position, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+			list.paint(g);
+		} finally {
+			g.dispose();
+		}
+	}
+
+	@Benchmark
+	public int selectNext () {
+		row = (row + 1) % rowCount;
+		list.setSelectedIndex(row);
+		return list.getSelectedIndex();
+	}
+
+	@Benchmark
+	public int selectFar () {
+		row = (int) ((row + 999_983L) % rowCount);
+		list.setSelectedIndex(row);
+		return list.getSelectedIndex();
+	}
+
+	@Benchmark
+	public int selectFarRange () {
+		int anchor = row;
+		row = (int) ((row + 999_983L) % rowCount);
+		list.getSelectionModel().setSelectionInterval(anchor, row);
+		return list.getSelectedIndex();
+	}
+
+}
@@ -0,0 +1,192 @@
+package com.doetsch.oxide.benchmarks;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.doetsch.oxide.OxideDefaultSkin;
+import com.doetsch.oxide.OxideFrame;
+import com.doetsch.oxide.OxideSkin;
+import com.doetsch.oxide.OxideWorkspaceLayout;
+
+/**
+ * WorkspaceRestoreBenchmark measures the startup time of a workspace of
+ * FRAME_COUNT frames: restoring them from an OxideWorkspaceLayout file,
+ * against the per-frame configuration it replaces, constructing each
+ * frame and then calling setTitle(), setBounds() and setVisible(true) on
+ * it. Every tenth frame is a child frame with a second skin. Each
+ * measurement is a single restore, after which the frames are disposed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WorkspaceRestoreBenchmark {
+
+	/*
+	 * The number of frames in the workspace
+	 */
+	private static final int FRAME_COUNT = 1000;
+
+	private OxideWorkspaceLayout layout;
+	private OxideSkin defaultSkin;
+	private OxideSkin childSkin;
+	private Path file;
+	private List<OxideFrame> frames;
+
+	@Setup(Level.Trial)
+	public void setUp () throws IOException {
+
+		BenchmarkDisplay.install();
+
+		layout = new OxideWorkspaceLayout(new OxideDefaultSkin());
+		defaultSkin = layout.registerSkin("default", new OxideDefaultSkin());
+		childSkin = layout.registerSkin("child", new ChildSkin());
+		file = Files.createTempFile("workspace", ".oxwl");
+
+		frames = BenchmarkDisplay.onEdt(new Callable<List<OxideFrame>>() {
+
+			@Override
+			public List<OxideFrame> call () {
+
+				List<OxideFrame> savedFrames = new ArrayList<OxideFrame>();
+
+				for (int i = 0; i < FRAME_COUNT; i++) {
+					savedFrames.add(new OxideFrame.Builder(isChildFrame(i) ? childSkin : defaultSkin)
+							.parentFrame(!isChildFrame(i))
+							.title("Frame " + i)
+							.bounds(left(i), top(i), 320, 200)
+							.visible(false)
+							.build());
+				}
+
+				return savedFrames;
+			}
+
+		});
+
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				try {
+					layout.save(file, frames);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+
+		});
+
+		disposeFrames();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown () throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@TearDown(Level.Iteration)
+	public void disposeFrames () {
+		BenchmarkDisplay.onEdt(new Runnable() {
+
+			@Override
+			public void run () {
+				for (OxideFrame frame : frames) {
+					frame.dispose();
+				}
+
+				frames = null;
+			}
+
+		});
+	}
+
+	@Benchmark
+	public List<OxideFrame> restore () throws IOException {
+		frames = layout.restore(file, null);
+		return frames;
+	}
+
+	@Benchmark
+	public List<OxideFrame> configureEachFrame () {
+
+		frames = BenchmarkDisplay.onEdt(new Callable<List<OxideFrame>>() {
+
+			@Override
+			public List<OxideFrame> call () {
+
+				List<OxideFrame> configuredFrames = new ArrayList<OxideFrame>();
+
+				for (int i = 0; i < FRAME_COUNT; i++) {
+					OxideFrame frame = new OxideFrame(!isChildFrame(i), (isChildFrame(i) ? childSkin : defaultSkin));
+					frame.setTitle("Frame " + i);
+					frame.setBounds(left(i), top(i), 320, 200);
+					frame.setVisible(true);
+					configuredFrames.add(frame);
+				}
+
+				return configuredFrames;
+			}
+
+		});
+
+		return frames;
+	}
+
+	/*
+	 * Returns whether the frame at the given index is a child frame.
+	 */
+	private static boolean isChildFrame (int index) {
+		return (index % 10 == 9);
+	}
+
+	/*
+	 * Return the content pane position of the frame at the given index,
+	 * cascading the frames over the screen.
+	 */
+	private static int left (int index) {
+		return 40 + ((index % 40) * 24);
+	}
+
+	private static int top (int index) {
+		return 40 + ((index % 25) * 20);
+	}
+
+	/**
+	 * ChildSkin is the default skin with a different content panel color,
+	 * registered under its own id.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static final class ChildSkin extends OxideDefaultSkin {
+
+		@Override
+		public Color getContentPanelColor () {
+			return new Color(232, 236, 240);
+		}
+
+	}
+
+}
@@ -0,0 +1,385 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.AbstractAction;
+import javax.swing.Timer;
+
+/**
+ * OxideAnimator steps every running Oxide animation from a single tick,
+ * rather than each animation running its own timer. Animations are
+ * driven by elapsed time, so a tick that comes late or skips an
+ * animation drops frames instead of slowing the animation down. Each
+ * tick has a time budget: once it is spent, the remaining animations
+ * are skipped until the next tick, which starts with them.
+ *
+ * Time is read from a pluggable Clock. The default animator ticks from a
+ * javax.swing.Timer on the event dispatch thread using the system clock;
+ * an animator created with a frame interval of 0 is only ticked by
+ * calling tick(), which together with a manual Clock makes animations
+ * deterministic, for instance in headless tests.
+ */
+public final class OxideAnimator {
+
+	/**
+	 * Clock is the time source of an OxideAnimator.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	public interface Clock {
+
+		/**
+		 * Returns the current time of the clock.
+		 *
+		 * @return the current time in nanoseconds
+		 */
+		public long nanoTime ();
+
+	}
+
+	/**
+	 * Animation is a transition stepped by an OxideAnimator.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	public interface Animation {
+
+		/**
+		 * Renders the animation at the given progress. The last step of an
+		 * animation that runs to completion always has a progress of 1.
+		 *
+		 * @param progress the fraction of the animation's duration elapsed,
+		 * between 0 and 1
+		 */
+		public void step (float progress);
+
+	}
+
+	/**
+	 * The Clock reading System.nanoTime().
+	 */
+	public static final Clock SYSTEM_CLOCK = new Clock() {
+
+		@Override
+		public long nanoTime () {
+			return System.nanoTime();
+		}
+
+	};
+
+	/*
+	 * Default tick interval and per-tick budget
+	 */
+	private static final int DEFAULT_FRAME_INTERVAL = 16;
+	private static final long DEFAULT_TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+
+	private static OxideAnimator defaultAnimator;
+
+	private final Clock clock;
+	private final long tickBudgetNanos;
+	private final Timer timer;
+
+	/*
+	 * Running animations; entries that finish or are cancelled during a
+	 * tick are nulled and compacted at the end of it
+	 */
+	private final List<RunningAnimation> animations = new ArrayList<RunningAnimation>();
+	private int nextIndex;
+	private boolean isTicking;
+
+	/*
+	 * Animator metrics
+	 */
+	private long tickCount;
+	private long stepCount;
+	private long droppedStepCount;
+
+	/**
+	 * Creates an OxideAnimator.
+	 *
+	 * @param clock the Clock from which to read time
+	 * @param frameInterval the interval at which a javax.swing.Timer ticks
+	 * the animator while animations are running, in milliseconds, or 0 to
+	 * only tick the animator through tick()
+	 * @param tickBudgetNanos the time a tick may spend stepping animations
+	 * before skipping the remaining ones
+	 */
+	public OxideAnimator (Clock clock, int frameInterval, long tickBudgetNanos) {
+
+		if (frameInterval < 0 || tickBudgetNanos <= 0) {
+			throw new IllegalArgumentException("Expected frameInterval >= 0 and tickBudgetNanos > 0");
+		}
+
+		this.clock = clock;
+		this.tickBudgetNanos = tickBudgetNanos;
+
+		if (frameInterval == 0) {
+			timer = null;
+		} else {
+			timer = new Timer(frameInterval, new AbstractAction() {
+
+				/*
+				 * Steps the running animations
+				 */
+				@Override
+				public void actionPerformed (ActionEvent e) {
+					tick();
+				}
+
+			});
+			timer.setCoalesce(true);
+		}
+	}
+
+	/**
+	 * Returns the animator shared by Oxide components, which ticks on the
+	 * event dispatch thread using the system clock.
+	 *
+	 * @return the default OxideAnimator
+	 */
+	public static synchronized OxideAnimator getDefault () {
+
+		if (defaultAnimator == null) {
+			defaultAnimator = new OxideAnimator(SYSTEM_CLOCK, DEFAULT_FRAME_INTERVAL,
+					DEFAULT_TICK_BUDGET_NANOS);
+		}
+
+		return defaultAnimator;
+	}
+
+	/**
+	 * Starts the given animation, restarting it if it is already running.
+	 * The animation is first stepped by the next tick.
+	 *
+	 * @param animation the Animation to start
+	 * @param durationMillis the duration of the animation in milliseconds
+	 */
+	public void start (Animation animation, long durationMillis) {
+
+		cancel(animation);
+		animations.add(new RunningAnimation(animation, clock.nanoTime(),
+				TimeUnit.MILLISECONDS.toNanos(Math.max(durationMillis, 1))));
+
+		if (timer != null && !timer.isRunning()) {
+			timer.start();
+		}
+	}
+
+	/**
+	 * Stops the given animation without stepping it again.
+	 *
+	 * @param animation the Animation to stop
+	 */
+	public void cancel (Animation animation) {
+
+		for (int i = 0; i < animations.size(); i++) {
+			RunningAnimation running = animations.get(i);
+
+			if (running != null && running.animation == animation) {
+				if (isTicking) {
+					animations.set(i, null);
+				} else {
+					animations.remove(i);
+				}
+
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether or not the given animation is running.
+	 *
+	 * @param animation the Animation
+	 * @return true if the animation is running
+	 */
+	public boolean isRunning (Animation animation) {
+
+		for (RunningAnimation running : animations) {
+			if (running != null && running.animation == animation) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Steps every running animation to the clock's current time, within the
+	 * tick budget, and removes the animations that have finished.
+	 */
+	public void tick () {
+
+		long now = clock.nanoTime();
+		int count = animations.size();
+
+		tickCount++;
+		isTicking = true;
+
+		try {
+			/*
+			 * Start with the animations the previous tick had to skip
+			 */
+			int start = (nextIndex < count ? nextIndex : 0);
+			nextIndex = 0;
+
+			for (int i = 0; i < count; i++) {
+				int index = (start + i) % count;
+				RunningAnimation running = animations.get(index);
+
+				if (running == null) {
+					continue;
+				}
+
+				if (i > 0 && clock.nanoTime() - now > tickBudgetNanos) {
+					droppedStepCount += count - i;
+					nextIndex = index;
+					break;
+				}
+
+				float progress = Math.min(1f, (float) (now - running.startNanos) / running.durationNanos);
+
+				/*
+				 * Clear the entry first so that the animation may restart itself
+				 */
+				if (progress >= 1f) {
+					animations.set(index, null);
+				}
+
+				running.animation.step(Math.max(progress, 0f));
+				stepCount++;
+			}
+		} finally {
+			isTicking = false;
+			compact();
+		}
+
+		if (timer != null && animations.isEmpty()) {
+			timer.stop();
+		}
+	}
+
+	/**
+	 * Returns the number of running animations.
+	 *
+	 * @return the running animation count
+	 */
+	public int getRunningCount () {
+
+		int runningCount = 0;
+
+		for (RunningAnimation running : animations) {
+			if (running != null) {
+				runningCount++;
+			}
+		}
+
+		return runningCount;
+	}
+
+	/**
+	 * Returns the number of ticks the animator has run.
+	 *
+	 * @return the tick count
+	 */
+	public long getTickCount () {
+		return tickCount;
+	}
+
+	/**
+	 * Returns the number of animation steps the animator has run.
+	 *
+	 * @return the step count
+	 */
+	public long getStepCount () {
+		return stepCount;
+	}
+
+	/**
+	 * Returns the number of animation steps skipped because a tick ran out
+	 * of budget.
+	 *
+	 * @return the dropped step count
+	 */
+	public long getDroppedStepCount () {
+		return droppedStepCount;
+	}
+
+	/**
+	 * Returns the color the given fraction of the way from one color to
+	 * another, for animating color transitions.
+	 *
+	 * @param from the color at progress 0
+	 * @param to the color at progress 1
+	 * @param progress the fraction of the transition, between 0 and 1
+	 * @return the blended color
+	 */
+	public static Color blend (Color from, Color to, float progress) {
+
+		if (progress <= 0f || from.equals(to)) {
+			return from;
+		}
+
+		if (progress >= 1f) {
+			return to;
+		}
+
+		return new Color(
+				Math.round(from.getRed() + ((to.getRed() - from.getRed()) * progress)),
+				Math.round(from.getGreen() + ((to.getGreen() - from.getGreen()) * progress)),
+				Math.round(from.getBlue() + ((to.getBlue() - from.getBlue()) * progress)),
+				Math.round(from.getAlpha() + ((to.getAlpha() - from.getAlpha()) * progress)));
+	}
+
+	/*
+	 * Removes the entries nulled during a tick, keeping the position the
+	 * next tick starts from on the same animation.
+	 */
+	private void compact () {
+
+		int writeIndex = 0;
+		int compactedNextIndex = 0;
+
+		for (int readIndex = 0; readIndex < animations.size(); readIndex++) {
+			RunningAnimation running = animations.get(readIndex);
+
+			if (readIndex == nextIndex) {
+				compactedNextIndex = writeIndex;
+			}
+
+			if (running != null) {
+				animations.set(writeIndex++, running);
+			}
+		}
+
+		while (animations.size() > writeIndex) {
+			animations.remove(animations.size() - 1);
+		}
+
+		nextIndex = compactedNextIndex;
+	}
+
+	/**
+	 * RunningAnimation is an animation along with its timing.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static final class RunningAnimation {
+
+		private final Animation animation;
+		private final long startNanos;
+		private final long durationNanos;
+
+		private RunningAnimation (Animation animation, long startNanos, long durationNanos) {
+			this.animation = animation;
+			this.startNanos = startNanos;
+			this.durationNanos = durationNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.doetsch.oxide;
+
+import java.awt.event.ActionEvent;
+
+import javax.swing.AbstractAction;
+
+/**
+ * OxideAsyncAction is an AbstractAction whose work is split between a
+ * background step and a completion step. When attached to an
+ * OxideMenuButton in asynchronous mode, runInBackground() is executed
+ * off the event dispatch thread and its result, or the error it threw,
+ * is then marshaled back to done(..) on the event dispatch thread.
+ * Performed directly through actionPerformed(..), both steps simply
+ * run one after the other on the calling thread.
+ *
+ * @param <T> the type of the background step's result
+ */
+public abstract class OxideAsyncAction<T> extends AbstractAction {
+
+	/*
+	 * Satisfies Serializable.
+	 */
+	private static final long serialVersionUID = 6015532716396893361L;
+
+	/**
+	 * Performs the action's work. When run asynchronously this method is
+	 * called off the event dispatch thread and must not touch realized
+	 * Swing components.
+	 *
+	 * @return the result of the work
+	 * @throws Exception if the work fails
+	 */
+	protected abstract T runInBackground () throws Exception;
+
+	/**
+	 * Completes the action with the result of runInBackground(). This method
+	 * is called on the event dispatch thread when run asynchronously. The
+	 * default implementation does nothing.
+	 *
+	 * @param result the result of runInBackground(), or null if it failed
+	 * @param error the error thrown by runInBackground(), or null if it
+	 * succeeded
+	 */
+	protected void done (T result, Throwable error) {
+
+	}
+
+	/**
+	 * Runs the background step and then the completion step on the
+	 * calling thread.
+	 *
+	 * @param e the action event
+	 */
+	@Override
+	public void actionPerformed (ActionEvent e) {
+
+		T result = null;
+		Throwable error = null;
+
+		try {
+			result = runInBackground();
+		} catch (Exception ex) {
+			error = ex;
+		}
+
+		done(result, error);
+	}
+
+}
@@ -0,0 +1,379 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Insets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.border.AbstractBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+
+/**
+ * OxideCompiledSkin is an immutable snapshot of an OxideSkin. Every
+ * value of the source skin is resolved exactly once, when the skin is
+ * compiled, and the resulting Color, Font and border instances are
+ * interned so that equal values are shared between compiled skins.
+ * Lookups against a compiled skin simply return a field and never
+ * allocate, which makes it the skin that OxideFrame, OxideMenuButton
+ * and OxideComponentFactory read from.
+ *
+ * @see #compile(OxideSkin)
+ */
+public final class OxideCompiledSkin implements OxideSkin {
+
+	/*
+	 * The number of values the intern pool holds before evicting the least
+	 * recently interned one
+	 */
+	private static final int INTERN_POOL_CAPACITY = 256;
+
+	/*
+	 * Process-wide pool of interned skin values, keyed by value. The pool
+	 * is bounded so that applications generating skins, e.g. animating
+	 * between them, don't keep every value they ever produced; a value
+	 * evicted from the pool simply stops being shared with later skins.
+	 */
+	private static final Map<Object, Object> internPool = Collections.synchronizedMap(
+			new LinkedHashMap<Object, Object>(64, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry (Map.Entry<Object, Object> eldest) {
+					return size() > INTERN_POOL_CAPACITY;
+				}
+
+			});
+
+	/*
+	 * Metrics
+	 */
+	private final int decorationBorderWidth;
+	private final int frameBorderWidth;
+	private final int parentFrameTitleBarHeight;
+	private final int childFrameTitleBarHeight;
+
+	/*
+	 * Colors
+	 */
+	private final Color frameBorderColor;
+	private final Color decorationBorderColor;
+	private final Color contentPanelColor;
+	private final Color mouseHoverBorderColor;
+	private final Color parentTitleFontColor;
+	private final Color childTitleFontColor;
+	private final Color menuButtonFontColor;
+	private final Color menuButtonSelectedColor;
+	private final Color menuButtonUnselectedColor;
+	private final Color controlFontColor;
+	private final Color shadeColor1;
+
+	/*
+	 * Font faces
+	 */
+	private final Font parentTitleFontFace;
+	private final Font childTitleFontFace;
+	private final Font menuButtonFontFace;
+	private final Font controlFontFace;
+
+	/*
+	 * Borders
+	 */
+	private final AbstractBorder buttonHoverBorder;
+	private final AbstractBorder buttonDefaultBorder;
+
+	/*
+	 * Resolves and interns every value of the given skin.
+	 */
+	private OxideCompiledSkin (OxideSkin skin) {
+
+		decorationBorderWidth = skin.getDecorationBorderWidth();
+		frameBorderWidth = skin.getFrameBorderWidth();
+		parentFrameTitleBarHeight = skin.getParentFrameTitleBarHeight();
+		childFrameTitleBarHeight = skin.getChildFrameTitleBarHeight();
+
+		frameBorderColor = intern(skin.getFrameBorderColor());
+		decorationBorderColor = intern(skin.getDecorationBorderColor());
+		contentPanelColor = intern(skin.getContentPanelColor());
+		mouseHoverBorderColor = intern(skin.getMouseHoverBorderColor());
+		parentTitleFontColor = intern(skin.getParentTitleFontColor());
+		childTitleFontColor = intern(skin.getChildTitleFontColor());
+		menuButtonFontColor = intern(skin.getMenuButtonFontColor());
+		menuButtonSelectedColor = intern(skin.getMenuButtonSelectedColor());
+		menuButtonUnselectedColor = intern(skin.getMenuButtonUnselectedColor());
+		controlFontColor = intern(skin.getControlFontColor());
+		shadeColor1 = intern(skin.getShadeColor1());
+
+		parentTitleFontFace = intern(skin.getParentTitleFontFace());
+		childTitleFontFace = intern(skin.getChildTitleFontFace());
+		menuButtonFontFace = intern(skin.getMenuButtonFontFace());
+		controlFontFace = intern(skin.getControlFontFace());
+
+		buttonHoverBorder = intern(skin.getButtonHoverBorder());
+		buttonDefaultBorder = intern(skin.getButtonDefaultBorder());
+
+	}
+
+	/**
+	 * Compiles the given OxideSkin into an immutable OxideCompiledSkin.
+	 * If the given skin is already compiled then it is returned as-is.
+	 *
+	 * @param skin the OxideSkin to compile
+	 * @return the compiled representation of the skin
+	 */
+	public static OxideCompiledSkin compile (OxideSkin skin) {
+
+		if (skin instanceof OxideCompiledSkin) {
+			return (OxideCompiledSkin) skin;
+		}
+
+		return new OxideCompiledSkin(skin);
+	}
+
+	/*
+	 * Returns the shared instance equal to the given color. Only plain
+	 * Colors are interned so that UIResource subclasses keep their
+	 * identity.
+	 */
+	private static Color intern (Color color) {
+
+		if (color == null || color.getClass() != Color.class) {
+			return color;
+		}
+
+		return (Color) internValue(color, color);
+	}
+
+	/*
+	 * Returns the shared instance equal to the given font.
+	 */
+	private static Font intern (Font font) {
+
+		if (font == null || font.getClass() != Font.class) {
+			return font;
+		}
+
+		return (Font) internValue(font, font);
+	}
+
+	/*
+	 * Returns the shared instance equivalent to the given border. Only
+	 * the stock line and empty borders are interned since their state
+	 * can be fully described by a key; any other border is returned
+	 * unchanged.
+	 */
+	private static AbstractBorder intern (AbstractBorder border) {
+
+		if (border == null) {
+			return null;
+		}
+
+		if (border.getClass() == LineBorder.class) {
+			LineBorder lineBorder = (LineBorder) border;
+
+			return (AbstractBorder) internValue(Arrays.asList(LineBorder.class,
+					lineBorder.getLineColor(), lineBorder.getThickness(),
+					lineBorder.getRoundedCorners()), border);
+		}
+
+		if (border.getClass() == EmptyBorder.class) {
+			Insets insets = ((EmptyBorder) border).getBorderInsets();
+
+			return (AbstractBorder) internValue(Arrays.asList(EmptyBorder.class,
+					insets.top, insets.left, insets.bottom, insets.right), border);
+		}
+
+		return border;
+	}
+
+	/*
+	 * Returns the value pooled under the given key, pooling the given
+	 * value if the key is not yet present.
+	 */
+	private static Object internValue (Object key, Object value) {
+
+		synchronized (internPool) {
+			Object pooled = internPool.get(key);
+
+			if (pooled != null) {
+				return pooled;
+			}
+
+			internPool.put(key, value);
+			return value;
+		}
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getDecorationBorderWidth()
+	 */
+	@Override
+	public int getDecorationBorderWidth () {
+		return decorationBorderWidth;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getFrameBorderWidth()
+	 */
+	@Override
+	public int getFrameBorderWidth () {
+		return frameBorderWidth;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getParentFrameTitleBarHeight()
+	 */
+	@Override
+	public int getParentFrameTitleBarHeight () {
+		return parentFrameTitleBarHeight;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getChildFrameTitleBarHeight()
+	 */
+	@Override
+	public int getChildFrameTitleBarHeight () {
+		return childFrameTitleBarHeight;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getFrameBorderColor()
+	 */
+	@Override
+	public Color getFrameBorderColor () {
+		return frameBorderColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getDecorationBorderColor()
+	 */
+	@Override
+	public Color getDecorationBorderColor () {
+		return decorationBorderColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getContentPanelColor()
+	 */
+	@Override
+	public Color getContentPanelColor () {
+		return contentPanelColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getMouseHoverBorderColor()
+	 */
+	@Override
+	public Color getMouseHoverBorderColor () {
+		return mouseHoverBorderColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getParentTitleFontFace()
+	 */
+	@Override
+	public Font getParentTitleFontFace () {
+		return parentTitleFontFace;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getParentTitleFontColor()
+	 */
+	@Override
+	public Color getParentTitleFontColor () {
+		return parentTitleFontColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getChildTitleFontFace()
+	 */
+	@Override
+	public Font getChildTitleFontFace () {
+		return childTitleFontFace;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getChildTitleFontColor()
+	 */
+	@Override
+	public Color getChildTitleFontColor () {
+		return childTitleFontColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getMenuButtonFontFace()
+	 */
+	@Override
+	public Font getMenuButtonFontFace () {
+		return menuButtonFontFace;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getMenuButtonFontColor()
+	 */
+	@Override
+	public Color getMenuButtonFontColor () {
+		return menuButtonFontColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getMenuButtonSelectedColor()
+	 */
+	@Override
+	public Color getMenuButtonSelectedColor () {
+		return menuButtonSelectedColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getMenuButtonUnselectedColor()
+	 */
+	@Override
+	public Color getMenuButtonUnselectedColor () {
+		return menuButtonUnselectedColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getButtonHoverBorder()
+	 */
+	@Override
+	public AbstractBorder getButtonHoverBorder () {
+		return buttonHoverBorder;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getButtonDefaultBorder()
+	 */
+	@Override
+	public AbstractBorder getButtonDefaultBorder () {
+		return buttonDefaultBorder;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getControlFontFace()
+	 */
+	@Override
+	public Font getControlFontFace () {
+		return controlFontFace;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getControlFontColor()
+	 */
+	@Override
+	public Color getControlFontColor () {
+		return controlFontColor;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideSkin#getShadeColor1()
+	 */
+	@Override
+	public Color getShadeColor1 () {
+		return shadeColor1;
+	}
+
+}
@@ -1,166 +1,307 @@
-package com.doetsch.oxide;
-
-import javax.swing.JButton;
-import javax.swing.JCheckBox;
-import javax.swing.JComboBox;
-import javax.swing.JComponent;
-import javax.swing.JLabel;
-import javax.swing.JList;
-import javax.swing.JPanel;
-import javax.swing.JRadioButton;
-import javax.swing.JTextArea;
-import javax.swing.JTextField;
-import javax.swing.border.EtchedBorder;
-import javax.swing.border.TitledBorder;
-
-/**
- * OxideCompomentFactory is, intuitively, a factory class that instantiates
- * Swing UI components that adhere to the Oxide aesthetic.
- * 
- * @author Jacob Wesley Doetsch
- */
-public class OxideComponentFactory {
-
-	private OxideSkin skin;
-	
-	public OxideComponentFactory (OxideSkin skin) {
-		this.skin = skin;
-	}
-	
-	/**
-	 * Creates a JButton instance that applies Oxide decoration as to
-	 * adhere to the Oxide aesthetic standard.
-	 * 
-	 * @return the new JButton instance
-	 */
-	public JButton createButton () {
-		
-		JButton button = new JButton();
-		applyControlComponentDefaults(button);
-		
-		return button;
-	}
-	
-	/**
-	 * Creates a JComboBox instance that applies Oxide decoration as to
-	 * adhere to the Oxide aesthetic standard.
-	 * 
-	 * @return the new JComboBox instance
-	 */
-	public JComboBox createComboBox () {
-		
-		JComboBox comboBox = new JComboBox();
-		applyControlComponentDefaults(comboBox);
-		
-		return comboBox;
-	}
-	
-	/**
-	 * Creates a JPanel with a titled border that adheres to the Oxide
-	 * aesthetic.
-	 * 
-	 * @param title the border title text
-	 * @return the new titled JPanel instance
-	 */
-	public JPanel createTitledPanel (String title) {
-		
-		JPanel panel = new JPanel();
-		applyControlComponentDefaults(panel);
-		panel.setLayout(null);
-		panel.setBorder(new TitledBorder(new EtchedBorder(EtchedBorder.LOWERED), title,
-				TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION,
-				skin.getControlFontFace(), skin.getControlFontColor()));
-		
-		return panel;
-	}
-	
-	/**
-	 * Creates a JLabel that adheres to the Oxide aesthetic.
-	 * 
-	 * @param text the labels text
-	 * @return the new JLabel instance
-	 */
-	public JLabel createLabel (String text) {
-		
-		JLabel label = new JLabel(text);
-		applyControlComponentDefaults(label);
-		
-		return label;
-	}
-
-	/**
-	 * Creates a JRadioButton instance that adheres to the Oxide aesthetic
-	 * 
-	 * @return the new JRadioButton instance
-	 */
-	public JRadioButton createRadioButton () {
-		
-		JRadioButton radioButton = new JRadioButton();
-		applyControlComponentDefaults(radioButton);
-		
-		return radioButton;
-	}
-	
-	/**
-	 * Creates a JCheckBox instance that adheres to the Oxide aesthetic.
-	 * 
-	 * @return the new JCheckBox instance
-	 */
-	public JCheckBox createCheckBox () {
-		
-		JCheckBox checkBox = new JCheckBox();
-		applyControlComponentDefaults(checkBox);
-		
-		return checkBox;
-	}
-	
-	/**
-	 * Creates a JTextField instance that adheres to the Oxide aesthetic.
-	 * 
-	 * @return the new JTextField instance
-	 */
-	public JTextField createTextField () {
-		
-		JTextField textField = new JTextField();
-		applyControlComponentDefaults(textField);
-		
-		return textField;
-	}
-	
-	/**
-	 * Creates a JTextArea instance that adheres to the Oxide aesthetic.
-	 * 
-	 * @return the new JTextArea instance
-	 */
-	public JTextArea createTextArea () {
-		
-		JTextArea textArea = new JTextArea();
-		applyControlComponentDefaults(textArea);
-		
-		return textArea;		
-	}
-	
-	/**
-	 * Creates a JList instance that adheres to the Oxide aesthetic.
-	 * 
-	 * @return the new JList instance
-	 */
-	public JList createList () {
-		
-		JList list = new JList();
-		applyControlComponentDefaults(list);
-		
-		return list;
-	}
-	
-	/*
-	 * Applies the default control component font face and color. 
-	 */
-	private void applyControlComponentDefaults (JComponent component) {
-		
-		component.setFont(skin.getControlFontFace());
-		component.setForeground(skin.getControlFontColor());
-		
-	}
-	
-}
+package com.doetsch.oxide;
+
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JRadioButton;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.border.EtchedBorder;
+import javax.swing.border.TitledBorder;
+
+/**
+ * OxideCompomentFactory is, intuitively, a factory class that instantiates
+ * Swing UI components that adhere to the Oxide aesthetic.
+ * 
+ * An OxideComponentFactory is immutable and may be shared by any number
+ * of threads. The components it creates are ordinary Swing components,
+ * which may be created and assembled into a subtree on any thread, a
+ * virtual thread included, as long as that subtree is confined to the
+ * thread and not yet added to a realized component. Once added to a
+ * realized component, such as the content pane of a visible OxideFrame,
+ * the subtree belongs to the event dispatch thread. buildInto(..) builds
+ * a subtree on an Executor and hands it to the event dispatch thread,
+ * which adds it to its container in a single step, so the event dispatch
+ * thread never sees a partially built subtree. The look and feel should
+ * be installed before subtrees are built off the event dispatch thread.
+ * 
+ * @author Jacob Wesley Doetsch
+ */
+public class OxideComponentFactory {
+
+	/**
+	 * SubtreeBuilder builds a component subtree for buildInto(..).
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	public interface SubtreeBuilder {
+		
+		/**
+		 * Builds a component subtree. This method is called off the event
+		 * dispatch thread and must not touch realized components. The
+		 * returned component should have its bounds set, as Oxide content
+		 * panes have no layout manager.
+		 * 
+		 * @param factory the OxideComponentFactory to create components with
+		 * @return the root of the subtree
+		 * @throws Exception if the subtree can't be built
+		 */
+		public JComponent build (OxideComponentFactory factory) throws Exception;
+		
+	}
+	
+	private final OxideCompiledSkin skin;
+	
+	/**
+	 * Creates an OxideComponentFactory that decorates components with
+	 * the given skin.
+	 * 
+	 * @param skin the OxideSkin with which to decorate components; the skin
+	 * is compiled into an immutable OxideCompiledSkin snapshot
+	 */
+	public OxideComponentFactory (OxideSkin skin) {
+		this.skin = OxideCompiledSkin.compile(skin);
+	}
+	
+	/**
+	 * Creates a JButton instance that applies Oxide decoration as to
+	 * adhere to the Oxide aesthetic standard.
+	 * 
+	 * @return the new JButton instance
+	 */
+	public JButton createButton () {
+		
+		JButton button = new JButton();
+		applyControlComponentDefaults(button);
+		
+		return button;
+	}
+	
+	/**
+	 * Creates a JComboBox instance that applies Oxide decoration as to
+	 * adhere to the Oxide aesthetic standard.
+	 * 
+	 * @return the new JComboBox instance
+	 */
+	public JComboBox createComboBox () {
+		
+		JComboBox comboBox = new JComboBox();
+		applyControlComponentDefaults(comboBox);
+		
+		return comboBox;
+	}
+	
+	/**
+	 * Creates a JPanel with a titled border that adheres to the Oxide
+	 * aesthetic.
+	 * 
+	 * @param title the border title text
+	 * @return the new titled JPanel instance
+	 */
+	public JPanel createTitledPanel (String title) {
+		
+		JPanel panel = new JPanel();
+		applyControlComponentDefaults(panel);
+		panel.setLayout(null);
+		panel.setBorder(new TitledBorder(new EtchedBorder(EtchedBorder.LOWERED), title,
+				TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION,
+				skin.getControlFontFace(), skin.getControlFontColor()));
+		
+		return panel;
+	}
+	
+	/**
+	 * Creates a JLabel that adheres to the Oxide aesthetic.
+	 * 
+	 * @param text the labels text
+	 * @return the new JLabel instance
+	 */
+	public JLabel createLabel (String text) {
+		
+		JLabel label = new JLabel(text);
+		applyControlComponentDefaults(label);
+		
+		return label;
+	}
+
+	/**
+	 * Creates a JRadioButton instance that adheres to the Oxide aesthetic
+	 * 
+	 * @return the new JRadioButton instance
+	 */
+	public JRadioButton createRadioButton () {
+		
+		JRadioButton radioButton = new JRadioButton();
+		applyControlComponentDefaults(radioButton);
+		
+		return radioButton;
+	}
+	
+	/**
+	 * Creates a JCheckBox instance that adheres to the Oxide aesthetic.
+	 * 
+	 * @return the new JCheckBox instance
+	 */
+	public JCheckBox createCheckBox () {
+		
+		JCheckBox checkBox = new JCheckBox();
+		applyControlComponentDefaults(checkBox);
+		
+		return checkBox;
+	}
+	
+	/**
+	 * Creates a JTextField instance that adheres to the Oxide aesthetic.
+	 * 
+	 * @return the new JTextField instance
+	 */
+	public JTextField createTextField () {
+		
+		JTextField textField = new JTextField();
+		applyControlComponentDefaults(textField);
+		
+		return textField;
+	}
+	
+	/**
+	 * Creates a JTextArea instance that adheres to the Oxide aesthetic.
+	 * 
+	 * @return the new JTextArea instance
+	 */
+	public JTextArea createTextArea () {
+		
+		JTextArea textArea = new JTextArea();
+		applyControlComponentDefaults(textArea);
+		
+		return textArea;		
+	}
+	
+	/**
+	 * Creates a JList instance that adheres to the Oxide aesthetic.
+	 * 
+	 * @return the new JList instance
+	 */
+	public JList createList () {
+		
+		JList list = new JList();
+		applyControlComponentDefaults(list);
+		
+		return list;
+	}
+	
+	/**
+	 * Creates an OxideVirtualList instance that adheres to the Oxide
+	 * aesthetic. The list has a fixed row height and only reads and paints
+	 * the rows that are visible, which suits models with millions of rows
+	 * that a JList can't handle.
+	 * 
+	 * @param model the OxideVirtualListModel providing the list's rows
+	 * @return the new OxideVirtualList instance
+	 */
+	public OxideVirtualList createVirtualList (OxideVirtualListModel model) {
+		
+		OxideVirtualList list = new OxideVirtualList(model);
+		applyControlComponentDefaults(list);
+		list.setSelectionBackground(skin.getShadeColor1());
+		
+		return list;
+	}
+	
+	/**
+	 * Builds a component subtree on the given executor and then, on the
+	 * event dispatch thread, adds it to the given container, usually the
+	 * content pane of an OxideFrame, validating the container and
+	 * repainting the subtree's area in the same step. The subtree is not
+	 * added if the returned future has been cancelled by then, and is
+	 * removed again if the future is cancelled while it's being added.
+	 * 
+	 * @param container the container to add the subtree to
+	 * @param builder the SubtreeBuilder that builds the subtree
+	 * @param executor the Executor to build the subtree on, for instance
+	 * one running each task on a virtual thread
+	 * @return a future completed with the subtree once it has been added,
+	 * or with the error thrown while building or adding it
+	 */
+	public CompletableFuture<JComponent> buildInto (final Container container,
+			final SubtreeBuilder builder, Executor executor) {
+		
+		final CompletableFuture<JComponent> result = new CompletableFuture<JComponent>();
+		
+		executor.execute(new Runnable() {
+			
+			/*
+			 * Builds the subtree, then hands it to the EDT
+			 */
+			@Override
+			public void run () {
+				
+				final JComponent subtree;
+				
+				try {
+					subtree = builder.build(OxideComponentFactory.this);
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+					return;
+				}
+				
+				EventQueue.invokeLater(new Runnable() {
+					
+					/*
+					 * Adds the finished subtree to the container
+					 */
+					@Override
+					public void run () {
+						
+						if (result.isDone()) {
+							return;
+						}
+						
+						try {
+							container.add(subtree);
+							container.validate();
+							container.repaint(subtree.getX(), subtree.getY(),
+									subtree.getWidth(), subtree.getHeight());
+							
+							/*
+							 * The future may have been cancelled on another thread
+							 * since it was checked, in which case the subtree is taken
+							 * back out
+							 */
+							if (!result.complete(subtree)) {
+								container.remove(subtree);
+								container.validate();
+							}
+						} catch (Throwable t) {
+							container.remove(subtree);
+							result.completeExceptionally(t);
+						}
+					}
+					
+				});
+			}
+			
+		});
+		
+		return result;
+	}
+	
+	/*
+	 * Applies the default control component font face and color. 
+	 */
+	private void applyControlComponentDefaults (JComponent component) {
+		
+		component.setFont(skin.getControlFontFace());
+		component.setForeground(skin.getControlFontColor());
+		
+	}
+	
+}
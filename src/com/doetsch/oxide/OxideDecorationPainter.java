@@ -0,0 +1,369 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+import javax.swing.ImageIcon;
+
+/**
+ * OxideDecorationPainter paints the decoration of an OxideFrame (the
+ * decoration border, the title bar with its title text, and the
+ * minimize and close button glyphs) without any child components, and
+ * hit-tests points against it. The title bar is rendered into a cached
+ * image that is only rendered again when the title, the skin or the
+ * width of the decoration changes; every other paint is a single image
+ * copy plus a few rectangle fills.
+ *
+ * Coordinates are relative to the top-left corner of the decoration,
+ * which sits inside the frame border. The content pane itself isn't
+ * painted.
+ */
+public final class OxideDecorationPainter {
+
+	/**
+	 * Hit-test result for a point outside the decoration.
+	 */
+	public static final int HIT_NONE = 0;
+
+	/**
+	 * Hit-test result for a point on the title bar, which drags the frame.
+	 */
+	public static final int HIT_TITLE = 1;
+
+	/**
+	 * Hit-test result for a point on the minimize button.
+	 */
+	public static final int HIT_MINIMIZE = 2;
+
+	/**
+	 * Hit-test result for a point on the close button.
+	 */
+	public static final int HIT_CLOSE = 3;
+
+	/**
+	 * Hit-test result for a point on the content pane.
+	 */
+	public static final int HIT_CONTENT = 4;
+
+	/**
+	 * Hit-test result for a point on the decoration border.
+	 */
+	public static final int HIT_BORDER = 5;
+
+	private OxideCompiledSkin skin;
+	private final boolean isParentFrame;
+	private String title = "";
+
+	/*
+	 * Decoration geometry
+	 */
+	private int contentPaneWidth;
+	private int contentPaneHeight;
+	private int decorationBorderWidth;
+	private int titleLabelHeight;
+
+	private int hoveredButton = HIT_NONE;
+
+	/*
+	 * The cached title bar rendering, discarded whenever the title, skin
+	 * or width changes
+	 */
+	private BufferedImage titleBarImage;
+	private long titleBarRenderCount;
+
+	/**
+	 * Creates an OxideDecorationPainter for a parent or child frame.
+	 *
+	 * @param skin the OxideSkin with which to paint the decoration
+	 * @param isParentFrame true to paint a parent frame's decoration
+	 */
+	public OxideDecorationPainter (OxideSkin skin, boolean isParentFrame) {
+		this.isParentFrame = isParentFrame;
+		setSkin(skin);
+	}
+
+	/**
+	 * Sets the OxideSkin with which to paint the decoration.
+	 *
+	 * @param skin the OxideSkin with which to paint the decoration
+	 */
+	public void setSkin (OxideSkin skin) {
+
+		OxideCompiledSkin compiledSkin = OxideCompiledSkin.compile(skin);
+
+		if (compiledSkin != this.skin) {
+			this.skin = compiledSkin;
+			this.decorationBorderWidth = compiledSkin.getDecorationBorderWidth();
+			this.titleLabelHeight = (isParentFrame ?
+					compiledSkin.getParentFrameTitleBarHeight() : compiledSkin.getChildFrameTitleBarHeight());
+			titleBarImage = null;
+		}
+	}
+
+	/**
+	 * Sets the title text painted in the title bar.
+	 *
+	 * @param title a String representation of the title
+	 */
+	public void setTitle (String title) {
+
+		String newTitle = (title == null ? "" : title);
+
+		if (!newTitle.equals(this.title)) {
+			this.title = newTitle;
+			titleBarImage = null;
+		}
+	}
+
+	/**
+	 * Sets the dimensions of the content pane that the decoration surrounds.
+	 *
+	 * @param contentPaneWidth the width of the content pane
+	 * @param contentPaneHeight the height of the content pane
+	 */
+	public void setContentSize (int contentPaneWidth, int contentPaneHeight) {
+
+		if (contentPaneWidth != this.contentPaneWidth) {
+			titleBarImage = null;
+		}
+
+		this.contentPaneWidth = contentPaneWidth;
+		this.contentPaneHeight = contentPaneHeight;
+	}
+
+	/**
+	 * Sets the button that is painted with the skin's hover border.
+	 *
+	 * @param hoveredButton HIT_MINIMIZE, HIT_CLOSE or HIT_NONE
+	 */
+	public void setHoveredButton (int hoveredButton) {
+		this.hoveredButton = hoveredButton;
+	}
+
+	/**
+	 * Returns the button that is painted with the skin's hover border.
+	 *
+	 * @return HIT_MINIMIZE, HIT_CLOSE or HIT_NONE
+	 */
+	public int getHoveredButton () {
+		return hoveredButton;
+	}
+
+	/**
+	 * Returns the width of the decoration.
+	 *
+	 * @return the decoration width in pixels
+	 */
+	public int getDecorationWidth () {
+		return contentPaneWidth + (2 * decorationBorderWidth);
+	}
+
+	/**
+	 * Returns the height of the decoration.
+	 *
+	 * @return the decoration height in pixels
+	 */
+	public int getDecorationHeight () {
+		return contentPaneHeight + (3 * decorationBorderWidth) + titleLabelHeight;
+	}
+
+	/**
+	 * Returns the bounds of the title bar, including the border above and
+	 * below it and excluding the buttons.
+	 *
+	 * @return the title bar bounds
+	 */
+	public Rectangle getTitleBounds () {
+		return new Rectangle(0, 0, contentPaneWidth - (2 * titleLabelHeight),
+				titleLabelHeight + (2 * decorationBorderWidth));
+	}
+
+	/**
+	 * Returns the bounds of the minimize button.
+	 *
+	 * @return the minimize button bounds
+	 */
+	public Rectangle getMinimizeButtonBounds () {
+		return new Rectangle(contentPaneWidth - (2 * titleLabelHeight), decorationBorderWidth,
+				titleLabelHeight, titleLabelHeight);
+	}
+
+	/**
+	 * Returns the bounds of the close button.
+	 *
+	 * @return the close button bounds
+	 */
+	public Rectangle getCloseButtonBounds () {
+		return new Rectangle(contentPaneWidth + decorationBorderWidth - titleLabelHeight,
+				decorationBorderWidth, titleLabelHeight, titleLabelHeight);
+	}
+
+	/**
+	 * Returns the bounds of the content pane.
+	 *
+	 * @return the content pane bounds
+	 */
+	public Rectangle getContentBounds () {
+		return new Rectangle(decorationBorderWidth, (2 * decorationBorderWidth) + titleLabelHeight,
+				contentPaneWidth, contentPaneHeight);
+	}
+
+	/**
+	 * Returns the number of times the title bar has been rendered rather
+	 * than copied from the cache.
+	 *
+	 * @return the title bar render count
+	 */
+	public long getTitleBarRenderCount () {
+		return titleBarRenderCount;
+	}
+
+	/**
+	 * Returns which part of the decoration lies at the given point.
+	 *
+	 * @param x the x position within the decoration
+	 * @param y the y position within the decoration
+	 * @return one of the HIT_ constants
+	 */
+	public int hitTest (int x, int y) {
+
+		if (x < 0 || y < 0 || x >= getDecorationWidth() || y >= getDecorationHeight()) {
+			return HIT_NONE;
+		}
+
+		if (getMinimizeButtonBounds().contains(x, y)) {
+			return HIT_MINIMIZE;
+		}
+
+		if (getCloseButtonBounds().contains(x, y)) {
+			return HIT_CLOSE;
+		}
+
+		if (getTitleBounds().contains(x, y)) {
+			return HIT_TITLE;
+		}
+
+		if (getContentBounds().contains(x, y)) {
+			return HIT_CONTENT;
+		}
+
+		return HIT_BORDER;
+	}
+
+	/**
+	 * Paints the decoration, using the cached title bar rendering when it's
+	 * still valid.
+	 *
+	 * @param g the Graphics with which to paint
+	 * @param c the component being painted, passed on to the hover border
+	 * @param gc the GraphicsConfiguration for which to create the title bar
+	 * image, or null to create a plain BufferedImage
+	 */
+	public void paint (Graphics g, Component c, GraphicsConfiguration gc) {
+
+		int width = getDecorationWidth();
+		int height = getDecorationHeight();
+		int titleBarHeight = titleLabelHeight + (2 * decorationBorderWidth);
+
+		if (titleBarImage == null) {
+			titleBarImage = renderTitleBar(gc, Math.max(width, 1), titleBarHeight);
+		}
+
+		g.drawImage(titleBarImage, 0, 0, null);
+
+		/*
+		 * Fill the border around the content pane
+		 */
+		g.setColor(skin.getDecorationBorderColor());
+		g.fillRect(0, titleBarHeight, decorationBorderWidth, height - titleBarHeight);
+		g.fillRect(width - decorationBorderWidth, titleBarHeight,
+				decorationBorderWidth, height - titleBarHeight);
+		g.fillRect(0, height - decorationBorderWidth, width, decorationBorderWidth);
+
+		if (hoveredButton == HIT_MINIMIZE || hoveredButton == HIT_CLOSE) {
+			Rectangle r = (hoveredButton == HIT_MINIMIZE ?
+					getMinimizeButtonBounds() : getCloseButtonBounds());
+			skin.getButtonHoverBorder().paintBorder(c, g, r.x, r.y, r.width, r.height);
+		}
+	}
+
+	/*
+	 * Renders the title bar background, title text and button glyphs.
+	 */
+	private BufferedImage renderTitleBar (GraphicsConfiguration gc, int width, int height) {
+
+		BufferedImage image = (gc != null ?
+				gc.createCompatibleImage(width, height, Transparency.OPAQUE) :
+					new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+		Graphics2D g = image.createGraphics();
+
+		try {
+			g.setColor(skin.getDecorationBorderColor());
+			g.fillRect(0, 0, width, height);
+
+			Map<?, ?> desktopHints = (Map<?, ?>) Toolkit.getDefaultToolkit()
+					.getDesktopProperty("awt.font.desktophints");
+
+			if (desktopHints != null) {
+				g.addRenderingHints(desktopHints);
+			} else {
+				g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+						RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			}
+
+			/*
+			 * Draw the title text left-aligned and vertically centered, as the
+			 * title label does
+			 */
+			Rectangle titleBounds = getTitleBounds();
+			Color titleColor = (isParentFrame ?
+					skin.getParentTitleFontColor() : skin.getChildTitleFontColor());
+
+			g.setFont(isParentFrame ? skin.getParentTitleFontFace() : skin.getChildTitleFontFace());
+			g.setColor(titleColor);
+			FontMetrics metrics = g.getFontMetrics();
+			Graphics titleGraphics = g.create(titleBounds.x, titleBounds.y,
+					Math.max(titleBounds.width, 0), titleBounds.height);
+
+			try {
+				titleGraphics.drawString(" " + title, 0,
+						((titleBounds.height - metrics.getHeight()) / 2) + metrics.getAscent());
+			} finally {
+				titleGraphics.dispose();
+			}
+
+			paintGlyph(g, isParentFrame ?
+					"resources/icons/minimize_icon_24x24.png" :
+						"resources/icons/minimize_icon_18x18.png", getMinimizeButtonBounds());
+			paintGlyph(g, isParentFrame ?
+					"resources/icons/close_icon_24x24.png" :
+						"resources/icons/close_icon_18x18.png", getCloseButtonBounds());
+		} finally {
+			g.dispose();
+		}
+
+		titleBarRenderCount++;
+
+		return image;
+	}
+
+	/*
+	 * Draws the given icon centered within the given bounds.
+	 */
+	private static void paintGlyph (Graphics g, String resource, Rectangle r) {
+		ImageIcon icon = OxideIconCache.getIcon(resource);
+		g.drawImage(icon.getImage(), r.x + ((r.width - icon.getIconWidth()) / 2),
+				r.y + ((r.height - icon.getIconHeight()) / 2), null);
+	}
+
+}
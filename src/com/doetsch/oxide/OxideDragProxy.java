@@ -0,0 +1,143 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JWindow;
+
+/**
+ * OxideDragProxy stands in for an OxideFrame while it is being dragged or
+ * resized with the outline or snapshot drag strategy, so that the frame
+ * itself is only moved or laid out once, when the drag ends. The outline
+ * proxy is a rectangle made of four thin windows; the snapshot proxy is
+ * a single window showing an image of the frame taken when the drag
+ * began, stretched to the proxy's bounds while resizing.
+ */
+final class OxideDragProxy {
+
+	/*
+	 * Thickness of the outline proxy's edges
+	 */
+	private static final int OUTLINE_WIDTH = 2;
+
+	private final JWindow[] outlineWindows;
+	private final JWindow snapshotWindow;
+
+	/*
+	 * Creates a proxy for the given frame with the given drag strategy,
+	 * either OxideFrame.DRAG_OUTLINE or OxideFrame.DRAG_SNAPSHOT.
+	 */
+	OxideDragProxy (JFrame frame, int dragStrategy, Color outlineColor) {
+
+		if (dragStrategy == OxideFrame.DRAG_SNAPSHOT) {
+			outlineWindows = null;
+			snapshotWindow = new JWindow(frame);
+			snapshotWindow.setContentPane(new SnapshotPane(snapshot(frame)));
+		} else {
+			snapshotWindow = null;
+			outlineWindows = new JWindow[4];
+
+			for (int i = 0; i < outlineWindows.length; i++) {
+				outlineWindows[i] = new JWindow(frame);
+				outlineWindows[i].getContentPane().setBackground(outlineColor);
+			}
+		}
+	}
+
+	/*
+	 * Shows the proxy at the given window bounds.
+	 */
+	void show (Rectangle bounds) {
+
+		moveTo(bounds);
+
+		if (snapshotWindow != null) {
+			snapshotWindow.setVisible(true);
+		} else {
+			for (JWindow window : outlineWindows) {
+				window.setVisible(true);
+			}
+		}
+	}
+
+	/*
+	 * Moves the proxy to the given window bounds.
+	 */
+	void moveTo (Rectangle bounds) {
+
+		if (snapshotWindow != null) {
+			snapshotWindow.setBounds(bounds);
+			return;
+		}
+
+		outlineWindows[0].setBounds(bounds.x, bounds.y, bounds.width, OUTLINE_WIDTH);
+		outlineWindows[1].setBounds(bounds.x, bounds.y + bounds.height - OUTLINE_WIDTH,
+				bounds.width, OUTLINE_WIDTH);
+		outlineWindows[2].setBounds(bounds.x, bounds.y, OUTLINE_WIDTH, bounds.height);
+		outlineWindows[3].setBounds(bounds.x + bounds.width - OUTLINE_WIDTH, bounds.y,
+				OUTLINE_WIDTH, bounds.height);
+	}
+
+	/*
+	 * Hides the proxy and releases its windows.
+	 */
+	void dispose () {
+
+		if (snapshotWindow != null) {
+			snapshotWindow.dispose();
+		} else {
+			for (JWindow window : outlineWindows) {
+				window.dispose();
+			}
+		}
+	}
+
+	/*
+	 * Renders the given frame into an image.
+	 */
+	private static BufferedImage snapshot (JFrame frame) {
+
+		BufferedImage image = new BufferedImage(Math.max(frame.getWidth(), 1),
+				Math.max(frame.getHeight(), 1), BufferedImage.TYPE_INT_RGB);
+		Graphics g = image.createGraphics();
+
+		try {
+			frame.getRootPane().printAll(g);
+		} finally {
+			g.dispose();
+		}
+
+		return image;
+	}
+
+	/**
+	 * SnapshotPane paints the snapshot of the frame stretched to its size.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static class SnapshotPane extends JComponent {
+
+		/*
+		 * Generated serial ID to satisfy Serializable.
+		 */
+		private static final long serialVersionUID = 3817520974526017293L;
+
+		private final BufferedImage image;
+
+		private SnapshotPane (BufferedImage image) {
+			this.image = image;
+			setOpaque(true);
+		}
+
+		@Override
+		protected void paintComponent (Graphics g) {
+			g.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+		}
+
+	}
+
+}
@@ -0,0 +1,259 @@
+package com.doetsch.oxide;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.MouseEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * OxideEventRecorder captures the mouse events delivered to the
+ * components of an Oxide frame, or of any other container, into a
+ * compact binary trace that OxideEventReplayer can feed back into the
+ * same component tree, so that a real session can be reproduced exactly
+ * and used as a benchmark.
+ *
+ * The trace starts with the magic number 0x4F585452 ("OXTR") and a
+ * version byte, followed by one record per event made of unsigned
+ * variable-length integers: the microseconds since the previous event,
+ * the event ID relative to MouseEvent.MOUSE_FIRST, the extended
+ * modifiers, the button and the click count, then the zigzag-encoded
+ * component and screen coordinates, the latter relative to the root's
+ * location when recording started, and finally the path of child
+ * indexes from the root to the event's component, preceded by its
+ * length plus one. A path length of 0 stands for the previous event's
+ * component. A mouse drag event typically takes about a dozen bytes.
+ *
+ * Events are recorded on the event dispatch thread, from which the
+ * recorder should also be started and stopped.
+ */
+public final class OxideEventRecorder {
+
+	/*
+	 * The trace header, shared with OxideEventReplayer
+	 */
+	static final int MAGIC = 0x4F585452;
+	static final int VERSION = 1;
+
+	private final Container root;
+	private final ByteArrayOutputStream trace = new ByteArrayOutputStream();
+	private final AWTEventListener listener = new AWTEventListener() {
+
+		/*
+		 * Records the mouse events delivered within the root
+		 */
+		@Override
+		public void eventDispatched (AWTEvent event) {
+			record((MouseEvent) event);
+		}
+
+	};
+
+	/*
+	 * Recording state: the root location that screen coordinates are
+	 * relative to, the time of the previous event in microseconds and the
+	 * component it was delivered to
+	 */
+	private boolean isRecording;
+	private Point origin;
+	private long lastEventMicros;
+	private Component lastComponent;
+	private int eventCount;
+
+	/**
+	 * Creates an OxideEventRecorder for the given component tree.
+	 *
+	 * @param root the container, usually an OxideFrame, whose components'
+	 * mouse events to record
+	 */
+	public OxideEventRecorder (Container root) {
+		this.root = root;
+	}
+
+	/**
+	 * Starts recording a new trace, discarding any previous one.
+	 *
+	 * @throws IllegalStateException if the recorder is already recording
+	 */
+	public void start () {
+
+		if (isRecording) {
+			throw new IllegalStateException("Already recording");
+		}
+
+		trace.reset();
+		trace.write(MAGIC >>> 24);
+		trace.write(MAGIC >>> 16);
+		trace.write(MAGIC >>> 8);
+		trace.write(MAGIC);
+		trace.write(VERSION);
+
+		origin = getOrigin(root);
+		lastEventMicros = System.nanoTime() / 1000;
+		lastComponent = null;
+		eventCount = 0;
+		isRecording = true;
+
+		Toolkit.getDefaultToolkit().addAWTEventListener(listener,
+				AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK);
+	}
+
+	/**
+	 * Stops recording, keeping the trace recorded so far.
+	 */
+	public void stop () {
+
+		if (isRecording) {
+			isRecording = false;
+			Toolkit.getDefaultToolkit().removeAWTEventListener(listener);
+		}
+	}
+
+	/**
+	 * Returns whether or not the recorder is recording.
+	 *
+	 * @return true if events are being recorded
+	 */
+	public boolean isRecording () {
+		return isRecording;
+	}
+
+	/**
+	 * Returns the number of events in the trace.
+	 *
+	 * @return the recorded event count
+	 */
+	public int getEventCount () {
+		return eventCount;
+	}
+
+	/**
+	 * Returns a copy of the trace.
+	 *
+	 * @return the trace's bytes
+	 */
+	public byte[] toByteArray () {
+		return trace.toByteArray();
+	}
+
+	/**
+	 * Writes the trace to the given stream.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the stream can't be written
+	 */
+	public void writeTo (OutputStream out) throws IOException {
+		trace.writeTo(out);
+	}
+
+	/*
+	 * Returns the screen location that the screen coordinates of the given
+	 * root's events are recorded or replayed relative to.
+	 */
+	static Point getOrigin (Container root) {
+		return (root.isShowing() ? root.getLocationOnScreen() : root.getLocation());
+	}
+
+	/*
+	 * Appends the given event to the trace if it was delivered within the
+	 * root.
+	 */
+	private void record (MouseEvent e) {
+
+		Component component = e.getComponent();
+
+		if (!isRecording || component == null || !SwingUtilities.isDescendingFrom(component, root)) {
+			return;
+		}
+
+		long eventMicros = System.nanoTime() / 1000;
+
+		writeVarint(eventMicros - lastEventMicros);
+		writeVarint(e.getID() - MouseEvent.MOUSE_FIRST);
+		writeVarint(e.getModifiersEx());
+		writeVarint(e.getButton());
+		writeVarint(e.getClickCount());
+		writeSigned(e.getX());
+		writeSigned(e.getY());
+		writeSigned(e.getXOnScreen() - origin.x);
+		writeSigned(e.getYOnScreen() - origin.y);
+
+		if (component == lastComponent) {
+			writeVarint(0);
+		} else {
+			writePath(component);
+		}
+
+		lastEventMicros = eventMicros;
+		lastComponent = component;
+		eventCount++;
+	}
+
+	/*
+	 * Writes the path of child indexes from the root to the given
+	 * component, preceded by its length plus one.
+	 */
+	private void writePath (Component component) {
+
+		int depth = 0;
+
+		for (Component c = component; c != root; c = c.getParent()) {
+			depth++;
+		}
+
+		int[] path = new int[depth];
+
+		for (Component c = component; c != root; c = c.getParent()) {
+			path[--depth] = indexOf(c.getParent(), c);
+		}
+
+		writeVarint(path.length + 1);
+
+		for (int index : path) {
+			writeVarint(index);
+		}
+	}
+
+	/*
+	 * Returns the index of the given child within its parent.
+	 */
+	private static int indexOf (Container parent, Component child) {
+
+		for (int i = 0; i < parent.getComponentCount(); i++) {
+			if (parent.getComponent(i) == child) {
+				return i;
+			}
+		}
+
+		throw new IllegalStateException("Component is not a child of its parent");
+	}
+
+	/*
+	 * Writes the given value as a zigzag-encoded variable-length integer.
+	 */
+	private void writeSigned (int value) {
+		writeVarint((value << 1) ^ (value >> 31));
+	}
+
+	/*
+	 * Writes the given non-negative value seven bits at a time, least
+	 * significant first, setting the high bit of every byte but the last.
+	 */
+	private void writeVarint (long value) {
+
+		while ((value & ~0x7FL) != 0) {
+			trace.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+
+		trace.write((int) value);
+	}
+
+}
@@ -0,0 +1,400 @@
+package com.doetsch.oxide;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Point;
+import java.awt.event.MouseEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * OxideEventReplayer feeds a trace recorded by OxideEventRecorder back
+ * into a component tree, either with the original timing between events
+ * or as fast as the event dispatch thread takes them, and reports the
+ * latency of each event, from being posted to having been dispatched,
+ * along with the time the event dispatch thread spent dispatching it.
+ *
+ * Each event is dispatched to the component at its recorded path, with
+ * its screen coordinates moved to the root's current location, and the
+ * replayer waits for an event to be dispatched before posting the next.
+ * Events whose component no longer exists are skipped and counted.
+ */
+public final class OxideEventReplayer {
+
+	/*
+	 * The decoded trace: each event's time since the first event, its
+	 * fields and the path of its component
+	 */
+	private final long[] eventMicros;
+	private final int[] ids;
+	private final int[] modifiers;
+	private final int[] buttons;
+	private final int[] clickCounts;
+	private final int[] xs;
+	private final int[] ys;
+	private final int[] screenXs;
+	private final int[] screenYs;
+	private final int[][] paths;
+
+	/*
+	 * The read position while decoding
+	 */
+	private final byte[] trace;
+	private int position;
+
+	/**
+	 * Creates an OxideEventReplayer for the given trace.
+	 *
+	 * @param trace a trace recorded by OxideEventRecorder
+	 * @throws IllegalArgumentException if the trace is malformed or of an
+	 * unsupported version
+	 */
+	public OxideEventReplayer (byte[] trace) {
+
+		this.trace = trace;
+
+		if (trace.length < 5 || readInt() != OxideEventRecorder.MAGIC) {
+			throw new IllegalArgumentException("Not an Oxide event trace");
+		}
+
+		int version = trace[position++];
+
+		if (version != OxideEventRecorder.VERSION) {
+			throw new IllegalArgumentException("Unsupported trace version: " + version);
+		}
+
+		/*
+		 * Count the events first so that the arrays can be sized exactly
+		 */
+		int count = 0;
+		int start = position;
+
+		while (position < trace.length) {
+			for (int field = 0; field < 9; field++) {
+				readVarint();
+			}
+
+			int pathLength = (int) readVarint() - 1;
+
+			for (int i = 0; i < pathLength; i++) {
+				readVarint();
+			}
+
+			count++;
+		}
+
+		eventMicros = new long[count];
+		ids = new int[count];
+		modifiers = new int[count];
+		buttons = new int[count];
+		clickCounts = new int[count];
+		xs = new int[count];
+		ys = new int[count];
+		screenXs = new int[count];
+		screenYs = new int[count];
+		paths = new int[count][];
+
+		position = start;
+		long time = 0;
+
+		for (int i = 0; i < count; i++) {
+			long delta = readVarint();
+			time = (i == 0 ? 0 : time + delta);
+
+			eventMicros[i] = time;
+			ids[i] = MouseEvent.MOUSE_FIRST + (int) readVarint();
+			modifiers[i] = (int) readVarint();
+			buttons[i] = (int) readVarint();
+			clickCounts[i] = (int) readVarint();
+			xs[i] = readSigned();
+			ys[i] = readSigned();
+			screenXs[i] = readSigned();
+			screenYs[i] = readSigned();
+
+			int pathLength = (int) readVarint() - 1;
+
+			if (pathLength < 0) {
+				if (i == 0) {
+					throw new IllegalArgumentException("First event has no component path");
+				}
+
+				paths[i] = paths[i - 1];
+			} else {
+				paths[i] = new int[pathLength];
+
+				for (int j = 0; j < pathLength; j++) {
+					paths[i][j] = (int) readVarint();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of events in the trace.
+	 *
+	 * @return the event count
+	 */
+	public int getEventCount () {
+		return ids.length;
+	}
+
+	/**
+	 * Returns the time between the first and the last event of the trace.
+	 *
+	 * @return the trace's duration in microseconds
+	 */
+	public long getDurationMicros () {
+		return (ids.length > 0 ? eventMicros[ids.length - 1] : 0);
+	}
+
+	/**
+	 * Replays the trace into the given component tree. This method blocks
+	 * until every event has been dispatched and must not be called on the
+	 * event dispatch thread.
+	 *
+	 * @param root the container, usually an OxideFrame, to replay into
+	 * @param isOriginalSpeed true to post events with their recorded
+	 * timing, false to post each event as soon as the previous one has
+	 * been dispatched
+	 * @return a Report of the replay's latencies
+	 * @throws InterruptedException if the replaying thread is interrupted
+	 * @throws IllegalStateException if called on the event dispatch thread
+	 * or if dispatching an event throws
+	 */
+	public Report replay (final Container root, boolean isOriginalSpeed) throws InterruptedException {
+
+		if (EventQueue.isDispatchThread()) {
+			throw new IllegalStateException("Cannot replay on the event dispatch thread");
+		}
+
+		final Point origin = OxideEventRecorder.getOrigin(root);
+		final long[] latencyNanos = new long[ids.length];
+		final long[] edtNanos = new long[ids.length];
+		final int[] unresolvedCount = new int[1];
+		final OxideLatencyHistogram histogram = new OxideLatencyHistogram();
+		long startNanos = System.nanoTime();
+
+		for (int i = 0; i < ids.length; i++) {
+
+			if (isOriginalSpeed) {
+				long dueNanos = startNanos + (eventMicros[i] * 1000);
+
+				for (long wait = dueNanos - System.nanoTime(); wait > 0;
+						wait = dueNanos - System.nanoTime()) {
+					LockSupport.parkNanos(wait);
+
+					if (Thread.interrupted()) {
+						throw new InterruptedException();
+					}
+				}
+			}
+
+			final int index = i;
+			final long postedNanos = System.nanoTime();
+
+			try {
+				EventQueue.invokeAndWait(new Runnable() {
+
+					/*
+					 * Dispatches the event to its component, timing the dispatch
+					 */
+					@Override
+					public void run () {
+
+						long dispatchNanos = System.nanoTime();
+						Component component = resolve(root, paths[index]);
+
+						if (component == null) {
+							unresolvedCount[0]++;
+						} else {
+							component.dispatchEvent(new MouseEvent(component, ids[index],
+									System.currentTimeMillis(), modifiers[index], xs[index], ys[index],
+									origin.x + screenXs[index], origin.y + screenYs[index],
+									clickCounts[index], false, buttons[index]));
+						}
+
+						long endNanos = System.nanoTime();
+						edtNanos[index] = endNanos - dispatchNanos;
+						latencyNanos[index] = endNanos - postedNanos;
+					}
+
+				});
+			} catch (InvocationTargetException e) {
+				throw new IllegalStateException("Replayed event " + i + " failed", e.getCause());
+			}
+
+			histogram.record(latencyNanos[i]);
+		}
+
+		return new Report(latencyNanos, edtNanos, unresolvedCount[0], histogram.getBuckets(),
+				System.nanoTime() - startNanos);
+	}
+
+	/*
+	 * Returns the component at the given path of child indexes from the
+	 * given root, or null if the path no longer leads to a component.
+	 */
+	private static Component resolve (Container root, int[] path) {
+
+		Component component = root;
+
+		for (int index : path) {
+			if (!(component instanceof Container)
+					|| index >= ((Container) component).getComponentCount()) {
+				return null;
+			}
+
+			component = ((Container) component).getComponent(index);
+		}
+
+		return component;
+	}
+
+	/*
+	 * Reads a big-endian 32-bit integer.
+	 */
+	private int readInt () {
+
+		int value = 0;
+
+		for (int i = 0; i < 4; i++) {
+			value = (value << 8) | (trace[position++] & 0xFF);
+		}
+
+		return value;
+	}
+
+	/*
+	 * Reads a zigzag-encoded variable-length integer.
+	 */
+	private int readSigned () {
+		int value = (int) readVarint();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/*
+	 * Reads an unsigned variable-length integer.
+	 */
+	private long readVarint () {
+
+		long value = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (position >= trace.length) {
+				throw new IllegalArgumentException("Truncated event trace");
+			}
+
+			byte b = trace[position++];
+			value |= (long) (b & 0x7F) << shift;
+
+			if (b >= 0) {
+				return value;
+			}
+		}
+
+		throw new IllegalArgumentException("Malformed event trace");
+	}
+
+	/**
+	 * Report holds the latencies measured by a replay.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	public static final class Report {
+
+		private final long[] latencyNanos;
+		private final long[] edtNanos;
+		private final int unresolvedCount;
+		private final long[] latencyBuckets;
+		private final long wallNanos;
+
+		private Report (long[] latencyNanos, long[] edtNanos, int unresolvedCount,
+				long[] latencyBuckets, long wallNanos) {
+			this.latencyNanos = latencyNanos;
+			this.edtNanos = edtNanos;
+			this.unresolvedCount = unresolvedCount;
+			this.latencyBuckets = latencyBuckets;
+			this.wallNanos = wallNanos;
+		}
+
+		/**
+		 * Returns the number of events replayed.
+		 *
+		 * @return the event count
+		 */
+		public int getEventCount () {
+			return latencyNanos.length;
+		}
+
+		/**
+		 * Returns the number of events skipped because their component
+		 * could not be found.
+		 *
+		 * @return the unresolved event count
+		 */
+		public int getUnresolvedCount () {
+			return unresolvedCount;
+		}
+
+		/**
+		 * Returns each event's latency, from being posted to the event queue
+		 * to having been dispatched.
+		 *
+		 * @return the per-event latencies in nanoseconds, in trace order
+		 */
+		public long[] getLatencyNanos () {
+			return latencyNanos.clone();
+		}
+
+		/**
+		 * Returns the time the event dispatch thread spent dispatching each
+		 * event.
+		 *
+		 * @return the per-event dispatch times in nanoseconds, in trace order
+		 */
+		public long[] getEdtNanos () {
+			return edtNanos.clone();
+		}
+
+		/**
+		 * Returns the total time the event dispatch thread spent dispatching
+		 * the replayed events.
+		 *
+		 * @return the total dispatch time in nanoseconds
+		 */
+		public long getTotalEdtNanos () {
+
+			long total = 0;
+
+			for (long nanos : edtNanos) {
+				total += nanos;
+			}
+
+			return total;
+		}
+
+		/**
+		 * Returns the approximate event latency at the given percentile.
+		 *
+		 * @param percentile the percentile, between 0 and 100
+		 * @return the upper bound of the latency bucket containing the
+		 * percentile, in microseconds
+		 * @see OxideLatencyHistogram#getPercentileMicros(long[], double)
+		 */
+		public long getLatencyPercentileMicros (double percentile) {
+			return OxideLatencyHistogram.getPercentileMicros(latencyBuckets, percentile);
+		}
+
+		/**
+		 * Returns the time the replay took.
+		 *
+		 * @return the wall-clock duration of the replay in nanoseconds
+		 */
+		public long getWallNanos () {
+			return wallNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,411 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JRadioButton;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.border.EtchedBorder;
+import javax.swing.border.TitledBorder;
+
+/**
+ * OxideFormTemplate is a form layout, a titled panel holding controls at
+ * absolute positions, compiled once against a skin into an immutable
+ * plan. Every call to instantiate() builds a new component tree from the
+ * plan with the same result as the equivalent OxideComponentFactory
+ * calls, but without resolving skin values per form: fonts and colors
+ * are resolved when the template is built. Each instance gets its own
+ * titled border, since a TitledBorder is mutable, but all instances
+ * share the etched border it draws and the resolved font and color.
+ *
+ * A template is described in code with a Builder, or parsed from text
+ * with one element per line, where blank lines and lines starting with
+ * '#' are ignored. The first element is the titled panel; the others
+ * are controls, whose text is optional:
+ *
+ * <pre>
+ * # kind left top width height [text]
+ * panel 0 0 360 120 Customer
+ * label 10 20 100 24 Name
+ * textField 120 20 200 24
+ * checkBox 10 50 200 24 Active
+ * </pre>
+ *
+ * The kinds of control are label, textField, textArea, checkBox,
+ * radioButton and button. The controls of an instance are the children
+ * of its panel in the order they were described.
+ *
+ * A template is immutable and may be instantiated on any thread, with
+ * the instances confined to that thread until realized, as described by
+ * OxideComponentFactory.
+ */
+public final class OxideFormTemplate {
+
+	/*
+	 * Kinds of control
+	 */
+	private static final int LABEL = 0;
+	private static final int TEXT_FIELD = 1;
+	private static final int TEXT_AREA = 2;
+	private static final int CHECK_BOX = 3;
+	private static final int RADIO_BUTTON = 4;
+	private static final int BUTTON = 5;
+
+	/*
+	 * Names of the kinds of control in the text format, by kind
+	 */
+	private static final String[] KIND_NAMES = {
+		"label", "textField", "textArea", "checkBox", "radioButton", "button"
+	};
+
+	/*
+	 * The panel's bounds and title, and the etched border shared by the
+	 * titled borders of every instance
+	 */
+	private final int left;
+	private final int top;
+	private final int width;
+	private final int height;
+	private final String title;
+	private final EtchedBorder etchedBorder = new EtchedBorder(EtchedBorder.LOWERED);
+
+	/*
+	 * Resolved skin values
+	 */
+	private final Font font;
+	private final Color fontColor;
+
+	/*
+	 * The controls: their kinds, texts and bounds as left, top, width,
+	 * height quadruples
+	 */
+	private final int[] kinds;
+	private final String[] texts;
+	private final int[] bounds;
+
+	/*
+	 * Compiles the given builder's layout against the given skin.
+	 */
+	private OxideFormTemplate (Builder builder, OxideSkin skin) {
+
+		OxideCompiledSkin compiledSkin = OxideCompiledSkin.compile(skin);
+
+		this.left = builder.left;
+		this.top = builder.top;
+		this.width = builder.width;
+		this.height = builder.height;
+		this.font = compiledSkin.getControlFontFace();
+		this.fontColor = compiledSkin.getControlFontColor();
+		this.title = builder.title;
+
+		int count = builder.kinds.size();
+
+		this.kinds = new int[count];
+		this.texts = new String[count];
+		this.bounds = new int[count * 4];
+
+		for (int i = 0; i < count; i++) {
+			kinds[i] = builder.kinds.get(i).intValue();
+			texts[i] = builder.texts.get(i);
+		}
+
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = builder.bounds.get(i).intValue();
+		}
+	}
+
+	/**
+	 * Parses a template from the text format and compiles it against the
+	 * given skin.
+	 *
+	 * @param text the template's text
+	 * @param skin the OxideSkin with which to decorate the form
+	 * @return the compiled OxideFormTemplate
+	 * @throws IllegalArgumentException if the text is malformed
+	 */
+	public static OxideFormTemplate parse (String text, OxideSkin skin) {
+
+		String[] lines = text.split("\n");
+		Builder builder = null;
+
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].trim();
+
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			String[] tokens = line.split("\\s+", 6);
+
+			if (tokens.length < 5) {
+				throw new IllegalArgumentException("Line " + (i + 1)
+						+ ": expected kind left top width height [text]");
+			}
+
+			int[] elementBounds = new int[4];
+
+			for (int j = 0; j < 4; j++) {
+				try {
+					elementBounds[j] = Integer.parseInt(tokens[j + 1]);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Line " + (i + 1)
+							+ ": expected an integer but found " + tokens[j + 1], e);
+				}
+			}
+
+			String elementText = (tokens.length > 5 ? tokens[5] : null);
+
+			if (builder == null) {
+				if (!tokens[0].equals("panel")) {
+					throw new IllegalArgumentException("Line " + (i + 1)
+							+ ": expected the panel before any control");
+				}
+
+				builder = new Builder(elementText, elementBounds[0], elementBounds[1],
+						elementBounds[2], elementBounds[3]);
+				continue;
+			}
+
+			int kind = kindOf(tokens[0]);
+
+			if (kind < 0) {
+				throw new IllegalArgumentException("Line " + (i + 1) + ": unknown kind " + tokens[0]);
+			}
+
+			builder.add(kind, elementText, elementBounds[0], elementBounds[1],
+					elementBounds[2], elementBounds[3]);
+		}
+
+		if (builder == null) {
+			throw new IllegalArgumentException("Template has no panel");
+		}
+
+		return builder.build(skin);
+	}
+
+	/**
+	 * Builds a new form from the template.
+	 *
+	 * @return the form's titled panel, whose children are the form's
+	 * controls in the order they were described
+	 */
+	public JPanel instantiate () {
+
+		JPanel panel = new JPanel(null);
+		panel.setFont(font);
+		panel.setForeground(fontColor);
+		panel.setBorder(new TitledBorder(etchedBorder, title,
+				TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION,
+				font, fontColor));
+		panel.setBounds(left, top, width, height);
+
+		for (int i = 0; i < kinds.length; i++) {
+			JComponent control = create(kinds[i], texts[i]);
+			int b = i * 4;
+
+			control.setFont(font);
+			control.setForeground(fontColor);
+			control.setBounds(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+			panel.add(control);
+		}
+
+		return panel;
+	}
+
+	/**
+	 * Returns the number of controls in the form.
+	 *
+	 * @return the control count
+	 */
+	public int getControlCount () {
+		return kinds.length;
+	}
+
+	/*
+	 * Creates a control of the given kind with the given text.
+	 */
+	private static JComponent create (int kind, String text) {
+
+		switch (kind) {
+		case LABEL:
+			return new JLabel(text);
+		case TEXT_FIELD:
+			return new JTextField(text);
+		case TEXT_AREA:
+			return new JTextArea(text);
+		case CHECK_BOX:
+			return new JCheckBox(text);
+		case RADIO_BUTTON:
+			return new JRadioButton(text);
+		default:
+			return new JButton(text);
+		}
+	}
+
+	/*
+	 * Returns the kind of control with the given name in the text format,
+	 * or -1 if there is none.
+	 */
+	private static int kindOf (String name) {
+
+		for (int kind = 0; kind < KIND_NAMES.length; kind++) {
+			if (KIND_NAMES[kind].equals(name)) {
+				return kind;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Builder describes the layout of an OxideFormTemplate in code.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	public static class Builder {
+
+		private final String title;
+		private final int left;
+		private final int top;
+		private final int width;
+		private final int height;
+		private final List<Integer> kinds = new ArrayList<Integer>();
+		private final List<String> texts = new ArrayList<String>();
+		private final List<Integer> bounds = new ArrayList<Integer>();
+
+		/**
+		 * Creates a Builder for a form whose titled panel has the given
+		 * title and bounds.
+		 *
+		 * @param title the panel's border title
+		 * @param left the panel's x coordinate
+		 * @param top the panel's y coordinate
+		 * @param width the panel's width
+		 * @param height the panel's height
+		 */
+		public Builder (String title, int left, int top, int width, int height) {
+			this.title = title;
+			this.left = left;
+			this.top = top;
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 * Adds a label.
+		 *
+		 * @param text the label's text
+		 * @param left the label's x coordinate within the panel
+		 * @param top the label's y coordinate within the panel
+		 * @param width the label's width
+		 * @param height the label's height
+		 * @return this Builder
+		 */
+		public Builder label (String text, int left, int top, int width, int height) {
+			return add(LABEL, text, left, top, width, height);
+		}
+
+		/**
+		 * Adds a text field.
+		 *
+		 * @param left the field's x coordinate within the panel
+		 * @param top the field's y coordinate within the panel
+		 * @param width the field's width
+		 * @param height the field's height
+		 * @return this Builder
+		 */
+		public Builder textField (int left, int top, int width, int height) {
+			return add(TEXT_FIELD, null, left, top, width, height);
+		}
+
+		/**
+		 * Adds a text area.
+		 *
+		 * @param left the area's x coordinate within the panel
+		 * @param top the area's y coordinate within the panel
+		 * @param width the area's width
+		 * @param height the area's height
+		 * @return this Builder
+		 */
+		public Builder textArea (int left, int top, int width, int height) {
+			return add(TEXT_AREA, null, left, top, width, height);
+		}
+
+		/**
+		 * Adds a check box.
+		 *
+		 * @param text the check box's text, or null
+		 * @param left the check box's x coordinate within the panel
+		 * @param top the check box's y coordinate within the panel
+		 * @param width the check box's width
+		 * @param height the check box's height
+		 * @return this Builder
+		 */
+		public Builder checkBox (String text, int left, int top, int width, int height) {
+			return add(CHECK_BOX, text, left, top, width, height);
+		}
+
+		/**
+		 * Adds a radio button.
+		 *
+		 * @param text the radio button's text, or null
+		 * @param left the radio button's x coordinate within the panel
+		 * @param top the radio button's y coordinate within the panel
+		 * @param width the radio button's width
+		 * @param height the radio button's height
+		 * @return this Builder
+		 */
+		public Builder radioButton (String text, int left, int top, int width, int height) {
+			return add(RADIO_BUTTON, text, left, top, width, height);
+		}
+
+		/**
+		 * Adds a button.
+		 *
+		 * @param text the button's text, or null
+		 * @param left the button's x coordinate within the panel
+		 * @param top the button's y coordinate within the panel
+		 * @param width the button's width
+		 * @param height the button's height
+		 * @return this Builder
+		 */
+		public Builder button (String text, int left, int top, int width, int height) {
+			return add(BUTTON, text, left, top, width, height);
+		}
+
+		/**
+		 * Compiles the described layout against the given skin.
+		 *
+		 * @param skin the OxideSkin with which to decorate the form
+		 * @return the compiled OxideFormTemplate
+		 */
+		public OxideFormTemplate build (OxideSkin skin) {
+			return new OxideFormTemplate(this, skin);
+		}
+
+		/*
+		 * Adds a control of the given kind.
+		 */
+		private Builder add (int kind, String text, int left, int top, int width, int height) {
+
+			kinds.add(Integer.valueOf(kind));
+			texts.add(text);
+			bounds.add(Integer.valueOf(left));
+			bounds.add(Integer.valueOf(top));
+			bounds.add(Integer.valueOf(width));
+			bounds.add(Integer.valueOf(height));
+
+			return this;
+		}
+
+	}
+
+}
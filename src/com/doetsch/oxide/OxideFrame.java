@@ -1,531 +1,2449 @@
-package com.doetsch.oxide;
-
-import java.awt.Cursor;
-import java.awt.Dimension;
-import java.awt.EventQueue;
-import java.awt.Frame;
-import java.awt.Point;
-import java.awt.Rectangle;
-import java.awt.Toolkit;
-import java.awt.event.ActionEvent;
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionListener;
-
-import javax.swing.AbstractAction;
-import javax.swing.ImageIcon;
-import javax.swing.JFrame;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.UIManager;
-import javax.swing.border.LineBorder;
-
-/**
- * OxideFrame is a JFrame with custom decoration. OxideFrame
- * enforces the Oxide aesthetic to maintain aesthetic compatibility
- * with metal, Java's native look and feel. 
- * 
- * @author Jacob Wesley Doetsch
- */
-public class OxideFrame extends JFrame {
-	
-
-	/**
-	 * DragAnchorLabel is the implementation of a JLabel that acts as
-	 * a drag anchor point for the frame to allow the position of the 
-	 * frame to change by dragging.
-	 * 
-	 * @author Jacob Wesley Doetsch
-	 */
-	private class DragAnchorLabel extends JLabel {
-
-		/*
-		 * Generated serial ID to satisfy Serializable.
-		 */
-		private static final long serialVersionUID = -473202219857073619L;
-		
-		//The initial position of the cursor before dragging occurs
-		private Point dragAnchorLocation;
-		
-		/*
-		 * Creates a DragAnchorLabel instance with the label defines
-		 * by the given text.
-		 * 
-		 * @param text a String representation of the label's text
-		 */
-		private DragAnchorLabel () {
-			super();
-			
-			build();		
-		}
-		
-		/*
-		 * Adds the appropriate action listener components to handle and 
-		 * control the dragging action.
-		 */
-		private void build () {
-			
-			/*
-			 * Add an action  listener that sets the drag anchor point once dragging
-			 * is initiated by an initial mouse click
-			 */
-			this.addMouseListener(new MouseListener() {
-
-				public void mouseClicked (MouseEvent e) {
-				}
-
-				/*
-				 * Changes the cursor to a move cursor when the label is hovered over
-				 */
-				public void mouseEntered (MouseEvent e) {
-					setCursor(new Cursor(Cursor.MOVE_CURSOR));
-				}
-
-				public void mouseExited (MouseEvent e) {
-				}
-
-				/*
-				 * Record the mouse cursor's location with regards to view port
-				 */
-				public void mousePressed (MouseEvent e) {
-					dragAnchorLocation = e.getLocationOnScreen();
-				}
-
-				public void mouseReleased (MouseEvent e) {
-				}
-				
-			});
-			
-			
-			/*
-			 * Add an action listener that handles the drag action
-			 */
-			this.addMouseMotionListener(new MouseMotionListener() {
-
-				/*
-				 * Record the mouse cursor's current location as it is dragged, adding the
-				 * different between the current location and the anchor location to the 
-				 * position of the content pane.
-				 */
-				@Override
-				public void mouseDragged (MouseEvent e) {
-					
-					//Record the cursors current position with regards to the viewport
-					Point currentCursorLocation = e.getLocationOnScreen();
-					
-					/*
-					 * Add the different between the cursor's current position and the cursor's
-					 * previous position (the anchor point) to the content pane's position. The 
-					 * content pane's position respects the viewport directly, not it's parent 
-					 * panel (the decorationframe) nor the parent frame
-					 */
-					OxideFrame.this.contentPaneLeft += (currentCursorLocation.x - dragAnchorLocation.x);
-					OxideFrame.this.contentPaneTop += (currentCursorLocation.y - dragAnchorLocation.y);
-					
-					/*
-					 * Consider the current position as the future previous position by updating
-					 * the drag anchor point accordingly
-					 */
-					dragAnchorLocation.x = currentCursorLocation.x;
-					dragAnchorLocation.y = currentCursorLocation.y;
-					
-					/*
-					 * Resize/redraw the frame's decoration components with respect to the
-					 * content pane's new position.
-					 */
-					resizeFrame();
-				}
-
-				@Override
-				public void mouseMoved (MouseEvent arg0) {
-				}
-				
-			});			
-		}
-		
-	}
-	
-	
-	/*
-	 * Satisfies Serializable.
-	 */
-	private static final long serialVersionUID = -8324107253333263909L;
-		
-	/*
-	 * Frame pane/panel component
-	 */
-	private JPanel framePane;
-	private JPanel decorationPane;
-	private JPanel contentPane;
-	
-	/*
-	 * Title bar components
-	 */
-	private DragAnchorLabel titleLabel;
-	private OxideMenuButton minimizeButton;
-	private OxideMenuButton closeButton;
-	
-	/*
-	 * Declare and instantiate LabelHoverListener border
-	 */
-	//private LineBorder lineBorder = new LineBorder(bbbb.mouseHoverBorderColor);
-		
-	/*
-	 * Content pane dimensions
-	 */
-	private int contentPaneLeft = 300;
-	private int contentPaneTop = 100;
-	private int contentPaneWidth = 640;
-	private int contentPaneHeight = 380;
-	
-//	/*
-//	 * Decoration and frame border widths
-//	 */
-	private int decorationBorderWidth;
-	private int frameBorderWidth;
-//
-//	/*
-//	 * Height of the title
-//	 */
-	private int titleLabelHeight;
-
-	private boolean isParentFrame;
-	
-	private OxideSkin skin;
-	
-	/**
-	 * Creates an OxideFrame instance.
-	 * 
-	 * @param isParentFrame true if the OxideFrame should be considered a
-	 * parent frame which has a title label height (30px) and font different from
-	 * a child frame (18px).
-	 */
-	public OxideFrame (boolean isParentFrame, OxideSkin skin) {
-		super();
-		
-		this.isParentFrame = isParentFrame;
-		this.skin = skin;
-		
-		initFrame();
-		initBehavior();
-	}
-	
-	/*
-	 * Initializes and builds the Oxide frame's decoration
-	 */
-	private void initFrame () {
-		
-		titleLabelHeight = (isParentFrame ?
-				skin.getParentFrameTitleBarHeight() : skin.getChildFrameTitleBarHeight());
-		decorationBorderWidth = skin.getDecorationBorderWidth();
-		frameBorderWidth = skin.getFrameBorderWidth();
-		
-		super.setUndecorated(true);
-		super.setVisible(true);
-		
-		/*
-		 * Initialize and decorate the parent frame (window border)
-		 */
-		framePane = (JPanel) super.getContentPane();
-		framePane.setBackground(skin.getFrameBorderColor());
-		framePane.setLayout(null);
-		framePane.setOpaque(true);
-		
-		/*
-		 * Initialize and decorate the decoration panel
-		 */
-		decorationPane = new JPanel();
-		decorationPane.setBackground(skin.getDecorationBorderColor());
-		decorationPane.setLayout(null);
-		decorationPane.setOpaque(true);
-		framePane.add(decorationPane);
-		
-		
-		/*
-		 * Initialize decoration pane components
-		 */
-		{
-			/*
-			 * The title label
-			 */
-			titleLabel = new DragAnchorLabel();
-			titleLabel.setVerticalAlignment(JLabel.CENTER);
-			titleLabel.setFont((isParentFrame) ?
-					skin.getParentTitleFontFace() : skin.getChildTitleFontFace());
-			titleLabel.setForeground((isParentFrame) ?
-					skin.getParentTitleFontColor() : skin.getChildTitleFontColor());
-			titleLabel.setBackground(skin.getDecorationBorderColor());
-			titleLabel.setOpaque(true);
-			
-			/*
-			 * The minimize button
-			 */
-			minimizeButton = new OxideMenuButton("", skin);
-			minimizeButton.setIcon(new ImageIcon((isParentFrame ?
-					OxideFrame.class.getResource("resources/icons/minimize_icon_24x24.png") :
-						OxideFrame.class.getResource("resources/icons/minimize_icon_18x18.png"))));
-			minimizeButton.setOpaque(false);
-
-			
-			/*
-			 * Exit button
-			 */
-			closeButton = new OxideMenuButton("", skin);
-			closeButton.setIcon(new ImageIcon((isParentFrame ? 
-					OxideFrame.class.getResource("resources/icons/close_icon_24x24.png") :
-						OxideFrame.class.getResource("resources/icons/close_icon_18x18.png"))));
-			closeButton.setOpaque(false);
-			
-			
-			decorationPane.add(titleLabel);
-			decorationPane.add(minimizeButton);
-			decorationPane.add(closeButton);
-			
-		}
-		
-		/*
-		 * Initialize and decorate the content panel
-		 */
-		contentPane = new JPanel();
-		contentPane.setBackground(skin.getContentPanelColor());
-		contentPane.setLayout(null);
-		contentPane.setOpaque(true);
-		decorationPane.add(contentPane);
-		
-		/*
-		 * Draw the frame for the first time
-		 */
-		resizeFrame();
-		
-	}
-	
-	private void initBehavior () {
-		
-		/*
-		 * Define the default frame close button operation
-		 */
-		closeButton.setActionListener(new AbstractAction() {
-
-			/*
-			 * Disposes the frame when the close button is selected
-			 */
-			@Override
-			public void actionPerformed (ActionEvent e) {
-				OxideFrame.this.dispose();
-			}
-			
-		});
-		
-		/*
-		 * Define the default frame minimize operation
-		 */
-		minimizeButton.setActionListener(new AbstractAction() {
-
-			/*
-			 * Minimizes the frame when the minimize button is selected
-			 */
-			@Override
-			public void actionPerformed (ActionEvent arg0) {
-				OxideFrame.this.setExtendedState(JFrame.ICONIFIED);
-			}
-			
-		});
-		
-	}
-	
-	/**
-	 * Updates the location of the OxideFrame such that the frame appears
-	 * centered within the screen. 
-	 */
-	public void centerInViewport () {
-		Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
-		setBounds ((screenSize.width / 2) - (contentPaneWidth / 2),
-				(screenSize.height / 2) - (contentPaneHeight / 2),
-				contentPaneWidth, contentPaneHeight);
-	}
-	
-	/*
-	 * Resizes the decorating frame components with respect to the
-	 * content pane's dimensions as specified by setBounds(..).
-	 */
-	private void resizeFrame () {
-		
-		/*
-		 * Resize the parent frame
-		 */
-		super.setBounds(contentPaneLeft - decorationBorderWidth - frameBorderWidth,
-				contentPaneTop - (2 * decorationBorderWidth) - titleLabelHeight - frameBorderWidth,
-				contentPaneWidth + (2 * decorationBorderWidth) + (2 * frameBorderWidth),
-				contentPaneHeight + (3 * decorationBorderWidth) + titleLabelHeight + (2 * frameBorderWidth));
-		
-		/*
-		 * Resize and reposition the decoration pane
-		 */
-		decorationPane.setBounds(frameBorderWidth, frameBorderWidth,
-				contentPaneWidth + (2 * decorationBorderWidth),
-				contentPaneHeight + (3 * decorationBorderWidth) + titleLabelHeight);
-		
-		/*
-		 * Resize and reposition decoration pane components
-		 */
-		{
-			titleLabel.setBounds(0,	0,
-					contentPaneWidth - (2 * titleLabelHeight),
-					titleLabelHeight + (2 * decorationBorderWidth));
-			
-			minimizeButton.setBounds(contentPaneWidth - (2 * titleLabelHeight),
-					decorationBorderWidth,
-					titleLabelHeight, titleLabelHeight);
-			
-			closeButton.setBounds(contentPaneWidth + decorationBorderWidth - titleLabelHeight,
-					decorationBorderWidth,
-					titleLabelHeight, titleLabelHeight);		
-			
-		}
-		
-		/*
-		 * Resize and reposition the content pane
-		 */
-		contentPane.setBounds(decorationBorderWidth,
-				(2 * decorationBorderWidth) + titleLabelHeight,
-				contentPaneWidth, contentPaneHeight);
-		
-	}
-	
-	/**
-	 * Returns the content pane of the OxideFrame
-	 * 
-	 * @return a JPanel representation of the content pane
-	 */
-	@Override
-	public JPanel getContentPane () {
-		return contentPane;
-	}
-	
-	/**
-	 * Sets the location and dimensions of the content pane.
-	 * 
-	 * @param r a Rectangle representation of the x and y position
-	 * of the top-left corner of the frame's content pane and the
-	 * content pane's width and height 
-	 */
-	@Override
-	public void setBounds (Rectangle r) {
-		setBounds(r.x, r.y, r.width, r.height);
-	}
-	
-	/**
-	 * Sets the location and dimensions of the content pane.
-	 * 
-	 * @param left the new x position of the top-left corner of the frame's content pane
-	 * @param top the new y position of the top-left corner of the frame's content pane
-	 * @param contentPaneWidth the new width of the frame's content pane 
-	 * @param contentPaneHeight the new height of the frame's content pane
-	 */
-	@Override
-	public void setBounds (int left, int top,
-			int contentPaneWidth, int contentPaneHeight) {
-		
-		//super.setBounds(left, top, 400, 300);
-		
-		this.contentPaneLeft = left;
-		this.contentPaneTop = top;
-		this.contentPaneWidth = contentPaneWidth;
-		this.contentPaneHeight = contentPaneHeight;
-				
-		resizeFrame();		
-	}
-	
-	/**
-	 * Sets the frame's title text.
-	 * @param title a String representation of the title
-	 */
-	@Override
-	public void setTitle (String title) {
-		super.setTitle(title);
-		titleLabel.setText(" " + title);
-	}
-	
-	/**
-	 * Returns the frame's minimize button's behavior when pressed.
-	 * 
-	 * @return the AbstractAction defining the behavior
-	 */
-	public AbstractAction getMinimizeButtonBehavior () {
-		return minimizeButton.getActionListener();
-	}
-	
-	/**
-	 * Sets the frame's minimize button's behavior when pressed.
-	 * 
-	 * @param action the AbstractAction defining the behavior when the
-	 * button is pressed
-	 */
-	public void setMinimizeButtonBehavior (AbstractAction action) {
-		minimizeButton.setActionListener(action);		
-	}
-	
-	/**
-	 * Retur ns the frame's close button's behavior when pressed.
-	 * 
-	 * @return the AbstractAction defining the behavior
-	 */
-	public AbstractAction getCloseButtonBehavior () {
-		return closeButton.getActionListener();
-	}
-	
-	/**
-	 * Sets the frame's close button's behavior when pressed.
-	 * 
-	 * @param action the AbstractAction defining the behavior when the
-	 * button is pressed
-	 */
-	public void setCloseButtonBehavior (AbstractAction action) {
-		closeButton.setActionListener(action);
-	}
-	
-	/**
-	 * Returns the OxideSkin that is decorating the frame.
-	 * 
-	 * @return the OxideSkin that's decorating the frame
-	 */
-	public OxideSkin getOxideSkin () {
-		return this.skin;		
-	}
-	
-	/**
-	 * Sets the OxideSkin that will decorate the frame and it's components.
-	 * 
-	 * @param skin an OxideSkin that defines the palette with which
-	 * to decorate the frame and it's components
-	 */
-	public void setOxideSkin (OxideSkin skin) {
-		this.skin = skin;
-		initFrame();
-	}
-	
-	/**
-	 * Test case: instantiates a frame of default size (no setBounds() call) and
-	 * makes it visible.
-	 */
-	public static void main (String[] args) {
-		try {
-			UIManager.setLookAndFeel("javax.swing.plaf.metal.MetalLookAndFeel");
-		} catch (Throwable e) {
-			e.printStackTrace();
-		}
-		EventQueue.invokeLater(new Runnable() {
-			public void run () {
-				try {
-					OxideFrame frame = new OxideFrame(true, new OxideDefaultSkin());
-					frame.setTitle("Oxide Frame Title");
-					frame.centerInViewport();
-					//frame.setVisible(true);
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			}
-		});
-	}
-
-}
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.Frame;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowStateListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.AbstractAction;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import javax.swing.border.LineBorder;
+
+/**
+ * OxideFrame is a JFrame with custom decoration. OxideFrame
+ * enforces the Oxide aesthetic to maintain aesthetic compatibility
+ * with metal, Java's native look and feel. 
+ * 
+ * @author Jacob Wesley Doetsch
+ */
+public class OxideFrame extends JFrame {
+	
+	/**
+	 * Drag strategy that moves or resizes the frame itself on every drag
+	 * event.
+	 */
+	public static final int DRAG_LIVE = 0;
+	
+	/**
+	 * Drag strategy that moves or resizes an outline of the frame while
+	 * dragging and applies the final bounds to the frame on release.
+	 */
+	public static final int DRAG_OUTLINE = 1;
+	
+	/**
+	 * Drag strategy that moves or stretches an image of the frame, taken
+	 * when the drag begins, and applies the final bounds to the frame on
+	 * release.
+	 */
+	public static final int DRAG_SNAPSHOT = 2;
+	
+
+	/**
+	 * DragAnchorLabel is the implementation of a JLabel that acts as
+	 * a drag anchor point for the frame to allow the position of the 
+	 * frame to change by dragging.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class DragAnchorLabel extends JLabel {
+
+		/*
+		 * Generated serial ID to satisfy Serializable.
+		 */
+		private static final long serialVersionUID = -473202219857073619L;
+		
+		/*
+		 * Creates a DragAnchorLabel instance with the label defines
+		 * by the given text.
+		 * 
+		 * @param text a String representation of the label's text
+		 */
+		private DragAnchorLabel () {
+			super();
+			
+			build();		
+		}
+		
+		/*
+		 * Adds the appropriate action listener components to handle and 
+		 * control the dragging action.
+		 */
+		private void build () {
+			
+			/*
+			 * Add an action  listener that sets the drag anchor point once dragging
+			 * is initiated by an initial mouse click
+			 */
+			this.addMouseListener(new MouseListener() {
+
+				public void mouseClicked (MouseEvent e) {
+				}
+
+				/*
+				 * Changes the cursor to a move cursor when the label is hovered over
+				 */
+				public void mouseEntered (MouseEvent e) {
+					setCursor(new Cursor(Cursor.MOVE_CURSOR));
+				}
+
+				public void mouseExited (MouseEvent e) {
+				}
+
+				/*
+				 * Record the mouse cursor's location with regards to view port
+				 */
+				public void mousePressed (MouseEvent e) {
+					beginTitleDrag(e.getLocationOnScreen());
+				}
+
+				public void mouseReleased (MouseEvent e) {
+					endTitleDrag();
+				}
+				
+			});
+			
+			
+			/*
+			 * Add an action listener that handles the drag action
+			 */
+			this.addMouseMotionListener(new MouseMotionListener() {
+
+				/*
+				 * Move the frame along with the cursor as it is dragged
+				 */
+				@Override
+				public void mouseDragged (MouseEvent e) {
+					dragTitle(e.getLocationOnScreen());
+				}
+
+				@Override
+				public void mouseMoved (MouseEvent arg0) {
+				}
+				
+			});			
+		}
+		
+		/*
+		 * Drops the repaint request while the decoration is being
+		 * repositioned; the frame pane repaints the changed strips instead
+		 */
+		@Override
+		public void repaint (long tm, int x, int y, int width, int height) {
+			
+			if (!isRepaintSuppressed) {
+				super.repaint(tm, x, y, width, height);
+			}
+		}
+		
+	}
+	
+	/**
+	 * DecorationLayer is the single component that replaces the title
+	 * label, the title bar buttons and the decoration pane when the frame
+	 * paints its own decoration. It paints the decoration through an
+	 * OxideDecorationPainter and hit-tests the cursor to drag the frame
+	 * and to press the minimize and close buttons, whose behavior and
+	 * state are still held by the (undisplayed) OxideMenuButtons.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class DecorationLayer extends DecorationPanel {
+		
+		/*
+		 * Generated serial ID to satisfy Serializable.
+		 */
+		private static final long serialVersionUID = -6635212786050716233L;
+		
+		private OxideDecorationPainter painter;
+		private boolean isDragging;
+		
+		/*
+		 * Creates a DecorationLayer that paints with the frame's skin
+		 */
+		private DecorationLayer () {
+			super(DECORATION_PANE);
+			
+			painter = new OxideDecorationPainter(skin, isParentFrame);
+			build();
+		}
+		
+		/*
+		 * Adds the listeners that hit-test the cursor against the decoration.
+		 */
+		private void build () {
+			
+			MouseAdapter hitTester = new MouseAdapter() {
+				
+				/*
+				 * Start dragging from the title bar, or press a title bar button
+				 */
+				@Override
+				public void mousePressed (MouseEvent e) {
+					
+					switch (painter.hitTest(e.getX(), e.getY())) {
+					case OxideDecorationPainter.HIT_TITLE:
+						isDragging = true;
+						beginTitleDrag(e.getLocationOnScreen());
+						break;
+					case OxideDecorationPainter.HIT_MINIMIZE:
+						minimizeButton.doClick();
+						break;
+					case OxideDecorationPainter.HIT_CLOSE:
+						closeButton.doClick();
+						break;
+					}
+				}
+				
+				@Override
+				public void mouseReleased (MouseEvent e) {
+					if (isDragging) {
+						isDragging = false;
+						endTitleDrag();
+					}
+				}
+				
+				@Override
+				public void mouseDragged (MouseEvent e) {
+					if (isDragging) {
+						dragTitle(e.getLocationOnScreen());
+					}
+				}
+				
+				/*
+				 * Track the hovered button and show a move cursor over the title bar
+				 */
+				@Override
+				public void mouseMoved (MouseEvent e) {
+					
+					int hit = painter.hitTest(e.getX(), e.getY());
+					
+					setHoveredButton(hit == OxideDecorationPainter.HIT_MINIMIZE
+							|| hit == OxideDecorationPainter.HIT_CLOSE ?
+									hit : OxideDecorationPainter.HIT_NONE);
+					
+					/*
+					 * The border's resize cursors are left to the resize handle
+					 */
+					if (hit != OxideDecorationPainter.HIT_BORDER) {
+						setCursor(hit == OxideDecorationPainter.HIT_TITLE ?
+								Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR) : null);
+					}
+				}
+				
+				@Override
+				public void mouseExited (MouseEvent e) {
+					setHoveredButton(OxideDecorationPainter.HIT_NONE);
+				}
+				
+			};
+			
+			this.addMouseListener(hitTester);
+			this.addMouseMotionListener(hitTester);
+		}
+		
+		/*
+		 * Changes the hovered button, repainting only the buttons involved
+		 */
+		private void setHoveredButton (int hoveredButton) {
+			
+			int previous = painter.getHoveredButton();
+			
+			if (hoveredButton == previous) {
+				return;
+			}
+			
+			painter.setHoveredButton(hoveredButton);
+			repaintButton(previous);
+			repaintButton(hoveredButton);
+		}
+		
+		/*
+		 * Repaints the bounds of the given button
+		 */
+		private void repaintButton (int button) {
+			if (button == OxideDecorationPainter.HIT_MINIMIZE) {
+				repaint(painter.getMinimizeButtonBounds());
+			} else if (button == OxideDecorationPainter.HIT_CLOSE) {
+				repaint(painter.getCloseButtonBounds());
+			}
+		}
+		
+		/*
+		 * Paints the decoration; the content pane child paints itself
+		 */
+		@Override
+		protected void paintComponent (Graphics g) {
+			painter.paint(g, this, getGraphicsConfiguration());
+		}
+		
+	}
+	
+	/**
+	 * ResizeHandle resizes the frame when its left, right or bottom edge,
+	 * or one of its bottom corners, is dragged, using the frame's drag
+	 * strategy. It listens to the frame and decoration panes, whose exposed
+	 * areas are the frame's borders; the top edge is the title bar, which
+	 * moves the frame instead.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class ResizeHandle extends MouseAdapter {
+		
+		private int edges;
+		private Point anchorLocation;
+		private Rectangle startBounds;
+		
+		/*
+		 * Shows the resize cursor of the edges under the cursor
+		 */
+		@Override
+		public void mouseMoved (MouseEvent e) {
+			
+			Component component = e.getComponent();
+			int hoveredEdges = getEdgesAt(e);
+			
+			if (hoveredEdges != 0) {
+				component.setCursor(Cursor.getPredefinedCursor(getResizeCursor(hoveredEdges)));
+			} else if (isResizeCursor(component.getCursor())) {
+				component.setCursor(null);
+			}
+		}
+		
+		/*
+		 * Starts resizing if an edge was grabbed
+		 */
+		@Override
+		public void mousePressed (MouseEvent e) {
+			
+			edges = getEdgesAt(e);
+			
+			if (edges != 0) {
+				anchorLocation = e.getLocationOnScreen();
+				startBounds = getContentPaneBounds();
+				beginProxy();
+			}
+		}
+		
+		/*
+		 * Resizes the frame, or its proxy, by the cursor's movement since the
+		 * edge was grabbed, keeping the content pane at its minimum size
+		 */
+		@Override
+		public void mouseDragged (MouseEvent e) {
+			
+			if (edges == 0) {
+				return;
+			}
+			
+			Point cursorLocation = e.getLocationOnScreen();
+			int deltaX = cursorLocation.x - anchorLocation.x;
+			int deltaY = cursorLocation.y - anchorLocation.y;
+			int minimumWidth = 3 * titleLabelHeight;
+			int minimumHeight = titleLabelHeight;
+			Rectangle bounds = new Rectangle(startBounds);
+			
+			if ((edges & RESIZE_LEFT) != 0) {
+				bounds.width = Math.max(minimumWidth, startBounds.width - deltaX);
+				bounds.x = startBounds.x + startBounds.width - bounds.width;
+			}
+			
+			if ((edges & RESIZE_RIGHT) != 0) {
+				bounds.width = Math.max(minimumWidth, startBounds.width + deltaX);
+			}
+			
+			if ((edges & RESIZE_BOTTOM) != 0) {
+				bounds.height = Math.max(minimumHeight, startBounds.height + deltaY);
+			}
+			
+			if (dragProxy != null) {
+				moveProxy(bounds);
+			} else {
+				setBounds(bounds.x, bounds.y, bounds.width, bounds.height);
+			}
+		}
+		
+		/*
+		 * Finishes resizing, applying the proxy's bounds to the frame
+		 */
+		@Override
+		public void mouseReleased (MouseEvent e) {
+			
+			if (edges != 0) {
+				edges = 0;
+				
+				if (dragProxy != null) {
+					endProxy();
+				}
+			}
+		}
+		
+		/*
+		 * Returns the edges of the frame within the border width of the
+		 * event's location, excluding the title bar.
+		 */
+		private int getEdgesAt (MouseEvent e) {
+			
+			Point location = SwingUtilities.convertPoint(e.getComponent(), e.getPoint(), framePane);
+			int margin = decorationBorderWidth + frameBorderWidth;
+			int edgesAt = 0;
+			
+			if (location.y < frameBorderWidth + (2 * decorationBorderWidth) + titleLabelHeight) {
+				return 0;
+			}
+			
+			if (location.x < margin) {
+				edgesAt |= RESIZE_LEFT;
+			} else if (location.x >= framePane.getWidth() - margin) {
+				edgesAt |= RESIZE_RIGHT;
+			}
+			
+			if (location.y >= framePane.getHeight() - margin) {
+				edgesAt |= RESIZE_BOTTOM;
+			}
+			
+			return edgesAt;
+		}
+		
+		/*
+		 * Returns the cursor type for resizing the given edges.
+		 */
+		private int getResizeCursor (int edges) {
+			
+			switch (edges) {
+			case RESIZE_LEFT:
+				return Cursor.W_RESIZE_CURSOR;
+			case RESIZE_RIGHT:
+				return Cursor.E_RESIZE_CURSOR;
+			case RESIZE_LEFT | RESIZE_BOTTOM:
+				return Cursor.SW_RESIZE_CURSOR;
+			case RESIZE_RIGHT | RESIZE_BOTTOM:
+				return Cursor.SE_RESIZE_CURSOR;
+			default:
+				return Cursor.S_RESIZE_CURSOR;
+			}
+		}
+		
+		/*
+		 * Returns whether the given cursor is one set by the resize handle.
+		 */
+		private boolean isResizeCursor (Cursor cursor) {
+			
+			int type = cursor.getType();
+			
+			return (type == Cursor.W_RESIZE_CURSOR || type == Cursor.E_RESIZE_CURSOR
+					|| type == Cursor.S_RESIZE_CURSOR || type == Cursor.SW_RESIZE_CURSOR
+					|| type == Cursor.SE_RESIZE_CURSOR);
+		}
+		
+	}
+	
+	/**
+	 * Update is a group of changes applied to an OxideFrame within a
+	 * single update transaction.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 * @see OxideFrame#batch(Update)
+	 * @see OxideFrame#batch(Collection, Update)
+	 */
+	public interface Update {
+		
+		/**
+		 * Applies the changes to the given frame, whose layout, validation
+		 * and repaint are deferred until the update transaction ends.
+		 * 
+		 * @param frame the OxideFrame to update
+		 */
+		public void apply (OxideFrame frame);
+		
+	}
+	
+	/**
+	 * Builder collects the configuration of an OxideFrame (its title,
+	 * bounds, skin, parent or child mode and content) so that the frame
+	 * can be decorated and laid out once, with its final geometry, before
+	 * it is realized. A frame created with the OxideFrame constructor is
+	 * instead realized at the default bounds and then moved and resized
+	 * again by each subsequent setTitle, setBounds or centerInViewport
+	 * call.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	public static class Builder {
+		
+		private boolean isParentFrame = true;
+		private OxideSkin skin;
+		private String title;
+		private Rectangle bounds;
+		private boolean isCentered;
+		private boolean isVisible = true;
+		private boolean isDragCoalescing;
+		private int dragStrategy = DRAG_LIVE;
+		private boolean isPaintedDecoration;
+		private OxideWindowManager windowManager = OxideWindowManager.getDefault();
+		private OxideAnimator animator;
+		private boolean isButtonActionsAsynchronous;
+		private List<Component> content = new ArrayList<Component>();
+		
+		/**
+		 * Creates a Builder for a parent frame decorated with the given skin.
+		 * 
+		 * @param skin the OxideSkin with which to decorate the frame
+		 */
+		public Builder (OxideSkin skin) {
+			this.skin = skin;
+		}
+		
+		/**
+		 * Sets whether the frame is a parent or a child frame.
+		 * 
+		 * @param isParentFrame true if the frame is a parent frame
+		 * @return this Builder
+		 */
+		public Builder parentFrame (boolean isParentFrame) {
+			this.isParentFrame = isParentFrame;
+			return this;
+		}
+		
+		/**
+		 * Sets the OxideSkin that decorates the frame.
+		 * 
+		 * @param skin the OxideSkin with which to decorate the frame
+		 * @return this Builder
+		 */
+		public Builder skin (OxideSkin skin) {
+			this.skin = skin;
+			return this;
+		}
+		
+		/**
+		 * Sets the frame's title text.
+		 * 
+		 * @param title a String representation of the title
+		 * @return this Builder
+		 */
+		public Builder title (String title) {
+			this.title = title;
+			return this;
+		}
+		
+		/**
+		 * Sets the location and dimensions of the frame's content pane.
+		 * 
+		 * @param left the x position of the top-left corner of the content pane
+		 * @param top the y position of the top-left corner of the content pane
+		 * @param contentPaneWidth the width of the content pane
+		 * @param contentPaneHeight the height of the content pane
+		 * @return this Builder
+		 */
+		public Builder bounds (int left, int top, int contentPaneWidth, int contentPaneHeight) {
+			this.bounds = new Rectangle(left, top, contentPaneWidth, contentPaneHeight);
+			return this;
+		}
+		
+		/**
+		 * Sets the location and dimensions of the frame's content pane.
+		 * 
+		 * @param r a Rectangle representation of the content pane's bounds
+		 * @return this Builder
+		 */
+		public Builder bounds (Rectangle r) {
+			return bounds(r.x, r.y, r.width, r.height);
+		}
+		
+		/**
+		 * Sets whether the frame is centered within the screen, in which
+		 * case only the dimensions of the bounds are used.
+		 * 
+		 * @param isCentered true to center the frame
+		 * @return this Builder
+		 */
+		public Builder centered (boolean isCentered) {
+			this.isCentered = isCentered;
+			return this;
+		}
+		
+		/**
+		 * Sets whether the frame is realized and shown when it's built. A
+		 * frame that isn't shown is realized by its first setVisible(true)
+		 * call.
+		 * 
+		 * @param isVisible true to show the frame once built
+		 * @return this Builder
+		 */
+		public Builder visible (boolean isVisible) {
+			this.isVisible = isVisible;
+			return this;
+		}
+		
+		/**
+		 * Sets whether or not title bar drags are coalesced.
+		 * 
+		 * @param isDragCoalescing true to coalesce drag events
+		 * @return this Builder
+		 * @see OxideFrame#setDragCoalescingEnabled(boolean)
+		 */
+		public Builder dragCoalescing (boolean isDragCoalescing) {
+			this.isDragCoalescing = isDragCoalescing;
+			return this;
+		}
+		
+		/**
+		 * Sets how the frame is rendered while dragged or resized.
+		 * 
+		 * @param dragStrategy DRAG_LIVE, DRAG_OUTLINE or DRAG_SNAPSHOT
+		 * @return this Builder
+		 * @see OxideFrame#setDragStrategy(int)
+		 */
+		public Builder dragStrategy (int dragStrategy) {
+			this.dragStrategy = dragStrategy;
+			return this;
+		}
+		
+		/**
+		 * Sets whether the frame paints its own decoration. A frame with a
+		 * painted decoration replaces the decoration pane, title label and
+		 * title bar buttons with a single component that paints the border,
+		 * title bar, title text and button glyphs itself, caching the title
+		 * bar rendering, and hit-tests the cursor for dragging, minimizing
+		 * and closing.
+		 * 
+		 * @param isPaintedDecoration true to paint the decoration
+		 * @return this Builder
+		 */
+		public Builder paintedDecoration (boolean isPaintedDecoration) {
+			this.isPaintedDecoration = isPaintedDecoration;
+			return this;
+		}
+		
+		/**
+		 * Sets the OxideWindowManager that the frame registers with. By
+		 * default frames register with the default window manager.
+		 * 
+		 * @param windowManager the OxideWindowManager to register with, or
+		 * null to leave the frame unmanaged
+		 * @return this Builder
+		 * @see OxideWindowManager#getDefault()
+		 */
+		public Builder windowManager (OxideWindowManager windowManager) {
+			this.windowManager = windowManager;
+			return this;
+		}
+		
+		/**
+		 * Sets the OxideAnimator that animates the frame's minimize, restore
+		 * and skin transitions. By default the frame is not animated.
+		 * 
+		 * @param animator the OxideAnimator to animate with, or null to
+		 * change state immediately
+		 * @return this Builder
+		 * @see OxideFrame#setAnimator(OxideAnimator)
+		 */
+		public Builder animator (OxideAnimator animator) {
+			this.animator = animator;
+			return this;
+		}
+		
+		/**
+		 * Sets whether or not the minimize and close buttons run their
+		 * behaviors asynchronously. By default they run on the event
+		 * dispatch thread.
+		 * 
+		 * @param isAsynchronous true to run the button behaviors
+		 * asynchronously
+		 * @return this Builder
+		 * @see OxideFrame#setButtonActionsAsynchronous(boolean)
+		 */
+		public Builder asynchronousButtonActions (boolean isAsynchronous) {
+			this.isButtonActionsAsynchronous = isAsynchronous;
+			return this;
+		}
+		
+		/**
+		 * Adds a component to the frame's content pane. The content pane
+		 * has no layout manager, so the component's bounds should be set.
+		 * 
+		 * @param component the component to add
+		 * @return this Builder
+		 */
+		public Builder add (Component component) {
+			this.content.add(component);
+			return this;
+		}
+		
+		/**
+		 * Creates the configured OxideFrame, decorating and laying it out
+		 * once and then, if it's to be visible, realizing it.
+		 * 
+		 * @return the new OxideFrame instance
+		 */
+		public OxideFrame build () {
+			
+			OxideFrame frame = new OxideFrame(this);
+			
+			if (isVisible) {
+				frame.setVisible(true);
+			}
+			
+			return frame;
+		}
+		
+	}
+	
+	/**
+	 * MinimizeAnimation collapses the frame to its title bar before it is
+	 * iconified, or expands it back to its full height once restored.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class MinimizeAnimation implements OxideAnimator.Animation {
+		
+		private final boolean isMinimizing;
+		
+		private MinimizeAnimation (boolean isMinimizing) {
+			this.isMinimizing = isMinimizing;
+		}
+		
+		@Override
+		public void step (float progress) {
+			
+			int fullHeight = getWindowBounds(getContentPaneBounds()).height;
+			int collapsedHeight = fullHeight - contentPaneHeight;
+			float collapse = (isMinimizing ? progress : 1f - progress);
+			
+			setWindowHeight(Math.round(fullHeight - ((fullHeight - collapsedHeight) * collapse)));
+			
+			if (progress >= 1f) {
+				minimizeAnimation = null;
+				
+				if (isMinimizing) {
+					setExtendedState(JFrame.ICONIFIED);
+					setWindowHeight(fullHeight);
+				}
+			}
+		}
+		
+	}
+	
+	/**
+	 * SkinTransition blends the frame's colors towards those of a new skin
+	 * and applies the skin when it completes.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class SkinTransition implements OxideAnimator.Animation {
+		
+		private final OxideCompiledSkin target;
+		
+		/*
+		 * The colors the transition starts from, those of the current skin
+		 * since an interrupted transition is cancelled first
+		 */
+		private final Color frameBorderColor = framePane.getBackground();
+		private final Color decorationBorderColor = decorationPane.getBackground();
+		private final Color contentPanelColor = contentPane.getBackground();
+		private final Color titleColor = titleLabel.getForeground();
+		
+		private SkinTransition (OxideCompiledSkin target) {
+			this.target = target;
+		}
+		
+		@Override
+		public void step (float progress) {
+			
+			Color decorationColor = OxideAnimator.blend(decorationBorderColor,
+					target.getDecorationBorderColor(), progress);
+			
+			framePane.setBackground(OxideAnimator.blend(frameBorderColor,
+					target.getFrameBorderColor(), progress));
+			decorationPane.setBackground(decorationColor);
+			titleLabel.setBackground(decorationColor);
+			contentPane.setBackground(OxideAnimator.blend(contentPanelColor,
+					target.getContentPanelColor(), progress));
+			titleLabel.setForeground(OxideAnimator.blend(titleColor, (isParentFrame ?
+					target.getParentTitleFontColor() : target.getChildTitleFontColor()), progress));
+			
+			if (progress >= 1f) {
+				skinTransition = null;
+				setOxideSkin(target);
+			}
+		}
+		
+	}
+	
+	/**
+	 * DecorationPanel is the JPanel used for the frame's frame, decoration
+	 * and content panes. It drops its repaint requests while resizeFrame
+	 * repositions the decoration, which issues targeted repaints instead,
+	 * and when instrumentation is enabled it measures its own paint time
+	 * and counts its repaint requests.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class DecorationPanel extends JPanel {
+		
+		/*
+		 * Generated serial ID to satisfy Serializable.
+		 */
+		private static final long serialVersionUID = 4290147618213545870L;
+		
+		private int role;
+		
+		/*
+		 * Creates a DecorationPanel for the frame, decoration or content pane
+		 */
+		private DecorationPanel (int role) {
+			super();
+			
+			this.role = role;
+		}
+		
+		/*
+		 * Records the paint time of the panel. The decoration pane's time
+		 * excludes the time its child content pane spends painting.
+		 */
+		@Override
+		public void paint (Graphics g) {
+			
+			if (role == FRAME_PANE || !OxideInstrumentation.isEnabled()) {
+				super.paint(g);
+				return;
+			}
+			
+			if (role == DECORATION_PANE) {
+				nestedContentPaintNanos = 0;
+			}
+			
+			long start = System.nanoTime();
+			super.paint(g);
+			long elapsed = System.nanoTime() - start;
+			
+			if (role == CONTENT_PANE) {
+				nestedContentPaintNanos += elapsed;
+				metrics.recordContentPaint(elapsed);
+			} else {
+				metrics.recordDecorationPaint(elapsed - nestedContentPaintNanos);
+			}
+		}
+		
+		/*
+		 * Drops the repaint request while the decoration is being
+		 * repositioned, and otherwise counts it
+		 */
+		@Override
+		public void repaint (long tm, int x, int y, int width, int height) {
+			
+			if (isRepaintSuppressed) {
+				return;
+			}
+			
+			if (OxideInstrumentation.isEnabled()) {
+				metrics.recordRepaintRequest();
+			}
+			
+			super.repaint(tm, x, y, width, height);
+		}
+		
+	}
+	
+	/**
+	 * DecorationButton is the OxideMenuButton used for the frame's
+	 * minimize and close buttons. Like the DecorationPanels, it drops its
+	 * repaint requests while resizeFrame repositions the decoration.
+	 * 
+	 * @author Jacob Wesley Doetsch
+	 */
+	private class DecorationButton extends OxideMenuButton {
+		
+		/*
+		 * Generated serial ID to satisfy Serializable.
+		 */
+		private static final long serialVersionUID = -2385906725436318064L;
+		
+		/*
+		 * Creates a DecorationButton decorated with the frame's skin
+		 */
+		private DecorationButton () {
+			super("", skin);
+		}
+		
+		/*
+		 * Drops the repaint request while the decoration is being
+		 * repositioned
+		 */
+		@Override
+		public void repaint (long tm, int x, int y, int width, int height) {
+			
+			if (!isRepaintSuppressed) {
+				super.repaint(tm, x, y, width, height);
+			}
+		}
+		
+	}
+	
+	/*
+	 * Satisfies Serializable.
+	 */
+	private static final long serialVersionUID = -8324107253333263909L;
+	
+	/*
+	 * Roles of the frame's DecorationPanels
+	 */
+	private static final int FRAME_PANE = 0;
+	private static final int DECORATION_PANE = 1;
+	private static final int CONTENT_PANE = 2;
+	
+	/*
+	 * Interval of the shared drag timer; roughly one display frame
+	 */
+	private static final int DRAG_FRAME_INTERVAL = 16;
+	
+	/*
+	 * Frame edges grabbed by a resize
+	 */
+	private static final int RESIZE_LEFT = 1;
+	private static final int RESIZE_RIGHT = 2;
+	private static final int RESIZE_BOTTOM = 4;
+	
+	/*
+	 * Duration of the animated minimize and restore, in milliseconds
+	 */
+	private static final int MINIMIZE_DURATION = 150;
+	
+	/*
+	 * Frames with drag movement waiting to be applied, and the shared
+	 * timer that applies it. Both are only accessed on the EDT.
+	 */
+	private static final Set<OxideFrame> pendingDragFrames = new LinkedHashSet<OxideFrame>();
+	private static Timer dragTimer;
+		
+	/*
+	 * Frame pane/panel component
+	 */
+	private JPanel framePane;
+	private JPanel decorationPane;
+	private JPanel contentPane;
+	
+	/*
+	 * Title bar components
+	 */
+	private DragAnchorLabel titleLabel;
+	private OxideMenuButton minimizeButton;
+	private OxideMenuButton closeButton;
+	
+	/*
+	 * The single decoration component used instead of the decoration pane,
+	 * title label and buttons when the frame paints its own decoration
+	 */
+	private boolean isPaintedDecoration;
+	private DecorationLayer decorationLayer;
+	
+	//The initial position of the cursor before dragging occurs
+	private Point dragAnchorLocation;
+	
+	/*
+	 * The content pane location that the cursor has dragged the frame to,
+	 * before snapping
+	 */
+	private int dragLeft;
+	private int dragTop;
+	
+	/*
+	 * The drag strategy, the proxy standing in for the frame during an
+	 * outline or snapshot drag and the content pane bounds it will apply
+	 */
+	private int dragStrategy = DRAG_LIVE;
+	private OxideDragProxy dragProxy;
+	private Rectangle proxyContentPaneBounds;
+	
+	/*
+	 * Declare and instantiate LabelHoverListener border
+	 */
+	//private LineBorder lineBorder = new LineBorder(bbbb.mouseHoverBorderColor);
+		
+	/*
+	 * Content pane dimensions
+	 */
+	private int contentPaneLeft = 300;
+	private int contentPaneTop = 100;
+	private int contentPaneWidth = 640;
+	private int contentPaneHeight = 380;
+	
+//	/*
+//	 * Decoration and frame border widths
+//	 */
+	private int decorationBorderWidth;
+	private int frameBorderWidth;
+//
+//	/*
+//	 * Height of the title
+//	 */
+	private int titleLabelHeight;
+
+	private boolean isParentFrame;
+	
+	private OxideCompiledSkin skin;
+	
+	/*
+	 * Coalesced drag state: the accumulated cursor delta that has not
+	 * yet been applied, and counters of received and applied movement
+	 */
+	private boolean isDragCoalescing;
+	private boolean hasPendingDragMove;
+	private int pendingDragDeltaX;
+	private int pendingDragDeltaY;
+	private long dragEventCount;
+	private long coalescedDragEventCount;
+	private long dragMoveCount;
+	
+	/*
+	 * Instrumentation metrics, and the content pane paint time measured
+	 * while the decoration pane is painting its children
+	 */
+	private final OxideFrameMetrics metrics = new OxideFrameMetrics(this);
+	private long nestedContentPaintNanos;
+	
+	/*
+	 * The geometry of the last decoration layout, from which resizeFrame
+	 * works out what changed, and the total area it has asked to repaint
+	 */
+	private int laidOutContentPaneWidth = -1;
+	private int laidOutContentPaneHeight = -1;
+	private int laidOutDecorationBorderWidth = -1;
+	private int laidOutFrameBorderWidth = -1;
+	private int laidOutTitleLabelHeight = -1;
+	private boolean isRepaintSuppressed;
+	private long repaintedArea;
+	
+	/*
+	 * Update transaction state: the nesting depth, the skin in effect when
+	 * the outermost transaction began and the changes deferred until it
+	 * ends
+	 */
+	private int updateDepth;
+	private OxideCompiledSkin skinBeforeUpdate;
+	private boolean isLayoutPending;
+	private boolean isTitlePending;
+	
+	/*
+	 * The window manager the frame is registered with, if any
+	 */
+	private OxideWindowManager windowManager;
+	
+	/*
+	 * The animator of minimize, restore and skin transitions, if any, and
+	 * the transitions it is running
+	 */
+	private OxideAnimator animator;
+	private MinimizeAnimation minimizeAnimation;
+	private SkinTransition skinTransition;
+	
+	/**
+	 * Creates an OxideFrame instance.
+	 * 
+	 * @param isParentFrame true if the OxideFrame should be considered a
+	 * parent frame which has a title label height (30px) and font different from
+	 * a child frame (18px).
+	 * @param skin the OxideSkin with which to decorate the frame; the skin
+	 * is compiled into an immutable OxideCompiledSkin snapshot
+	 */
+	public OxideFrame (boolean isParentFrame, OxideSkin skin) {
+		super();
+		
+		this.isParentFrame = isParentFrame;
+		this.skin = OxideCompiledSkin.compile(skin);
+		
+		initFrame(true);
+		initBehavior();
+		
+		windowManager = OxideWindowManager.getDefault();
+		windowManager.register(this);
+	}
+	
+	/*
+	 * Creates an OxideFrame instance configured by the given builder. The
+	 * frame is decorated and laid out with the builder's final geometry
+	 * and content before it is realized.
+	 */
+	private OxideFrame (Builder builder) {
+		super();
+		
+		this.isParentFrame = builder.isParentFrame;
+		this.skin = OxideCompiledSkin.compile(builder.skin);
+		this.isDragCoalescing = builder.isDragCoalescing;
+		setDragStrategy(builder.dragStrategy);
+		this.isPaintedDecoration = builder.isPaintedDecoration;
+		this.animator = builder.animator;
+		
+		if (builder.bounds != null) {
+			this.contentPaneLeft = builder.bounds.x;
+			this.contentPaneTop = builder.bounds.y;
+			this.contentPaneWidth = builder.bounds.width;
+			this.contentPaneHeight = builder.bounds.height;
+		}
+		
+		if (builder.isCentered) {
+			Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+			this.contentPaneLeft = (screenSize.width / 2) - (contentPaneWidth / 2);
+			this.contentPaneTop = (screenSize.height / 2) - (contentPaneHeight / 2);
+		}
+		
+		initFrame(false);
+		initBehavior();
+		setButtonActionsAsynchronous(builder.isButtonActionsAsynchronous);
+		
+		if (builder.title != null) {
+			setTitle(builder.title);
+		}
+		
+		for (Component component : builder.content) {
+			contentPane.add(component);
+		}
+		
+		if (builder.windowManager != null) {
+			windowManager = builder.windowManager;
+			windowManager.register(this);
+		}
+	}
+	
+	/*
+	 * Initializes and builds the Oxide frame's decoration, realizing the
+	 * frame first if specified
+	 */
+	private void initFrame (boolean isRealized) {
+		
+		super.setUndecorated(true);
+		
+		if (isRealized) {
+			super.setVisible(true);
+		}
+		
+		/*
+		 * Initialize the parent frame (window border)
+		 */
+		framePane = new DecorationPanel(FRAME_PANE);
+		super.setContentPane(framePane);
+		framePane.setLayout(null);
+		framePane.setOpaque(true);
+		
+		/*
+		 * Initialize the decoration panel, which paints the whole decoration
+		 * itself in painted decoration mode
+		 */
+		if (isPaintedDecoration) {
+			decorationLayer = new DecorationLayer();
+			decorationPane = decorationLayer;
+		} else {
+			decorationPane = new DecorationPanel(DECORATION_PANE);
+		}
+		
+
+		decorationPane.setLayout(null);
+		decorationPane.setOpaque(true);
+		framePane.add(decorationPane);
+		
+		/*
+		 * The exposed parts of the frame and decoration panes are the
+		 * frame's borders, by which it is resized
+		 */
+		ResizeHandle resizeHandle = new ResizeHandle();
+		framePane.addMouseListener(resizeHandle);
+		framePane.addMouseMotionListener(resizeHandle);
+		decorationPane.addMouseListener(resizeHandle);
+		decorationPane.addMouseMotionListener(resizeHandle);
+		
+		
+		/*
+		 * Initialize decoration pane components
+		 */
+		{
+			/*
+			 * The title label
+			 */
+			titleLabel = new DragAnchorLabel();
+			titleLabel.setVerticalAlignment(JLabel.CENTER);
+			titleLabel.setOpaque(true);
+			
+			/*
+			 * The minimize button
+			 */
+			minimizeButton = new DecorationButton();
+			minimizeButton.setMetrics(metrics);
+			minimizeButton.setIcon(OxideIconCache.getIcon(isParentFrame ?
+					"resources/icons/minimize_icon_24x24.png" :
+						"resources/icons/minimize_icon_18x18.png"));
+			minimizeButton.setOpaque(false);
+
+			
+			/*
+			 * Exit button
+			 */
+			closeButton = new DecorationButton();
+			closeButton.setMetrics(metrics);
+			closeButton.setIcon(OxideIconCache.getIcon(isParentFrame ?
+					"resources/icons/close_icon_24x24.png" :
+						"resources/icons/close_icon_18x18.png"));
+			closeButton.setOpaque(false);
+			
+			
+			if (!isPaintedDecoration) {
+				decorationPane.add(titleLabel);
+				decorationPane.add(minimizeButton);
+				decorationPane.add(closeButton);
+			}
+			
+		}
+		
+		/*
+		 * Initialize the content panel
+		 */
+		contentPane = new DecorationPanel(CONTENT_PANE);
+		contentPane.setLayout(null);
+		contentPane.setOpaque(true);
+		decorationPane.add(contentPane);
+		
+		/*
+		 * Decorate and draw the frame for the first time
+		 */
+		applySkin(null);
+		
+	}
+	
+	/*
+	 * Decorates the existing frame components with the frame's skin. Only
+	 * the properties that differ from the given previous skin are changed;
+	 * a null previous skin decorates every component. The decoration is
+	 * only laid out again if the skin's border widths or title bar height
+	 * differ, and the frame is validated and repainted once at the end.
+	 */
+	private void applySkin (OxideCompiledSkin previous) {
+		
+		int newTitleLabelHeight = (isParentFrame ?
+				skin.getParentFrameTitleBarHeight() : skin.getChildFrameTitleBarHeight());
+		boolean isGeometryChanged = (previous == null)
+				|| (titleLabelHeight != newTitleLabelHeight)
+				|| (decorationBorderWidth != skin.getDecorationBorderWidth())
+				|| (frameBorderWidth != skin.getFrameBorderWidth());
+		
+		titleLabelHeight = newTitleLabelHeight;
+		decorationBorderWidth = skin.getDecorationBorderWidth();
+		frameBorderWidth = skin.getFrameBorderWidth();
+		
+		/*
+		 * Decorate the frame, decoration and content panels
+		 */
+		if (previous == null || previous.getFrameBorderColor() != skin.getFrameBorderColor()) {
+			framePane.setBackground(skin.getFrameBorderColor());
+		}
+		
+		if (previous == null || previous.getDecorationBorderColor() != skin.getDecorationBorderColor()) {
+			decorationPane.setBackground(skin.getDecorationBorderColor());
+			titleLabel.setBackground(skin.getDecorationBorderColor());
+		}
+		
+		if (previous == null || previous.getContentPanelColor() != skin.getContentPanelColor()) {
+			contentPane.setBackground(skin.getContentPanelColor());
+		}
+		
+		/*
+		 * Decorate the title label
+		 */
+		Font titleFont = (isParentFrame ?
+				skin.getParentTitleFontFace() : skin.getChildTitleFontFace());
+		Color titleColor = (isParentFrame ?
+				skin.getParentTitleFontColor() : skin.getChildTitleFontColor());
+		
+		if (titleLabel.getFont() != titleFont) {
+			titleLabel.setFont(titleFont);
+		}
+		
+		if (titleLabel.getForeground() != titleColor) {
+			titleLabel.setForeground(titleColor);
+		}
+		
+		/*
+		 * Decorate the title bar buttons
+		 */
+		minimizeButton.setOxideSkin(skin);
+		closeButton.setOxideSkin(skin);
+		
+		if (isPaintedDecoration) {
+			decorationLayer.painter.setSkin(skin);
+		}
+		
+		/*
+		 * Lay out the decoration only when its geometry has changed
+		 */
+		if (isGeometryChanged) {
+			resizeFrame();
+		}
+		
+		if (previous != null) {
+			framePane.validate();
+			framePane.repaint();
+		}
+		
+	}
+	
+	private void initBehavior () {
+		
+		/*
+		 * Define the default frame close button operation, which has no
+		 * background work so that it stays on the EDT when the buttons run
+		 * their behaviors asynchronously
+		 */
+		closeButton.setActionListener(new OxideAsyncAction<Void>() {
+
+			@Override
+			protected Void runInBackground () {
+				return null;
+			}
+			
+			/*
+			 * Disposes the frame when the close button is selected
+			 */
+			@Override
+			protected void done (Void result, Throwable error) {
+				OxideFrame.this.dispose();
+			}
+			
+		});
+		
+		/*
+		 * Define the default frame minimize operation
+		 */
+		minimizeButton.setActionListener(new OxideAsyncAction<Void>() {
+
+			@Override
+			protected Void runInBackground () {
+				return null;
+			}
+			
+			/*
+			 * Minimizes the frame when the minimize button is selected
+			 */
+			@Override
+			protected void done (Void result, Throwable error) {
+				minimize();
+			}
+			
+		});
+		
+		/*
+		 * Animate restoring the frame from the minimized state
+		 */
+		addWindowStateListener(new WindowStateListener() {
+
+			@Override
+			public void windowStateChanged (WindowEvent e) {
+				
+				if (animator != null && (e.getOldState() & Frame.ICONIFIED) != 0
+						&& (e.getNewState() & Frame.ICONIFIED) == 0) {
+					minimizeAnimation = new MinimizeAnimation(false);
+					minimizeAnimation.step(0f);
+					animator.start(minimizeAnimation, MINIMIZE_DURATION);
+				}
+			}
+			
+		});
+		
+	}
+	
+	/**
+	 * Minimizes the frame. When the frame is animated, the window first
+	 * collapses to its title bar and is restored to its full size, behind
+	 * the scenes, once iconified.
+	 * 
+	 * @see #setAnimator(OxideAnimator)
+	 */
+	public void minimize () {
+		
+		if (animator == null) {
+			setExtendedState(JFrame.ICONIFIED);
+			return;
+		}
+		
+		if (minimizeAnimation != null) {
+			animator.cancel(minimizeAnimation);
+		}
+		
+		minimizeAnimation = new MinimizeAnimation(true);
+		animator.start(minimizeAnimation, MINIMIZE_DURATION);
+	}
+	
+	/*
+	 * Completes the running minimize or restore animation at once: the
+	 * window gets its full height back and is iconified if it was being
+	 * minimized.
+	 */
+	private void finishMinimizeAnimation () {
+		
+		if (minimizeAnimation == null) {
+			return;
+		}
+		
+		boolean isMinimizing = minimizeAnimation.isMinimizing;
+		
+		animator.cancel(minimizeAnimation);
+		minimizeAnimation = null;
+		
+		if (isMinimizing) {
+			setExtendedState(JFrame.ICONIFIED);
+		}
+		
+		setWindowHeight(getWindowBounds(getContentPaneBounds()).height);
+	}
+	
+	/*
+	 * Sets the height of the window, leaving its location, width and the
+	 * decoration layout as they are, for the minimize and restore
+	 * animations.
+	 */
+	private void setWindowHeight (int height) {
+		Rectangle windowBounds = getWindowBounds(getContentPaneBounds());
+		super.setBounds(windowBounds.x, windowBounds.y, windowBounds.width, height);
+	}
+	
+	/**
+	 * Updates the location of the OxideFrame such that the frame appears
+	 * centered within the screen. 
+	 */
+	public void centerInViewport () {
+		Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+		setBounds ((screenSize.width / 2) - (contentPaneWidth / 2),
+				(screenSize.height / 2) - (contentPaneHeight / 2),
+				contentPaneWidth, contentPaneHeight);
+	}
+	
+	/*
+	 * Records the mouse cursor's location, with regards to the viewport,
+	 * at which a title bar drag starts.
+	 */
+	private void beginTitleDrag (Point cursorLocation) {
+		dragAnchorLocation = cursorLocation;
+		dragLeft = contentPaneLeft;
+		dragTop = contentPaneTop;
+		beginProxy();
+	}
+	
+	/*
+	 * Record the mouse cursor's current location as it is dragged, adding the
+	 * different between the current location and the anchor location to the 
+	 * position of the content pane.
+	 */
+	private void dragTitle (Point currentCursorLocation) {
+		
+		if (dragAnchorLocation == null) {
+			return;
+		}
+		
+		/*
+		 * With an outline or snapshot drag only the proxy follows the cursor
+		 */
+		if (dragProxy != null) {
+			dragLeft += (currentCursorLocation.x - dragAnchorLocation.x);
+			dragTop += (currentCursorLocation.y - dragAnchorLocation.y);
+			dragAnchorLocation.x = currentCursorLocation.x;
+			dragAnchorLocation.y = currentCursorLocation.y;
+			
+			Point location = snapDragLocation();
+			moveProxy(new Rectangle(location.x, location.y, contentPaneWidth, contentPaneHeight));
+			return;
+		}
+		
+		/*
+		 * In coalescing mode only accumulate the cursor's movement; the shared
+		 * drag timer applies it as a single window move per display frame
+		 */
+		if (isDragCoalescing) {
+			queueDragMove(currentCursorLocation.x - dragAnchorLocation.x,
+					currentCursorLocation.y - dragAnchorLocation.y);
+			
+			dragAnchorLocation.x = currentCursorLocation.x;
+			dragAnchorLocation.y = currentCursorLocation.y;
+			return;
+		}
+		
+		/*
+		 * Add the different between the cursor's current position and the cursor's
+		 * previous position (the anchor point) to the content pane's position. The 
+		 * content pane's position respects the viewport directly, not it's parent 
+		 * panel (the decorationframe) nor the parent frame
+		 */
+		dragLeft += (currentCursorLocation.x - dragAnchorLocation.x);
+		dragTop += (currentCursorLocation.y - dragAnchorLocation.y);
+		
+		Point location = snapDragLocation();
+		contentPaneLeft = location.x;
+		contentPaneTop = location.y;
+		
+		/*
+		 * Consider the current position as the future previous position by updating
+		 * the drag anchor point accordingly
+		 */
+		dragAnchorLocation.x = currentCursorLocation.x;
+		dragAnchorLocation.y = currentCursorLocation.y;
+		
+		/*
+		 * Resize/redraw the frame's decoration components with respect to the
+		 * content pane's new position.
+		 */
+		resizeFrame();
+	}
+	
+	/*
+	 * Returns the content pane location the cursor has dragged the frame
+	 * to, snapped to the edges of nearby frames by the window manager.
+	 */
+	private Point snapDragLocation () {
+		
+		if (windowManager == null) {
+			return new Point(dragLeft, dragTop);
+		}
+		
+		Rectangle windowBounds = getWindowBounds(
+				new Rectangle(dragLeft, dragTop, contentPaneWidth, contentPaneHeight));
+		Point location = windowManager.snap(this, windowBounds);
+		
+		return new Point(location.x + (dragLeft - windowBounds.x),
+				location.y + (dragTop - windowBounds.y));
+	}
+	
+	/*
+	 * Ends a title bar drag, applying any drag movement that is still waiting
+	 * on the drag timer so that the frame comes to rest exactly under the cursor,
+	 * or the bounds of the drag proxy
+	 */
+	private void endTitleDrag () {
+		
+		if (dragProxy != null) {
+			endProxy();
+		} else if (isDragCoalescing) {
+			applyPendingDragMove();
+		}
+	}
+	
+	/*
+	 * Returns the window bounds of the frame for the given content pane
+	 * bounds.
+	 */
+	private Rectangle getWindowBounds (Rectangle contentPaneBounds) {
+		return new Rectangle(contentPaneBounds.x - decorationBorderWidth - frameBorderWidth,
+				contentPaneBounds.y - (2 * decorationBorderWidth) - titleLabelHeight - frameBorderWidth,
+				contentPaneBounds.width + (2 * decorationBorderWidth) + (2 * frameBorderWidth),
+				contentPaneBounds.height + (3 * decorationBorderWidth) + titleLabelHeight
+						+ (2 * frameBorderWidth));
+	}
+	
+	/*
+	 * Shows the drag proxy over the frame if the drag strategy uses one.
+	 */
+	private void beginProxy () {
+		
+		if (dragStrategy == DRAG_LIVE || dragProxy != null) {
+			return;
+		}
+		
+		dragProxy = new OxideDragProxy(this, dragStrategy, skin.getMouseHoverBorderColor());
+		dragProxy.show(getBounds());
+		proxyContentPaneBounds = null;
+	}
+	
+	/*
+	 * Moves the drag proxy to where the frame would be with the given
+	 * content pane bounds.
+	 */
+	private void moveProxy (Rectangle contentPaneBounds) {
+		proxyContentPaneBounds = contentPaneBounds;
+		dragProxy.moveTo(getWindowBounds(contentPaneBounds));
+	}
+	
+	/*
+	 * Removes the drag proxy and moves the frame to where the proxy was
+	 * left, in a single layout.
+	 */
+	private void endProxy () {
+		
+		dragProxy.dispose();
+		dragProxy = null;
+		
+		if (proxyContentPaneBounds != null) {
+			Rectangle bounds = proxyContentPaneBounds;
+			proxyContentPaneBounds = null;
+			setBounds(bounds.x, bounds.y, bounds.width, bounds.height);
+		}
+	}
+	
+	/*
+	 * Accumulates the given cursor movement and registers the frame with
+	 * the shared drag timer, starting the timer if it is idle.
+	 */
+	private void queueDragMove (int deltaX, int deltaY) {
+		
+		dragEventCount++;
+		
+		/*
+		 * A movement that is still pending is superseded by this event
+		 */
+		if (hasPendingDragMove) {
+			coalescedDragEventCount++;
+		}
+		
+		pendingDragDeltaX += deltaX;
+		pendingDragDeltaY += deltaY;
+		hasPendingDragMove = true;
+		
+		pendingDragFrames.add(this);
+		
+		if (dragTimer == null) {
+			dragTimer = new Timer(DRAG_FRAME_INTERVAL, new AbstractAction() {
+				
+				/*
+				 * Applies the movement of every frame being dragged and stops
+				 * once no frame has movement left to apply
+				 */
+				@Override
+				public void actionPerformed (ActionEvent e) {
+					for (OxideFrame frame : new ArrayList<OxideFrame>(pendingDragFrames)) {
+						frame.applyPendingDragMove();
+					}
+					
+					if (pendingDragFrames.isEmpty()) {
+						dragTimer.stop();
+					}
+				}
+				
+			});
+			dragTimer.setCoalesce(true);
+		}
+		
+		if (!dragTimer.isRunning()) {
+			dragTimer.start();
+		}
+	}
+	
+	/*
+	 * Applies the accumulated drag movement, if any, by relocating the
+	 * top-level window only.
+	 */
+	private void applyPendingDragMove () {
+		
+		pendingDragFrames.remove(this);
+		
+		if (!hasPendingDragMove) {
+			return;
+		}
+		
+		dragLeft += pendingDragDeltaX;
+		dragTop += pendingDragDeltaY;
+		
+		Point location = snapDragLocation();
+		contentPaneLeft = location.x;
+		contentPaneTop = location.y;
+		pendingDragDeltaX = 0;
+		pendingDragDeltaY = 0;
+		hasPendingDragMove = false;
+		
+		dragMoveCount++;
+		moveFrame();
+	}
+	
+	/*
+	 * Relocates the top-level window with respect to the content pane's
+	 * position. The window's size is unchanged so none of the decoration
+	 * components are laid out again.
+	 */
+	private void moveFrame () {
+		super.setBounds(contentPaneLeft - decorationBorderWidth - frameBorderWidth,
+				contentPaneTop - (2 * decorationBorderWidth) - titleLabelHeight - frameBorderWidth,
+				getWidth(), getHeight());
+		
+		if (windowManager != null) {
+			windowManager.frameMoved(this);
+		}
+	}
+	
+	/*
+	 * Resizes the decorating frame components with respect to the
+	 * content pane's dimensions as specified by setBounds(..). Only the
+	 * geometry that changed since the last layout is applied: a move only
+	 * relocates the window, and a resize repositions the decoration with
+	 * its own repaints suppressed and then repaints just the strips of the
+	 * frame that changed.
+	 */
+	private void resizeFrame () {
+		
+		if (OxideInstrumentation.isEnabled()) {
+			metrics.recordResizeFrame();
+		}
+		
+		int frameWidth = contentPaneWidth + (2 * decorationBorderWidth) + (2 * frameBorderWidth);
+		int frameHeight = contentPaneHeight + (3 * decorationBorderWidth) + titleLabelHeight + (2 * frameBorderWidth);
+		
+		/*
+		 * Resize the parent frame
+		 */
+		super.setBounds(contentPaneLeft - decorationBorderWidth - frameBorderWidth,
+				contentPaneTop - (2 * decorationBorderWidth) - titleLabelHeight - frameBorderWidth,
+				frameWidth, frameHeight);
+		
+		if (windowManager != null) {
+			windowManager.frameMoved(this);
+		}
+		
+		boolean isMetricsChanged = (decorationBorderWidth != laidOutDecorationBorderWidth)
+				|| (frameBorderWidth != laidOutFrameBorderWidth)
+				|| (titleLabelHeight != laidOutTitleLabelHeight);
+		
+		if (!isMetricsChanged && contentPaneWidth == laidOutContentPaneWidth
+				&& contentPaneHeight == laidOutContentPaneHeight) {
+			return;
+		}
+		
+		/*
+		 * Reposition the decoration without the full-pane repaints that
+		 * setBounds would otherwise request
+		 */
+		isRepaintSuppressed = true;
+		
+		try {
+			layoutDecoration();
+		} finally {
+			isRepaintSuppressed = false;
+		}
+		
+		/*
+		 * Repaint only what changed: everything if the skin's metrics
+		 * changed, otherwise the vertical strip right of the narrower
+		 * width (the title bar buttons, the exposed content and the right
+		 * border) and the horizontal strip below the shorter height.
+		 */
+		Rectangle dirtyRegion;
+		
+		if (isMetricsChanged) {
+			dirtyRegion = new Rectangle(0, 0, frameWidth, frameHeight);
+		} else {
+			dirtyRegion = null;
+			
+			if (contentPaneWidth != laidOutContentPaneWidth) {
+				int titleWidth = Math.min(contentPaneWidth, laidOutContentPaneWidth) - (2 * titleLabelHeight);
+				
+				/*
+				 * A title label too narrow for its text elides it, in which case
+				 * the whole title is repainted
+				 */
+				int left = (isTitleElided(titleWidth) ? 0 : Math.max(frameBorderWidth + titleWidth, 0));
+				dirtyRegion = new Rectangle(left, 0, frameWidth - left, frameHeight);
+			}
+			
+			if (contentPaneHeight != laidOutContentPaneHeight) {
+				int top = frameBorderWidth + (2 * decorationBorderWidth) + titleLabelHeight
+						+ Math.min(contentPaneHeight, laidOutContentPaneHeight);
+				Rectangle strip = new Rectangle(0, top, frameWidth, frameHeight - top);
+				dirtyRegion = (dirtyRegion == null ? strip : dirtyRegion.union(strip));
+			}
+		}
+		
+		laidOutContentPaneWidth = contentPaneWidth;
+		laidOutContentPaneHeight = contentPaneHeight;
+		laidOutDecorationBorderWidth = decorationBorderWidth;
+		laidOutFrameBorderWidth = frameBorderWidth;
+		laidOutTitleLabelHeight = titleLabelHeight;
+		
+		repaintedArea += (long) dirtyRegion.width * dirtyRegion.height;
+		framePane.repaint(dirtyRegion);
+		
+	}
+	
+	/*
+	 * Returns whether the title label elides its text at the given width.
+	 */
+	private boolean isTitleElided (int titleWidth) {
+		return !isPaintedDecoration && titleLabel.getText() != null
+				&& titleLabel.getPreferredSize().width > titleWidth;
+	}
+	
+	/*
+	 * Sets the bounds of the decoration pane, its components and the
+	 * content pane.
+	 */
+	private void layoutDecoration () {
+		
+		/*
+		 * Resize and reposition the decoration pane
+		 */
+		decorationPane.setBounds(frameBorderWidth, frameBorderWidth,
+				contentPaneWidth + (2 * decorationBorderWidth),
+				contentPaneHeight + (3 * decorationBorderWidth) + titleLabelHeight);
+		
+		/*
+		 * Resize and reposition decoration pane components; a painted
+		 * decoration only needs the painter's geometry updated
+		 */
+		if (isPaintedDecoration) {
+			decorationLayer.painter.setContentSize(contentPaneWidth, contentPaneHeight);
+		} else {
+			titleLabel.setBounds(0,	0,
+					contentPaneWidth - (2 * titleLabelHeight),
+					titleLabelHeight + (2 * decorationBorderWidth));
+			
+			minimizeButton.setBounds(contentPaneWidth - (2 * titleLabelHeight),
+					decorationBorderWidth,
+					titleLabelHeight, titleLabelHeight);
+			
+			closeButton.setBounds(contentPaneWidth + decorationBorderWidth - titleLabelHeight,
+					decorationBorderWidth,
+					titleLabelHeight, titleLabelHeight);		
+			
+		}
+		
+		/*
+		 * Resize and reposition the content pane
+		 */
+		contentPane.setBounds(decorationBorderWidth,
+				(2 * decorationBorderWidth) + titleLabelHeight,
+				contentPaneWidth, contentPaneHeight);
+		
+	}
+	
+	/**
+	 * Returns the content pane of the OxideFrame
+	 * 
+	 * @return a JPanel representation of the content pane
+	 */
+	@Override
+	public JPanel getContentPane () {
+		return contentPane;
+	}
+	
+	/**
+	 * Sets the location and dimensions of the content pane.
+	 * 
+	 * @param r a Rectangle representation of the x and y position
+	 * of the top-left corner of the frame's content pane and the
+	 * content pane's width and height 
+	 */
+	@Override
+	public void setBounds (Rectangle r) {
+		setBounds(r.x, r.y, r.width, r.height);
+	}
+	
+	/**
+	 * Sets the location and dimensions of the content pane.
+	 * 
+	 * @param left the new x position of the top-left corner of the frame's content pane
+	 * @param top the new y position of the top-left corner of the frame's content pane
+	 * @param contentPaneWidth the new width of the frame's content pane 
+	 * @param contentPaneHeight the new height of the frame's content pane
+	 */
+	@Override
+	public void setBounds (int left, int top,
+			int contentPaneWidth, int contentPaneHeight) {
+		
+		//super.setBounds(left, top, 400, 300);
+		
+		this.contentPaneLeft = left;
+		this.contentPaneTop = top;
+		this.contentPaneWidth = contentPaneWidth;
+		this.contentPaneHeight = contentPaneHeight;
+		
+		if (updateDepth > 0) {
+			isLayoutPending = true;
+		} else {
+			resizeFrame();
+		}
+	}
+	
+	/**
+	 * Sets the frame's title text.
+	 * @param title a String representation of the title
+	 */
+	@Override
+	public void setTitle (String title) {
+		
+		/*
+		 * Skip the label relayout when the title is unchanged and already
+		 * displayed; a new frame's title is "" before its label shows it
+		 */
+		if (title != null && title.equals(getTitle()) && isTitleDisplayed(title)) {
+			return;
+		}
+		
+		super.setTitle(title);
+		
+		if (updateDepth > 0) {
+			isTitlePending = true;
+		} else {
+			applyTitle();
+		}
+	}
+	
+	/*
+	 * Returns whether the title label displays the given title, which it
+	 * shows after a leading space.
+	 */
+	private boolean isTitleDisplayed (String title) {
+		String text = titleLabel.getText();
+		return text != null && text.length() == title.length() + 1 && text.startsWith(title, 1);
+	}
+	
+	/*
+	 * Displays the frame's title text in the title bar.
+	 */
+	private void applyTitle () {
+		
+		String title = getTitle();
+		titleLabel.setText(" " + title);
+		
+		if (isPaintedDecoration) {
+			decorationLayer.painter.setTitle(title);
+			decorationLayer.repaint(decorationLayer.painter.getTitleBounds());
+		}
+	}
+	
+	/**
+	 * Returns the frame's minimize button's behavior when pressed.
+	 * 
+	 * @return the AbstractAction defining the behavior
+	 */
+	public AbstractAction getMinimizeButtonBehavior () {
+		return minimizeButton.getActionListener();
+	}
+	
+	/**
+	 * Sets the frame's minimize button's behavior when pressed.
+	 * 
+	 * @param action the AbstractAction defining the behavior when the
+	 * button is pressed
+	 */
+	public void setMinimizeButtonBehavior (AbstractAction action) {
+		minimizeButton.setActionListener(action);		
+	}
+	
+	/**
+	 * Retur ns the frame's close button's behavior when pressed.
+	 * 
+	 * @return the AbstractAction defining the behavior
+	 */
+	public AbstractAction getCloseButtonBehavior () {
+		return closeButton.getActionListener();
+	}
+	
+	/**
+	 * Sets the frame's close button's behavior when pressed.
+	 * 
+	 * @param action the AbstractAction defining the behavior when the
+	 * button is pressed
+	 */
+	public void setCloseButtonBehavior (AbstractAction action) {
+		closeButton.setActionListener(action);
+	}
+	
+	/**
+	 * Returns whether or not the minimize and close buttons run their
+	 * behaviors asynchronously.
+	 * 
+	 * @return true if the button behaviors run off the event dispatch thread
+	 */
+	public boolean isButtonActionsAsynchronous () {
+		return minimizeButton.isAsynchronous();
+	}
+	
+	/**
+	 * Sets whether or not the minimize and close buttons run their
+	 * behaviors asynchronously, on the OxideMenuButton action executor,
+	 * so that a slow behavior doesn't block the event dispatch thread.
+	 * Asynchronous behaviors must not touch realized Swing components
+	 * unless they are OxideAsyncActions, whose completion step runs on
+	 * the event dispatch thread. The default behaviors are such actions,
+	 * which minimize and dispose the frame in their completion step.
+	 * 
+	 * @param isAsynchronous true to run the button behaviors asynchronously
+	 * @see OxideMenuButton#setAsynchronous(boolean)
+	 */
+	public void setButtonActionsAsynchronous (boolean isAsynchronous) {
+		minimizeButton.setAsynchronous(isAsynchronous);
+		closeButton.setAsynchronous(isAsynchronous);
+	}
+	
+	/**
+	 * Returns the total area, in square pixels, that the frame has asked to
+	 * repaint after laying out its decoration. A resize that only changes
+	 * the content pane's width adds the area of a strip covering the title
+	 * bar buttons and the exposed part of the frame, and a move adds
+	 * nothing. The decoration components' own repaint requests, such as
+	 * those of the title label and buttons as they are moved, are dropped
+	 * during the layout, so this is all that a layout repaints; repaints
+	 * for other reasons, e.g. a new title or a hovered button, are not
+	 * counted.
+	 * 
+	 * @return the total repainted area
+	 */
+	public long getRepaintedArea () {
+		return repaintedArea;
+	}
+	
+	/**
+	 * Returns whether or not the frame is a parent frame, decorated with
+	 * the skin's parent frame title bar height and title font.
+	 * 
+	 * @return true if the frame is a parent frame, false if it is a child
+	 * frame
+	 */
+	public boolean isParentFrame () {
+		return isParentFrame;
+	}
+	
+	/**
+	 * Returns whether or not the frame paints its own decoration.
+	 * 
+	 * @return true if the decoration is painted by a single component
+	 * @see Builder#paintedDecoration(boolean)
+	 */
+	public boolean isPaintedDecoration () {
+		return isPaintedDecoration;
+	}
+	
+	/**
+	 * Returns the frame's instrumentation metrics. The metrics only advance
+	 * while OxideInstrumentation is enabled.
+	 * 
+	 * @return the frame's OxideFrameMetrics
+	 */
+	public OxideFrameMetrics getMetrics () {
+		return metrics;
+	}
+	
+	/**
+	 * Returns the OxideWindowManager that the frame is registered with.
+	 * 
+	 * @return the frame's OxideWindowManager, or null if it is unmanaged
+	 */
+	public OxideWindowManager getWindowManager () {
+		return windowManager;
+	}
+	
+	/**
+	 * Returns the OxideAnimator that animates the frame's transitions.
+	 * 
+	 * @return the frame's OxideAnimator, or null if it isn't animated
+	 */
+	public OxideAnimator getAnimator () {
+		return animator;
+	}
+	
+	/**
+	 * Sets the OxideAnimator that animates minimizing and restoring the
+	 * frame and the skin transitions started by
+	 * setOxideSkin(OxideSkin, long). Frames usually share
+	 * OxideAnimator.getDefault(), so that all of their animations are
+	 * stepped by a single timer.
+	 * 
+	 * @param animator the OxideAnimator to animate with, or null to
+	 * change state immediately
+	 */
+	public void setAnimator (OxideAnimator animator) {
+		
+		if (this.animator != null) {
+			finishMinimizeAnimation();
+			
+			if (skinTransition != null) {
+				this.animator.cancel(skinTransition);
+				skinTransition.step(1f);
+			}
+		}
+		
+		this.animator = animator;
+	}
+	
+	/**
+	 * Adds the given lightweight child frame to the content pane, in front
+	 * of the content pane's other components.
+	 * 
+	 * @param internalFrame the OxideInternalFrame to add
+	 */
+	public void addInternalFrame (OxideInternalFrame internalFrame) {
+		contentPane.add(internalFrame, 0);
+		internalFrame.repaint();
+	}
+	
+	/**
+	 * Returns the location and dimensions of the content pane, as last
+	 * set by setBounds(..) or by dragging the frame.
+	 * 
+	 * @return the content pane bounds in screen coordinates
+	 */
+	public Rectangle getContentPaneBounds () {
+		return new Rectangle(contentPaneLeft, contentPaneTop, contentPaneWidth, contentPaneHeight);
+	}
+	
+	/**
+	 * Releases the frame's native resources and removes it from its
+	 * window manager.
+	 */
+	@Override
+	public void dispose () {
+		
+		if (animator != null) {
+			finishMinimizeAnimation();
+			animator.cancel(skinTransition);
+		}
+		
+		super.dispose();
+		
+		if (windowManager != null) {
+			windowManager.unregister(this);
+		}
+	}
+	
+	/**
+	 * Counts the repaint request when instrumentation is enabled.
+	 */
+	@Override
+	public void repaint (long tm, int x, int y, int width, int height) {
+		
+		if (metrics != null && OxideInstrumentation.isEnabled()) {
+			metrics.recordRepaintRequest();
+		}
+		
+		super.repaint(tm, x, y, width, height);
+	}
+	
+	/**
+	 * Returns whether or not title bar drags are coalesced.
+	 * 
+	 * @return true if drag events are coalesced into at most one window
+	 * move per display frame
+	 */
+	public boolean isDragCoalescingEnabled () {
+		return isDragCoalescing;
+	}
+	
+	/**
+	 * Sets whether or not title bar drags are coalesced. When enabled,
+	 * dragging the title bar only records the latest cursor movement and
+	 * a timer shared by all frames relocates the window at most once per
+	 * display frame, without laying out the decoration components again.
+	 * 
+	 * @param isDragCoalescing true to coalesce drag events
+	 */
+	public void setDragCoalescingEnabled (boolean isDragCoalescing) {
+		
+		if (!isDragCoalescing) {
+			applyPendingDragMove();
+		}
+		
+		this.isDragCoalescing = isDragCoalescing;
+	}
+	
+	/**
+	 * Returns how the frame is rendered while dragged or resized.
+	 * 
+	 * @return DRAG_LIVE, DRAG_OUTLINE or DRAG_SNAPSHOT
+	 */
+	public int getDragStrategy () {
+		return dragStrategy;
+	}
+	
+	/**
+	 * Sets how the frame is rendered while dragged by its title bar or
+	 * resized by its left, right or bottom edge. DRAG_LIVE, the default,
+	 * moves and lays out the frame itself on every drag event. DRAG_OUTLINE
+	 * and DRAG_SNAPSHOT move a rubber-band outline or an image of the frame
+	 * instead, and move or resize the frame only once, when the mouse is
+	 * released. Drag coalescing only applies to live drags.
+	 * 
+	 * @param dragStrategy DRAG_LIVE, DRAG_OUTLINE or DRAG_SNAPSHOT
+	 */
+	public void setDragStrategy (int dragStrategy) {
+		
+		if (dragStrategy != DRAG_LIVE && dragStrategy != DRAG_OUTLINE
+				&& dragStrategy != DRAG_SNAPSHOT) {
+			throw new IllegalArgumentException("Unknown drag strategy: " + dragStrategy);
+		}
+		
+		this.dragStrategy = dragStrategy;
+	}
+	
+	/**
+	 * Returns the number of title bar drag events received while drag
+	 * coalescing was enabled.
+	 * 
+	 * @return the number of coalesced-mode drag events
+	 */
+	public long getDragEventCount () {
+		return dragEventCount;
+	}
+	
+	/**
+	 * Returns the number of title bar drag events that were superseded
+	 * by a later event before their movement was applied.
+	 * 
+	 * @return the number of coalesced drag events
+	 */
+	public long getCoalescedDragEventCount () {
+		return coalescedDragEventCount;
+	}
+	
+	/**
+	 * Returns the number of window moves applied by coalesced dragging.
+	 * 
+	 * @return the number of applied drag moves
+	 */
+	public long getDragMoveCount () {
+		return dragMoveCount;
+	}
+	
+	/**
+	 * Returns the OxideSkin that is decorating the frame.
+	 * 
+	 * @return the compiled OxideSkin that's decorating the frame
+	 */
+	public OxideSkin getOxideSkin () {
+		return this.skin;		
+	}
+	
+	/**
+	 * Sets the OxideSkin that will decorate the frame and it's components.
+	 * The existing decoration and content components are kept and only
+	 * the properties that differ between the current and the new skin
+	 * are changed.
+	 * 
+	 * @param skin an OxideSkin that defines the palette with which
+	 * to decorate the frame and it's components
+	 */
+	public void setOxideSkin (OxideSkin skin) {
+		
+		if (skinTransition != null) {
+			cancelSkinTransition();
+		}
+		
+		OxideCompiledSkin previous = this.skin;
+		this.skin = OxideCompiledSkin.compile(skin);
+		
+		if (this.skin != previous && updateDepth == 0) {
+			applySkin(previous);
+		}
+	}
+	
+	/*
+	 * Stops the running skin transition, returning the colors it has
+	 * blended to those of the current skin.
+	 */
+	private void cancelSkinTransition () {
+		
+		animator.cancel(skinTransition);
+		skinTransition = null;
+		
+		framePane.setBackground(skin.getFrameBorderColor());
+		decorationPane.setBackground(skin.getDecorationBorderColor());
+		titleLabel.setBackground(skin.getDecorationBorderColor());
+		contentPane.setBackground(skin.getContentPanelColor());
+		titleLabel.setForeground(isParentFrame ?
+				skin.getParentTitleFontColor() : skin.getChildTitleFontColor());
+	}
+	
+	/**
+	 * Changes the skin of the frame gradually, blending the frame border,
+	 * decoration, content pane and title colors from their current
+	 * values to the new skin's over the given duration and then applying
+	 * the new skin, with its fonts and geometry, as setOxideSkin(OxideSkin)
+	 * does. A painted decoration switches to the new skin at the end. A
+	 * transition in progress is cancelled first, returning the frame to
+	 * its current skin's colors. The skin is applied immediately if the
+	 * frame has no animator or an update transaction is in progress.
+	 * 
+	 * @param skin the OxideSkin to change to
+	 * @param durationMillis the duration of the transition in milliseconds
+	 * @see #setAnimator(OxideAnimator)
+	 */
+	public void setOxideSkin (OxideSkin skin, long durationMillis) {
+		
+		if (skinTransition != null) {
+			cancelSkinTransition();
+		}
+		
+		OxideCompiledSkin target = OxideCompiledSkin.compile(skin);
+		
+		if (animator == null || durationMillis <= 0 || updateDepth > 0 || target == this.skin) {
+			setOxideSkin(target);
+			return;
+		}
+		
+		skinTransition = new SkinTransition(target);
+		animator.start(skinTransition, durationMillis);
+	}
+	
+	/**
+	 * Begins an update transaction. Until the matching endUpdate() call,
+	 * setBounds, setTitle and setOxideSkin only record their changes; the
+	 * frame is laid out, validated and repainted once, when the outermost
+	 * transaction ends. Transactions may be nested.
+	 * 
+	 * @see #batch(Update)
+	 */
+	public void beginUpdate () {
+		
+		if (updateDepth == 0) {
+			skinBeforeUpdate = skin;
+		}
+		
+		updateDepth++;
+	}
+	
+	/**
+	 * Ends an update transaction, applying the recorded changes if it is
+	 * the outermost one.
+	 * 
+	 * @throws IllegalStateException if no update transaction is in progress
+	 */
+	public void endUpdate () {
+		
+		if (updateDepth == 0) {
+			throw new IllegalStateException("No update transaction in progress");
+		}
+		
+		if (--updateDepth > 0) {
+			return;
+		}
+		
+		OxideCompiledSkin previous = skinBeforeUpdate;
+		skinBeforeUpdate = null;
+		
+		/*
+		 * Re-skinning lays out the frame itself when the skin's geometry
+		 * changes, after which the pending layout finds nothing to do
+		 */
+		if (skin != previous) {
+			applySkin(previous);
+		}
+		
+		if (isTitlePending) {
+			isTitlePending = false;
+			applyTitle();
+		}
+		
+		if (isLayoutPending) {
+			isLayoutPending = false;
+			resizeFrame();
+		}
+	}
+	
+	/**
+	 * Returns whether or not an update transaction is in progress.
+	 * 
+	 * @return true if the frame's changes are currently being deferred
+	 */
+	public boolean isUpdating () {
+		return (updateDepth > 0);
+	}
+	
+	/**
+	 * Applies the given changes to the frame within a single update
+	 * transaction.
+	 * 
+	 * @param update the Update defining the changes
+	 * @see #beginUpdate()
+	 */
+	public void batch (Update update) {
+		
+		beginUpdate();
+		
+		try {
+			update.apply(this);
+		} finally {
+			endUpdate();
+		}
+	}
+	
+	/**
+	 * Applies the given changes to each of the given frames, with every
+	 * frame's layout, validation and repaint deferred until the changes
+	 * have been applied to all of them, in a single pass on the event
+	 * dispatch thread. If called from another thread then the batch is
+	 * posted to the event dispatch thread and this method returns
+	 * immediately.
+	 * 
+	 * @param frames the OxideFrames to update
+	 * @param update the Update defining the changes to each frame
+	 */
+	public static void batch (final Collection<? extends OxideFrame> frames, final Update update) {
+		
+		if (!EventQueue.isDispatchThread()) {
+			final List<OxideFrame> snapshot = new ArrayList<OxideFrame>(frames);
+			
+			EventQueue.invokeLater(new Runnable() {
+				public void run () {
+					batch(snapshot, update);
+				}
+			});
+			
+			return;
+		}
+		
+		List<OxideFrame> begun = new ArrayList<OxideFrame>(frames.size());
+		
+		try {
+			for (OxideFrame frame : frames) {
+				frame.beginUpdate();
+				begun.add(frame);
+			}
+			
+			for (OxideFrame frame : begun) {
+				update.apply(frame);
+			}
+		} finally {
+			for (OxideFrame frame : begun) {
+				frame.endUpdate();
+			}
+		}
+	}
+	
+	/**
+	 * Test case: instantiates a frame of default size (no setBounds() call) and
+	 * makes it visible.
+	 */
+	public static void main (String[] args) {
+		try {
+			UIManager.setLookAndFeel("javax.swing.plaf.metal.MetalLookAndFeel");
+		} catch (Throwable e) {
+			e.printStackTrace();
+		}
+		EventQueue.invokeLater(new Runnable() {
+			public void run () {
+				try {
+					OxideFrame frame = new OxideFrame.Builder(new OxideDefaultSkin())
+							.title("Oxide Frame Title")
+							.centered(true)
+							.build();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+
+}
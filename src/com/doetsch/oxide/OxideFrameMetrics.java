@@ -0,0 +1,220 @@
+package com.doetsch.oxide;
+
+/**
+ * OxideFrameMetrics holds the instrumentation counters of a single
+ * OxideFrame: the time spent painting its decoration and its content
+ * pane, the number of resizeFrame calls and repaint requests, and the
+ * time spent in its OxideMenuButton actions. The counters only advance
+ * while instrumentation is enabled.
+ *
+ * @see OxideInstrumentation
+ */
+public final class OxideFrameMetrics {
+
+	/*
+	 * The frame being measured, or null for a detached copy
+	 */
+	private final OxideFrame frame;
+	private final String title;
+
+	/*
+	 * Counters are written without synchronization on the event dispatch
+	 * thread and may be read from any thread; repaint requests made from
+	 * other threads may go uncounted
+	 */
+	private volatile long decorationPaintNanos;
+	private volatile long decorationPaintCount;
+	private volatile long contentPaintNanos;
+	private volatile long contentPaintCount;
+	private volatile long resizeFrameCount;
+	private volatile long repaintRequestCount;
+	private volatile long buttonActionNanos;
+	private volatile long buttonActionCount;
+
+	private boolean isRegistered;
+
+	/*
+	 * Creates the metrics of the given frame.
+	 */
+	OxideFrameMetrics (OxideFrame frame) {
+		this.frame = frame;
+		this.title = null;
+	}
+
+	/*
+	 * Creates a detached copy of the given metrics.
+	 */
+	private OxideFrameMetrics (OxideFrameMetrics metrics) {
+		this.frame = null;
+		this.title = metrics.getTitle();
+		this.decorationPaintNanos = metrics.decorationPaintNanos;
+		this.decorationPaintCount = metrics.decorationPaintCount;
+		this.contentPaintNanos = metrics.contentPaintNanos;
+		this.contentPaintCount = metrics.contentPaintCount;
+		this.resizeFrameCount = metrics.resizeFrameCount;
+		this.repaintRequestCount = metrics.repaintRequestCount;
+		this.buttonActionNanos = metrics.buttonActionNanos;
+		this.buttonActionCount = metrics.buttonActionCount;
+	}
+
+	/**
+	 * Returns a detached copy of the metrics that no longer advances.
+	 *
+	 * @return a copy of the current counter values
+	 */
+	public OxideFrameMetrics copy () {
+		return new OxideFrameMetrics(this);
+	}
+
+	/**
+	 * Returns the title of the measured frame.
+	 *
+	 * @return the frame's title, or the title at the time a copy was made
+	 */
+	public String getTitle () {
+		return (frame != null ? frame.getTitle() : title);
+	}
+
+	/**
+	 * Returns the total time spent painting the frame's decoration,
+	 * excluding the content pane.
+	 *
+	 * @return the decoration paint time in nanoseconds
+	 */
+	public long getDecorationPaintNanos () {
+		return decorationPaintNanos;
+	}
+
+	/**
+	 * Returns the number of times the frame's decoration was painted.
+	 *
+	 * @return the decoration paint count
+	 */
+	public long getDecorationPaintCount () {
+		return decorationPaintCount;
+	}
+
+	/**
+	 * Returns the total time spent painting the frame's content pane.
+	 *
+	 * @return the content pane paint time in nanoseconds
+	 */
+	public long getContentPaintNanos () {
+		return contentPaintNanos;
+	}
+
+	/**
+	 * Returns the number of times the frame's content pane was painted.
+	 *
+	 * @return the content pane paint count
+	 */
+	public long getContentPaintCount () {
+		return contentPaintCount;
+	}
+
+	/**
+	 * Returns the number of times the frame's decoration was laid out.
+	 *
+	 * @return the resizeFrame call count
+	 */
+	public long getResizeFrameCount () {
+		return resizeFrameCount;
+	}
+
+	/**
+	 * Returns the number of repaint requests made by the frame and its
+	 * decoration and content panes.
+	 *
+	 * @return the repaint request count
+	 */
+	public long getRepaintRequestCount () {
+		return repaintRequestCount;
+	}
+
+	/**
+	 * Returns the total time spent in the actions of the frame's
+	 * OxideMenuButtons.
+	 *
+	 * @return the button action time in nanoseconds
+	 */
+	public long getButtonActionNanos () {
+		return buttonActionNanos;
+	}
+
+	/**
+	 * Returns the number of OxideMenuButton actions performed.
+	 *
+	 * @return the button action count
+	 */
+	public long getButtonActionCount () {
+		return buttonActionCount;
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString () {
+		return getTitle() + ": decorationPaint=" + decorationPaintNanos + "ns/" + decorationPaintCount
+				+ " contentPaint=" + contentPaintNanos + "ns/" + contentPaintCount
+				+ " resizeFrame=" + resizeFrameCount
+				+ " repaintRequests=" + repaintRequestCount
+				+ " buttonActions=" + buttonActionNanos + "ns/" + buttonActionCount;
+	}
+
+	/*
+	 * Records a decoration paint.
+	 */
+	void recordDecorationPaint (long nanos) {
+		register();
+		decorationPaintNanos += nanos;
+		decorationPaintCount++;
+	}
+
+	/*
+	 * Records a content pane paint.
+	 */
+	void recordContentPaint (long nanos) {
+		register();
+		contentPaintNanos += nanos;
+		contentPaintCount++;
+	}
+
+	/*
+	 * Records a resizeFrame call.
+	 */
+	void recordResizeFrame () {
+		register();
+		resizeFrameCount++;
+	}
+
+	/*
+	 * Records a repaint request.
+	 */
+	void recordRepaintRequest () {
+		register();
+		repaintRequestCount++;
+	}
+
+	/*
+	 * Records a menu button action.
+	 */
+	void recordButtonAction (long nanos) {
+		register();
+		buttonActionNanos += nanos;
+		buttonActionCount++;
+	}
+
+	/*
+	 * Registers the metrics with OxideInstrumentation the first time
+	 * something is recorded, so that frames that are never measured
+	 * cost nothing.
+	 */
+	private void register () {
+		if (!isRegistered) {
+			isRegistered = true;
+			OxideInstrumentation.register(this);
+		}
+	}
+
+}
@@ -0,0 +1,386 @@
+package com.doetsch.oxide;
+
+import java.awt.Frame;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.swing.AbstractAction;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+/**
+ * OxideFramePool keeps a number of hidden, pre-built child OxideFrames
+ * ready to be handed out, so that opening a child window doesn't pay
+ * for peer creation, icon loading and building the decoration
+ * hierarchy. Frames are built one at a time while the event queue is
+ * idle, are reset with a new title, bounds and an empty content pane
+ * when acquired, and are taken back by the pool when their close
+ * button is pressed instead of being disposed.
+ *
+ * When a frame is taken back, the pool restores the state callers are
+ * expected to change: the content pane is emptied and its layout
+ * manager removed, the skin, the close and minimize button behaviors
+ * and their synchronous execution, the drag strategy and drag
+ * coalescing are restored, and the animator is removed. Callers must
+ * not otherwise change an acquired frame in ways that outlive its use,
+ * e.g. by adding listeners to the window, its buttons or its content
+ * pane, changing the default close operation or registering it with
+ * another window manager, since the next caller to acquire the frame
+ * would inherit those changes.
+ *
+ * An OxideFramePool must only be used on the event dispatch thread.
+ */
+public class OxideFramePool {
+
+	/*
+	 * Interval at which the pool checks for idle time to pre-build frames
+	 * and trims frames that have been idle for too long
+	 */
+	private static final int MAINTENANCE_INTERVAL = 50;
+
+	/*
+	 * Pool configuration
+	 */
+	private final OxideCompiledSkin skin;
+	private final int targetSize;
+	private final int capacity;
+	private final long idleTimeoutMillis;
+
+	/*
+	 * Idle frames, most recently released last, along with the time at
+	 * which each was returned to the pool
+	 */
+	private final Deque<OxideFrame> idleFrames = new ArrayDeque<OxideFrame>();
+	private final Map<OxideFrame, Long> idleSince = new IdentityHashMap<OxideFrame, Long>();
+
+	private final Timer maintenanceTimer;
+	private boolean isShutdown;
+
+	/*
+	 * Pool metrics
+	 */
+	private long hitCount;
+	private long missCount;
+	private long openTimeNanos;
+	private long builtCount;
+	private long trimmedCount;
+
+	/**
+	 * Creates an OxideFramePool of child frames decorated with the given
+	 * skin. The pool doesn't build any frames until it's started.
+	 *
+	 * @param skin the OxideSkin with which to decorate pooled frames
+	 * @param targetSize the number of idle frames to pre-build
+	 * @param capacity the maximum number of idle frames the pool holds;
+	 * frames released while the pool is full are disposed
+	 * @param idleTimeoutMillis the time after which idle frames in excess
+	 * of the target size are disposed
+	 */
+	public OxideFramePool (OxideSkin skin, int targetSize, int capacity, long idleTimeoutMillis) {
+
+		if (targetSize < 0 || capacity < targetSize) {
+			throw new IllegalArgumentException("Expected 0 <= targetSize <= capacity");
+		}
+
+		this.skin = OxideCompiledSkin.compile(skin);
+		this.targetSize = targetSize;
+		this.capacity = capacity;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+
+		maintenanceTimer = new Timer(MAINTENANCE_INTERVAL, new AbstractAction() {
+
+			/*
+			 * Pre-builds a frame if the event queue is idle and trims
+			 * frames that have been idle for too long
+			 */
+			@Override
+			public void actionPerformed (ActionEvent e) {
+				prewarm();
+				trim();
+			}
+
+		});
+	}
+
+	/**
+	 * Starts pre-building frames during event queue idle time.
+	 */
+	public void start () {
+		isShutdown = false;
+		maintenanceTimer.start();
+	}
+
+	/**
+	 * Stops pre-building frames and disposes every idle frame. Frames that
+	 * are currently acquired are unaffected, but are disposed rather than
+	 * pooled when closed.
+	 */
+	public void shutdown () {
+
+		maintenanceTimer.stop();
+		isShutdown = true;
+
+		for (OxideFrame frame : idleFrames) {
+			frame.dispose();
+		}
+
+		idleFrames.clear();
+		idleSince.clear();
+	}
+
+	/**
+	 * Hands out a visible child frame with the given title and content
+	 * pane bounds, taking an idle frame from the pool if one is available
+	 * and building a new frame otherwise.
+	 *
+	 * @param title the frame's title text
+	 * @param left the x position of the top-left corner of the frame's content pane
+	 * @param top the y position of the top-left corner of the frame's content pane
+	 * @param contentPaneWidth the width of the frame's content pane
+	 * @param contentPaneHeight the height of the frame's content pane
+	 * @return the acquired OxideFrame
+	 */
+	public OxideFrame acquire (String title, int left, int top,
+			int contentPaneWidth, int contentPaneHeight) {
+
+		long start = System.nanoTime();
+		OxideFrame frame = idleFrames.pollLast();
+
+		if (frame != null) {
+			idleSince.remove(frame);
+			hitCount++;
+		} else {
+			frame = buildFrame();
+			missCount++;
+		}
+
+		frame.setTitle(title);
+		frame.setBounds(left, top, contentPaneWidth, contentPaneHeight);
+		frame.setExtendedState(Frame.NORMAL);
+		frame.setVisible(true);
+
+		openTimeNanos += System.nanoTime() - start;
+
+		return frame;
+	}
+
+	/**
+	 * Takes back the given frame, hiding it and restoring the state the
+	 * pool builds frames with. The frame is disposed instead if the pool
+	 * is full or shut down.
+	 *
+	 * @param frame the OxideFrame to return to the pool
+	 */
+	public void release (OxideFrame frame) {
+
+		if (idleSince.containsKey(frame)) {
+			return;
+		}
+
+		frame.setVisible(false);
+
+		if (isShutdown || idleFrames.size() >= capacity) {
+			frame.dispose();
+			return;
+		}
+
+		reset(frame);
+
+		idleFrames.addLast(frame);
+		idleSince.put(frame, System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns the number of idle frames held by the pool.
+	 *
+	 * @return the number of idle frames
+	 */
+	public int getIdleCount () {
+		return idleFrames.size();
+	}
+
+	/**
+	 * Returns the number of acquisitions served by an idle frame.
+	 *
+	 * @return the pool hit count
+	 */
+	public long getHitCount () {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of acquisitions that had to build a new frame.
+	 *
+	 * @return the pool miss count
+	 */
+	public long getMissCount () {
+		return missCount;
+	}
+
+	/**
+	 * Returns the fraction of acquisitions served by an idle frame.
+	 *
+	 * @return the pool hit rate between 0 and 1
+	 */
+	public double getHitRate () {
+		long acquireCount = hitCount + missCount;
+		return (acquireCount == 0 ? 0 : (double) hitCount / acquireCount);
+	}
+
+	/**
+	 * Returns the average time taken by acquire(..) to open a frame.
+	 *
+	 * @return the average time to open in nanoseconds
+	 */
+	public long getAverageOpenTimeNanos () {
+		long acquireCount = hitCount + missCount;
+		return (acquireCount == 0 ? 0 : openTimeNanos / acquireCount);
+	}
+
+	/**
+	 * Returns the number of frames pre-built during idle time.
+	 *
+	 * @return the number of pre-built frames
+	 */
+	public long getBuiltCount () {
+		return builtCount;
+	}
+
+	/**
+	 * Returns the number of idle frames disposed by idle trimming.
+	 *
+	 * @return the number of trimmed frames
+	 */
+	public long getTrimmedCount () {
+		return trimmedCount;
+	}
+
+	/*
+	 * Builds one idle frame if the pool is below its target size and no
+	 * events are waiting to be dispatched.
+	 */
+	private void prewarm () {
+
+		if (idleFrames.size() >= targetSize
+				|| Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null) {
+			return;
+		}
+
+		OxideFrame frame = buildFrame();
+
+		/*
+		 * Create the native peer now rather than when the frame is shown
+		 */
+		frame.addNotify();
+		builtCount++;
+
+		idleFrames.addLast(frame);
+		idleSince.put(frame, System.currentTimeMillis());
+	}
+
+	/*
+	 * Disposes the oldest idle frames in excess of the target size once
+	 * they have been idle for longer than the idle timeout.
+	 */
+	private void trim () {
+
+		long now = System.currentTimeMillis();
+		Iterator<OxideFrame> frames = idleFrames.iterator();
+
+		while (idleFrames.size() > targetSize && frames.hasNext()) {
+			OxideFrame frame = frames.next();
+
+			if (now - idleSince.get(frame) < idleTimeoutMillis) {
+				break;
+			}
+
+			frames.remove();
+			idleSince.remove(frame);
+			frame.dispose();
+			trimmedCount++;
+		}
+	}
+
+	/*
+	 * Builds a hidden child frame whose close button returns it to the pool.
+	 */
+	private OxideFrame buildFrame () {
+
+		OxideFrame frame = new OxideFrame.Builder(skin)
+				.parentFrame(false)
+				.visible(false)
+				.build();
+
+		resetBehavior(frame);
+
+		return frame;
+	}
+
+	/*
+	 * Restores the given released frame to the state the pool builds
+	 * frames with.
+	 */
+	private void reset (OxideFrame frame) {
+
+		JPanel contentPane = frame.getContentPane();
+		contentPane.removeAll();
+		contentPane.setLayout(null);
+
+		frame.setOxideSkin(skin);
+		frame.setAnimator(null);
+		frame.setDragStrategy(OxideFrame.DRAG_LIVE);
+		frame.setDragCoalescingEnabled(false);
+		frame.setButtonActionsAsynchronous(false);
+
+		resetBehavior(frame);
+	}
+
+	/*
+	 * Sets the given frame's close button to return it to the pool and its
+	 * minimize button to minimize it, as by default. Like the defaults, the
+	 * behaviors act in their completion step, which stays on the event
+	 * dispatch thread if the buttons are made asynchronous.
+	 */
+	private void resetBehavior (final OxideFrame frame) {
+
+		frame.setCloseButtonBehavior(new OxideAsyncAction<Void>() {
+
+			@Override
+			protected Void runInBackground () {
+				return null;
+			}
+
+			/*
+			 * Returns the frame to the pool when the close button is selected
+			 */
+			@Override
+			protected void done (Void result, Throwable error) {
+				release(frame);
+			}
+
+		});
+
+		frame.setMinimizeButtonBehavior(new OxideAsyncAction<Void>() {
+
+			@Override
+			protected Void runInBackground () {
+				return null;
+			}
+
+			/*
+			 * Minimizes the frame when the minimize button is selected
+			 */
+			@Override
+			protected void done (Void result, Throwable error) {
+				frame.minimize();
+			}
+
+		});
+	}
+
+}
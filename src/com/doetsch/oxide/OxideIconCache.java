@@ -0,0 +1,221 @@
+package com.doetsch.oxide;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * OxideIconCache is a process-wide cache of the icons used to decorate
+ * Oxide components. Each icon resource is decoded once, the first time
+ * it is requested, and the resulting ImageIcon is shared by every
+ * OxideFrame and OxideMenuButton that displays it. Scaled variants,
+ * such as those needed on HiDPI displays, are derived from the decoded
+ * image and cached alongside it.
+ *
+ * Resource names are resolved relative to the com.doetsch.oxide
+ * package, e.g. "resources/icons/close_icon_24x24.png".
+ */
+public final class OxideIconCache {
+
+	/*
+	 * Cached icons keyed by resource name and size
+	 */
+	private static final ConcurrentHashMap<String, ImageIcon> icons =
+			new ConcurrentHashMap<String, ImageIcon>();
+
+	/*
+	 * Cache statistics
+	 */
+	private static final AtomicLong hitCount = new AtomicLong();
+	private static final AtomicLong missCount = new AtomicLong();
+	private static final AtomicLong decodedBytes = new AtomicLong();
+
+	/*
+	 * OxideIconCache is not instantiable.
+	 */
+	private OxideIconCache () {
+
+	}
+
+	/**
+	 * Returns the icon of the given resource at its natural size.
+	 *
+	 * @param resource the name of the icon's image resource
+	 * @return the shared ImageIcon instance
+	 * @throws IllegalArgumentException if the resource doesn't exist or
+	 * can't be decoded
+	 */
+	public static ImageIcon getIcon (String resource) {
+		return getIcon(resource, 0);
+	}
+
+	/**
+	 * Returns the icon of the given resource scaled to the given size.
+	 * The natural-size image is decoded once and every scaled variant
+	 * is derived from it.
+	 *
+	 * @param resource the name of the icon's image resource
+	 * @param size the width and height of the icon in pixels, or 0 for
+	 * the image's natural size
+	 * @return the shared ImageIcon instance
+	 * @throws IllegalArgumentException if the resource doesn't exist or
+	 * can't be decoded
+	 */
+	public static ImageIcon getIcon (final String resource, final int size) {
+
+		String key = resource + "@" + size;
+		ImageIcon icon = icons.get(key);
+
+		if (icon != null) {
+			hitCount.incrementAndGet();
+			return icon;
+		}
+
+		/*
+		 * Resolve the natural-size image first: the mapping function must not
+		 * update the cache itself
+		 */
+		final BufferedImage image = (size == 0 ? null : getImage(resource));
+
+		/*
+		 * Decode or scale under the key's lock so that threads requesting the
+		 * same icon at the same time wait for a single decode, and are then
+		 * served from the cache
+		 */
+		final boolean[] isMiss = new boolean[1];
+
+		icon = icons.computeIfAbsent(key, new Function<String, ImageIcon>() {
+
+			@Override
+			public ImageIcon apply (String key) {
+				isMiss[0] = true;
+				return new ImageIcon(size == 0 ? decode(resource) : scale(image, size));
+			}
+
+		});
+
+		if (isMiss[0]) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+
+		return icon;
+	}
+
+	/**
+	 * Returns the number of icon requests that were served from the cache.
+	 *
+	 * @return the cache hit count
+	 */
+	public static long getHitCount () {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the number of icon requests that required an icon to be
+	 * decoded or scaled.
+	 *
+	 * @return the cache miss count
+	 */
+	public static long getMissCount () {
+		return missCount.get();
+	}
+
+	/**
+	 * Returns the number of bytes of image data that were decoded or
+	 * scaled to populate the cache.
+	 *
+	 * @return the number of decoded bytes
+	 */
+	public static long getDecodedBytes () {
+		return decodedBytes.get();
+	}
+
+	/**
+	 * Returns the number of icons currently held by the cache.
+	 *
+	 * @return the number of cached icons
+	 */
+	public static int size () {
+		return icons.size();
+	}
+
+	/**
+	 * Removes every icon from the cache and resets its statistics. Icons
+	 * that are already displayed are unaffected.
+	 */
+	public static void clear () {
+		icons.clear();
+		hitCount.set(0);
+		missCount.set(0);
+		decodedBytes.set(0);
+	}
+
+	/*
+	 * Returns the natural-size image of the given resource, decoding it
+	 * if it isn't cached yet.
+	 */
+	private static BufferedImage getImage (String resource) {
+		return (BufferedImage) getIcon(resource).getImage();
+	}
+
+	/*
+	 * Reads and decodes the given image resource.
+	 */
+	private static BufferedImage decode (String resource) {
+
+		URL url = OxideIconCache.class.getResource(resource);
+
+		if (url == null) {
+			throw new IllegalArgumentException("No such icon resource: " + resource);
+		}
+
+		BufferedImage image;
+
+		try {
+			image = ImageIO.read(url);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to decode icon resource: " + resource, e);
+		}
+
+		if (image == null) {
+			throw new IllegalArgumentException("Unsupported icon format: " + resource);
+		}
+
+		decodedBytes.addAndGet(4L * image.getWidth() * image.getHeight());
+
+		return image;
+	}
+
+	/*
+	 * Renders the given image into a new image of the given size using
+	 * bicubic interpolation.
+	 */
+	private static BufferedImage scale (BufferedImage image, int size) {
+
+		BufferedImage scaledImage = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scaledImage.createGraphics();
+
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+					RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g.drawImage(image, 0, 0, size, size, null);
+		} finally {
+			g.dispose();
+		}
+
+		decodedBytes.addAndGet(4L * size * size);
+
+		return scaledImage;
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.doetsch.oxide;
+
+import java.awt.EventQueue;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * OxideInstrumentation controls the optional instrumentation of Oxide
+ * components. While enabled, every OxideFrame records its decoration and
+ * content pane paint times, resizeFrame calls, repaint requests and
+ * OxideMenuButton action times, and a probe measures how long events wait
+ * in the EDT queue. While disabled, which is the default, instrumented
+ * code only reads a single volatile flag.
+ *
+ * The metrics are available programmatically through snapshot() and
+ * OxideFrame.getMetrics(), and through JMX once registerMBean() is called.
+ */
+public final class OxideInstrumentation {
+
+	/**
+	 * The object name under which the OxideMetricsMBean is registered.
+	 */
+	public static final String MBEAN_NAME = "com.doetsch.oxide:type=OxideMetrics";
+
+	/*
+	 * Interval at which the EDT queue latency probe is posted
+	 */
+	private static final long PROBE_INTERVAL_MILLIS = 100;
+
+	private static volatile boolean isEnabled;
+
+	/*
+	 * Metrics of every frame that has recorded something, held weakly so
+	 * that measured frames can still be collected
+	 */
+	private static final Map<OxideFrameMetrics, Boolean> frameMetrics =
+			Collections.synchronizedMap(new WeakHashMap<OxideFrameMetrics, Boolean>());
+
+	private static final OxideLatencyHistogram edtLatency = new OxideLatencyHistogram();
+
+	/*
+	 * The scheduler posting EDT queue latency probes while enabled
+	 */
+	private static ScheduledExecutorService probeScheduler;
+	private static ScheduledFuture<?> probe;
+
+	/*
+	 * OxideInstrumentation is not instantiable.
+	 */
+	private OxideInstrumentation () {
+
+	}
+
+	/**
+	 * Returns whether or not instrumentation is enabled.
+	 *
+	 * @return true if instrumentation is enabled
+	 */
+	public static boolean isEnabled () {
+		return isEnabled;
+	}
+
+	/**
+	 * Enables or disables instrumentation, starting or stopping the EDT
+	 * queue latency probe accordingly. Recorded metrics are kept while
+	 * instrumentation is disabled.
+	 *
+	 * @param isEnabled true to enable instrumentation
+	 */
+	public static synchronized void setEnabled (boolean isEnabled) {
+
+		OxideInstrumentation.isEnabled = isEnabled;
+
+		if (isEnabled && probe == null) {
+			if (probeScheduler == null) {
+				probeScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+					@Override
+					public Thread newThread (Runnable runnable) {
+						Thread thread = new Thread(runnable, "Oxide EDT latency probe");
+						thread.setDaemon(true);
+						return thread;
+					}
+
+				});
+			}
+
+			probe = probeScheduler.scheduleAtFixedRate(new Runnable() {
+
+				/*
+				 * Posts an event that records how long it waited in the queue
+				 */
+				@Override
+				public void run () {
+					final long postedAt = System.nanoTime();
+
+					EventQueue.invokeLater(new Runnable() {
+
+						@Override
+						public void run () {
+							edtLatency.record(System.nanoTime() - postedAt);
+						}
+
+					});
+				}
+
+			}, PROBE_INTERVAL_MILLIS, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+		} else if (!isEnabled && probe != null) {
+			probe.cancel(false);
+			probe = null;
+		}
+	}
+
+	/**
+	 * Returns the process-wide EDT queue latency histogram.
+	 *
+	 * @return the EDT queue latency histogram
+	 */
+	public static OxideLatencyHistogram getEdtLatency () {
+		return edtLatency;
+	}
+
+	/**
+	 * Returns a point-in-time copy of every measured frame's metrics and
+	 * of the EDT queue latency histogram.
+	 *
+	 * @return the metrics snapshot
+	 */
+	public static OxideMetricsSnapshot snapshot () {
+
+		List<OxideFrameMetrics> copies = new ArrayList<OxideFrameMetrics>();
+
+		synchronized (frameMetrics) {
+			for (OxideFrameMetrics metrics : frameMetrics.keySet()) {
+				copies.add(metrics.copy());
+			}
+		}
+
+		return new OxideMetricsSnapshot(copies, edtLatency.getBuckets());
+	}
+
+	/**
+	 * Registers the OxideMetricsMBean with the platform MBean server under
+	 * MBEAN_NAME, if it isn't registered already.
+	 *
+	 * @throws IllegalStateException if the MBean can't be registered
+	 */
+	public static synchronized void registerMBean () {
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			ObjectName name = new ObjectName(MBEAN_NAME);
+
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new OxideMetrics(), name);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Unable to register " + MBEAN_NAME, e);
+		}
+	}
+
+	/*
+	 * Adds the given frame metrics to those reported by snapshot().
+	 */
+	static void register (OxideFrameMetrics metrics) {
+		frameMetrics.put(metrics, Boolean.TRUE);
+	}
+
+}
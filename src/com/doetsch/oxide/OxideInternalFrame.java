@@ -0,0 +1,457 @@
+package com.doetsch.oxide;
+
+import java.awt.Container;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+/**
+ * OxideInternalFrame is a lightweight child frame that lives inside the
+ * content pane of a parent OxideFrame rather than in a window of its
+ * own. It has the same decoration as a child OxideFrame, painted by an
+ * OxideDecorationPainter, and can likewise be dragged by its title bar,
+ * minimized and closed. Since it has no native peer, opening and closing
+ * one costs a component insertion, and moving one is just a repaint of
+ * the parent.
+ *
+ * By default the minimize button collapses the frame to its title bar,
+ * or expands it again, and the close button removes the frame from its
+ * parent.
+ *
+ * @see OxideFrame#addInternalFrame(OxideInternalFrame)
+ */
+public class OxideInternalFrame extends JComponent {
+
+	/*
+	 * Generated serial ID to satisfy Serializable.
+	 */
+	private static final long serialVersionUID = -6142993760215538171L;
+
+	private OxideCompiledSkin skin;
+	private final OxideDecorationPainter painter;
+	private final JPanel contentPane;
+
+	/*
+	 * Geometry of the content pane, and whether it is collapsed
+	 */
+	private int contentPaneWidth = 320;
+	private int contentPaneHeight = 200;
+	private boolean isMinimized;
+
+	private AbstractAction minimizeButtonBehavior;
+	private AbstractAction closeButtonBehavior;
+
+	//The last position of the cursor, on screen, while dragging
+	private Point dragAnchorLocation;
+
+	//The title bar button pressed and not yet released
+	private int armedButton = OxideDecorationPainter.HIT_NONE;
+
+	/**
+	 * Creates an OxideInternalFrame with the given title, decorated with
+	 * the given skin.
+	 *
+	 * @param title the frame's title text
+	 * @param skin the OxideSkin with which to decorate the frame
+	 */
+	public OxideInternalFrame (String title, OxideSkin skin) {
+		super();
+
+		this.skin = OxideCompiledSkin.compile(skin);
+		this.painter = new OxideDecorationPainter(this.skin, false);
+		painter.setTitle(title);
+
+		setOpaque(true);
+		setLayout(null);
+
+		contentPane = new JPanel(null);
+		contentPane.setBackground(this.skin.getContentPanelColor());
+		add(contentPane);
+
+		initBehavior();
+		layoutFrame(0, 0);
+	}
+
+	/*
+	 * Defines the default button behaviors and the mouse handling of the
+	 * decoration.
+	 */
+	private void initBehavior () {
+
+		minimizeButtonBehavior = new AbstractAction() {
+
+			/*
+			 * Collapses or expands the frame when the minimize button is selected
+			 */
+			@Override
+			public void actionPerformed (ActionEvent e) {
+				setMinimized(!isMinimized);
+			}
+
+		};
+
+		closeButtonBehavior = new AbstractAction() {
+
+			/*
+			 * Removes the frame when the close button is selected
+			 */
+			@Override
+			public void actionPerformed (ActionEvent e) {
+				dispose();
+			}
+
+		};
+
+		MouseAdapter decorationListener = new MouseAdapter() {
+
+			/*
+			 * Raises the frame, then starts a title bar drag or arms the
+			 * pressed button
+			 */
+			@Override
+			public void mousePressed (MouseEvent e) {
+
+				toFront();
+
+				int hit = hitTest(e.getX(), e.getY());
+
+				if (hit == OxideDecorationPainter.HIT_TITLE) {
+					dragAnchorLocation = e.getLocationOnScreen();
+				} else if (hit == OxideDecorationPainter.HIT_MINIMIZE
+						|| hit == OxideDecorationPainter.HIT_CLOSE) {
+					armedButton = hit;
+				}
+			}
+
+			/*
+			 * Moves the frame by the cursor's movement since the last event
+			 */
+			@Override
+			public void mouseDragged (MouseEvent e) {
+
+				if (dragAnchorLocation == null) {
+					return;
+				}
+
+				Point cursorLocation = e.getLocationOnScreen();
+				setLocation(getX() + cursorLocation.x - dragAnchorLocation.x,
+						getY() + cursorLocation.y - dragAnchorLocation.y);
+				dragAnchorLocation = cursorLocation;
+			}
+
+			/*
+			 * Ends a title bar drag, or performs the armed button's behavior
+			 * if the cursor was released over that button, like a JButton
+			 */
+			@Override
+			public void mouseReleased (MouseEvent e) {
+
+				int button = armedButton;
+
+				dragAnchorLocation = null;
+				armedButton = OxideDecorationPainter.HIT_NONE;
+
+				if (button == OxideDecorationPainter.HIT_NONE || hitTest(e.getX(), e.getY()) != button) {
+					return;
+				}
+
+				if (button == OxideDecorationPainter.HIT_MINIMIZE && minimizeButtonBehavior != null) {
+					minimizeButtonBehavior.actionPerformed(null);
+				} else if (button == OxideDecorationPainter.HIT_CLOSE && closeButtonBehavior != null) {
+					closeButtonBehavior.actionPerformed(null);
+				}
+			}
+
+			@Override
+			public void mouseMoved (MouseEvent e) {
+				setHoveredButton(hitTest(e.getX(), e.getY()));
+			}
+
+			@Override
+			public void mouseExited (MouseEvent e) {
+				setHoveredButton(OxideDecorationPainter.HIT_NONE);
+			}
+
+		};
+
+		addMouseListener(decorationListener);
+		addMouseMotionListener(decorationListener);
+	}
+
+	/*
+	 * Hit-tests the given point, relative to the frame, against the
+	 * decoration inside the frame border.
+	 */
+	private int hitTest (int x, int y) {
+		int frameBorderWidth = skin.getFrameBorderWidth();
+		return painter.hitTest(x - frameBorderWidth, y - frameBorderWidth);
+	}
+
+	/*
+	 * Shows the hover border on the given button, repainting only the
+	 * buttons whose state changed.
+	 */
+	private void setHoveredButton (int hit) {
+
+		int hoveredButton = (hit == OxideDecorationPainter.HIT_MINIMIZE
+				|| hit == OxideDecorationPainter.HIT_CLOSE ? hit : OxideDecorationPainter.HIT_NONE);
+		int previous = painter.getHoveredButton();
+
+		if (hoveredButton == previous) {
+			return;
+		}
+
+		painter.setHoveredButton(hoveredButton);
+		repaintButton(previous);
+		repaintButton(hoveredButton);
+	}
+
+	/*
+	 * Repaints the given title bar button.
+	 */
+	private void repaintButton (int button) {
+
+		Rectangle bounds;
+
+		if (button == OxideDecorationPainter.HIT_MINIMIZE) {
+			bounds = painter.getMinimizeButtonBounds();
+		} else if (button == OxideDecorationPainter.HIT_CLOSE) {
+			bounds = painter.getCloseButtonBounds();
+		} else {
+			return;
+		}
+
+		bounds.translate(skin.getFrameBorderWidth(), skin.getFrameBorderWidth());
+		repaint(bounds);
+	}
+
+	/*
+	 * Sizes the frame around its content pane and places the content pane
+	 * within the decoration, keeping the frame's top-left corner at the
+	 * given position.
+	 */
+	private void layoutFrame (int x, int y) {
+
+		int frameBorderWidth = skin.getFrameBorderWidth();
+		painter.setContentSize(contentPaneWidth, (isMinimized ? 0 : contentPaneHeight));
+
+		super.setBounds(x, y, painter.getDecorationWidth() + (2 * frameBorderWidth),
+				painter.getDecorationHeight() + (2 * frameBorderWidth));
+
+		Rectangle contentBounds = painter.getContentBounds();
+		contentPane.setBounds(contentBounds.x + frameBorderWidth, contentBounds.y + frameBorderWidth,
+				contentBounds.width, contentBounds.height);
+		contentPane.setVisible(!isMinimized);
+
+		repaint();
+	}
+
+	/**
+	 * Paints the frame border and decoration; the content pane paints
+	 * itself.
+	 *
+	 * @param g the Graphics with which to paint
+	 */
+	@Override
+	protected void paintComponent (Graphics g) {
+
+		int frameBorderWidth = skin.getFrameBorderWidth();
+
+		g.setColor(skin.getFrameBorderColor());
+		g.fillRect(0, 0, getWidth(), getHeight());
+
+		Graphics decorationGraphics = g.create(frameBorderWidth, frameBorderWidth,
+				getWidth() - (2 * frameBorderWidth), getHeight() - (2 * frameBorderWidth));
+
+		try {
+			painter.paint(decorationGraphics, this, getGraphicsConfiguration());
+		} finally {
+			decorationGraphics.dispose();
+		}
+	}
+
+	/**
+	 * Returns the content pane of the frame.
+	 *
+	 * @return a JPanel representation of the content pane
+	 */
+	public JPanel getContentPane () {
+		return contentPane;
+	}
+
+	/**
+	 * Returns the location and dimensions of the content pane, relative to
+	 * the frame's parent.
+	 *
+	 * @return the content pane bounds
+	 */
+	public Rectangle getContentPaneBounds () {
+		int frameBorderWidth = skin.getFrameBorderWidth();
+		Rectangle contentBounds = painter.getContentBounds();
+
+		return new Rectangle(getX() + frameBorderWidth + contentBounds.x,
+				getY() + frameBorderWidth + contentBounds.y,
+				contentPaneWidth, contentPaneHeight);
+	}
+
+	/**
+	 * Sets the location and dimensions of the content pane, relative to
+	 * the frame's parent.
+	 *
+	 * @param left the new x position of the top-left corner of the content pane
+	 * @param top the new y position of the top-left corner of the content pane
+	 * @param contentPaneWidth the new width of the content pane
+	 * @param contentPaneHeight the new height of the content pane
+	 */
+	public void setContentPaneBounds (int left, int top, int contentPaneWidth, int contentPaneHeight) {
+
+		this.contentPaneWidth = contentPaneWidth;
+		this.contentPaneHeight = contentPaneHeight;
+
+		int frameBorderWidth = skin.getFrameBorderWidth();
+		Rectangle contentBounds = painter.getContentBounds();
+
+		layoutFrame(left - frameBorderWidth - contentBounds.x, top - frameBorderWidth - contentBounds.y);
+	}
+
+	/**
+	 * Sets the frame's title text.
+	 *
+	 * @param title a String representation of the title
+	 */
+	public void setTitle (String title) {
+		painter.setTitle(title);
+
+		Rectangle titleBounds = painter.getTitleBounds();
+		titleBounds.translate(skin.getFrameBorderWidth(), skin.getFrameBorderWidth());
+		repaint(titleBounds);
+	}
+
+	/**
+	 * Returns whether or not the frame is collapsed to its title bar.
+	 *
+	 * @return true if the frame is minimized
+	 */
+	public boolean isMinimized () {
+		return isMinimized;
+	}
+
+	/**
+	 * Collapses the frame to its title bar or expands it again.
+	 *
+	 * @param isMinimized true to collapse the frame
+	 */
+	public void setMinimized (boolean isMinimized) {
+
+		if (isMinimized != this.isMinimized) {
+			this.isMinimized = isMinimized;
+			layoutFrame(getX(), getY());
+		}
+	}
+
+	/**
+	 * Returns the frame's minimize button's behavior when pressed.
+	 *
+	 * @return the AbstractAction defining the behavior
+	 */
+	public AbstractAction getMinimizeButtonBehavior () {
+		return minimizeButtonBehavior;
+	}
+
+	/**
+	 * Sets the frame's minimize button's behavior when pressed.
+	 *
+	 * @param action the AbstractAction defining the behavior when the
+	 * button is pressed
+	 */
+	public void setMinimizeButtonBehavior (AbstractAction action) {
+		this.minimizeButtonBehavior = action;
+	}
+
+	/**
+	 * Returns the frame's close button's behavior when pressed.
+	 *
+	 * @return the AbstractAction defining the behavior
+	 */
+	public AbstractAction getCloseButtonBehavior () {
+		return closeButtonBehavior;
+	}
+
+	/**
+	 * Sets the frame's close button's behavior when pressed.
+	 *
+	 * @param action the AbstractAction defining the behavior when the
+	 * button is pressed
+	 */
+	public void setCloseButtonBehavior (AbstractAction action) {
+		this.closeButtonBehavior = action;
+	}
+
+	/**
+	 * Returns the frame's OxideSkin.
+	 *
+	 * @return the frame's OxideSkin
+	 */
+	public OxideSkin getOxideSkin () {
+		return skin;
+	}
+
+	/**
+	 * Re-decorates the frame with the given skin, keeping its content
+	 * pane where it is.
+	 *
+	 * @param skin the OxideSkin with which to decorate the frame
+	 */
+	public void setOxideSkin (OxideSkin skin) {
+
+		OxideCompiledSkin compiledSkin = OxideCompiledSkin.compile(skin);
+
+		if (compiledSkin == this.skin) {
+			return;
+		}
+
+		Rectangle contentPaneBounds = getContentPaneBounds();
+
+		this.skin = compiledSkin;
+		painter.setSkin(compiledSkin);
+		contentPane.setBackground(compiledSkin.getContentPanelColor());
+
+		setContentPaneBounds(contentPaneBounds.x, contentPaneBounds.y,
+				contentPaneBounds.width, contentPaneBounds.height);
+	}
+
+	/**
+	 * Brings the frame in front of its siblings.
+	 */
+	public void toFront () {
+
+		Container parent = getParent();
+
+		if (parent != null && parent.getComponentZOrder(this) != 0) {
+			parent.setComponentZOrder(this, 0);
+			repaint();
+		}
+	}
+
+	/**
+	 * Removes the frame from its parent.
+	 */
+	public void dispose () {
+
+		Container parent = getParent();
+
+		if (parent != null) {
+			Rectangle bounds = getBounds();
+			parent.remove(this);
+			parent.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+		}
+	}
+
+}
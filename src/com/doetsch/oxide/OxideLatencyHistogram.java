@@ -0,0 +1,101 @@
+package com.doetsch.oxide;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * OxideLatencyHistogram records latencies into buckets of exponentially
+ * increasing width. Bucket i counts latencies of at least 2^i and less
+ * than 2^(i+1) microseconds, with bucket 0 also counting latencies below
+ * one microsecond. Recording is lock-free and safe from any thread.
+ */
+public final class OxideLatencyHistogram {
+
+	/**
+	 * The number of buckets; the last bucket counts every latency of
+	 * 2^(BUCKET_COUNT-1) microseconds or more.
+	 */
+	public static final int BUCKET_COUNT = 32;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	/**
+	 * Records the given latency.
+	 *
+	 * @param latencyNanos the latency in nanoseconds
+	 */
+	public void record (long latencyNanos) {
+		buckets.incrementAndGet(bucketOf(latencyNanos / 1000));
+	}
+
+	/**
+	 * Returns a copy of the bucket counts.
+	 *
+	 * @return the count of every bucket
+	 */
+	public long[] getBuckets () {
+
+		long[] counts = new long[BUCKET_COUNT];
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets.get(i);
+		}
+
+		return counts;
+	}
+
+	/**
+	 * Resets every bucket count to zero.
+	 */
+	public void reset () {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0);
+		}
+	}
+
+	/**
+	 * Returns the upper bound of the bucket containing the given percentile
+	 * of the given bucket counts.
+	 *
+	 * @param counts the bucket counts, as returned by getBuckets()
+	 * @param percentile the percentile between 0 and 100
+	 * @return the latency bound in microseconds, or 0 if nothing was recorded
+	 */
+	public static long getPercentileMicros (long[] counts, double percentile) {
+
+		long total = 0;
+
+		for (long count : counts) {
+			total += count;
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(total * (percentile / 100.0));
+		long seen = 0;
+
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+
+			if (seen >= rank) {
+				return (1L << (i + 1));
+			}
+		}
+
+		return (1L << counts.length);
+	}
+
+	/*
+	 * Returns the bucket of the given latency.
+	 */
+	private static int bucketOf (long latencyMicros) {
+
+		if (latencyMicros <= 1) {
+			return 0;
+		}
+
+		return Math.min(63 - Long.numberOfLeadingZeros(latencyMicros), BUCKET_COUNT - 1);
+	}
+
+}
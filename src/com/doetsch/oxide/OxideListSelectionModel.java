@@ -0,0 +1,617 @@
+package com.doetsch.oxide;
+
+import javax.swing.ListSelectionModel;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+
+/**
+ * OxideListSelectionModel is a ListSelectionModel that stores the
+ * selection as a sorted array of disjoint intervals rather than one bit
+ * per index, so that its cost depends on the number of selected
+ * intervals and not on the indexes involved. Looking up an index is a
+ * binary search and selecting a single row or a range of any length
+ * takes constant time, where DefaultListSelectionModel visits every
+ * index between the old and the new selection. This suits lists of
+ * millions of rows, such as OxideVirtualList, whose default selection
+ * model it is.
+ *
+ * The model behaves like DefaultListSelectionModel, including its
+ * selection modes and the handling of the anchor and lead indexes, but
+ * a ListSelectionEvent may span indexes whose selection didn't change,
+ * such as the whole range between the old and the new selection.
+ */
+public class OxideListSelectionModel implements ListSelectionModel {
+
+	private final EventListenerList listenerList = new EventListenerList();
+
+	/*
+	 * The selected intervals, sorted, disjoint and not adjacent
+	 */
+	private int[] starts = new int[4];
+	private int[] ends = new int[4];
+	private int count;
+
+	private int selectionMode = MULTIPLE_INTERVAL_SELECTION;
+	private int anchorIndex = -1;
+	private int leadIndex = -1;
+	private boolean isAdjusting;
+
+	/*
+	 * The range changed by the current operation, and the range changed
+	 * since the value started adjusting
+	 */
+	private int changedFirst = Integer.MAX_VALUE;
+	private int changedLast = -1;
+	private int adjustedFirst = Integer.MAX_VALUE;
+	private int adjustedLast = -1;
+
+	/**
+	 * Creates an empty OxideListSelectionModel in multiple interval
+	 * selection mode.
+	 */
+	public OxideListSelectionModel () {
+	}
+
+	@Override
+	public void setSelectionInterval (int index0, int index1) {
+
+		if (!isValid(index0, index1)) {
+			return;
+		}
+
+		if (selectionMode == SINGLE_SELECTION) {
+			index0 = index1;
+		}
+
+		setLeadAnchor(index0, index1);
+
+		if (count > 0) {
+			markChanged(starts[0], ends[count - 1]);
+			count = 0;
+		}
+
+		addRange(Math.min(index0, index1), Math.max(index0, index1));
+		fireChange();
+	}
+
+	@Override
+	public void addSelectionInterval (int index0, int index1) {
+
+		if (!isValid(index0, index1)) {
+			return;
+		}
+
+		int min = Math.min(index0, index1);
+		int max = Math.max(index0, index1);
+
+		if (selectionMode == SINGLE_SELECTION || (selectionMode == SINGLE_INTERVAL_SELECTION
+				&& (count == 0 || max < starts[0] - 1 || min > ends[count - 1] + 1))) {
+			setSelectionInterval(index0, index1);
+			return;
+		}
+
+		setLeadAnchor(index0, index1);
+		addRange(min, max);
+		fireChange();
+	}
+
+	@Override
+	public void removeSelectionInterval (int index0, int index1) {
+
+		if (!isValid(index0, index1)) {
+			return;
+		}
+
+		setLeadAnchor(index0, index1);
+
+		int min = Math.min(index0, index1);
+		int max = Math.max(index0, index1);
+
+		/*
+		 * Only multiple interval selection may split the selection in two
+		 */
+		if (selectionMode != MULTIPLE_INTERVAL_SELECTION && count > 0
+				&& min > starts[0] && max < ends[count - 1]) {
+			max = ends[count - 1];
+		}
+
+		removeRange(min, max);
+		fireChange();
+	}
+
+	@Override
+	public int getMinSelectionIndex () {
+		return (count == 0 ? -1 : starts[0]);
+	}
+
+	@Override
+	public int getMaxSelectionIndex () {
+		return (count == 0 ? -1 : ends[count - 1]);
+	}
+
+	@Override
+	public boolean isSelectedIndex (int index) {
+
+		int interval = lastStartAtMost(index);
+
+		return (index >= 0 && interval >= 0 && ends[interval] >= index);
+	}
+
+	@Override
+	public int getAnchorSelectionIndex () {
+		return anchorIndex;
+	}
+
+	@Override
+	public void setAnchorSelectionIndex (int index) {
+		setLeadAnchor(index, leadIndex);
+		fireChange();
+	}
+
+	@Override
+	public int getLeadSelectionIndex () {
+		return leadIndex;
+	}
+
+	/**
+	 * Sets the lead selection index and, as DefaultListSelectionModel
+	 * does, gives the rows between the anchor and the new lead the
+	 * anchor's selection state, undoing it between the anchor and the old
+	 * lead. In single selection mode the anchor moves with the lead, which
+	 * is selected.
+	 *
+	 * @param index the new lead selection index
+	 */
+	@Override
+	public void setLeadSelectionIndex (int index) {
+
+		if (index == -1) {
+			if (anchorIndex == -1) {
+				setLeadAnchor(anchorIndex, index);
+				fireChange();
+			}
+
+			return;
+		} else if (anchorIndex == -1) {
+			return;
+		}
+
+		int oldLeadIndex = (leadIndex == -1 ? index : leadIndex);
+		int newAnchorIndex = anchorIndex;
+		boolean isSelecting = isSelectedIndex(anchorIndex);
+
+		if (selectionMode == SINGLE_SELECTION) {
+			newAnchorIndex = index;
+			isSelecting = true;
+		}
+
+		int oldMin = Math.min(anchorIndex, oldLeadIndex);
+		int oldMax = Math.max(anchorIndex, oldLeadIndex);
+		int newMin = Math.min(newAnchorIndex, index);
+		int newMax = Math.max(newAnchorIndex, index);
+
+		setLeadAnchor(newAnchorIndex, index);
+
+		if (isSelecting) {
+			removeRange(oldMin, oldMax);
+			addRange(newMin, newMax);
+		} else {
+			addRange(oldMin, oldMax);
+			removeRange(newMin, newMax);
+		}
+
+		fireChange();
+	}
+
+	@Override
+	public void clearSelection () {
+
+		if (count > 0) {
+			markChanged(starts[0], ends[count - 1]);
+			count = 0;
+		}
+
+		fireChange();
+	}
+
+	@Override
+	public boolean isSelectionEmpty () {
+		return (count == 0);
+	}
+
+	@Override
+	public void insertIndexInterval (int index, int length, boolean before) {
+
+		if (index < 0 || length <= 0) {
+			return;
+		}
+
+		int insertMin = (before ? index : index + 1);
+		boolean isInsertedSelected = (selectionMode != SINGLE_SELECTION && isSelectedIndex(index));
+		int maxIndex = getMaxSelectionIndex();
+
+		/*
+		 * Move the intervals after the insertion point and stretch the one
+		 * spanning it
+		 */
+		for (int i = 0; i < count; i++) {
+			if (starts[i] >= insertMin) {
+				starts[i] += length;
+				ends[i] += length;
+			} else if (ends[i] >= insertMin) {
+				ends[i] += length;
+			}
+		}
+
+		if (maxIndex >= insertMin) {
+			markChanged(insertMin, maxIndex + length);
+		}
+
+		if (isInsertedSelected) {
+			addRange(insertMin, insertMin + length - 1);
+		}
+
+		int newLeadIndex = (leadIndex >= insertMin ? leadIndex + length : leadIndex);
+		int newAnchorIndex = (anchorIndex >= insertMin ? anchorIndex + length : anchorIndex);
+
+		setLeadAnchor(newAnchorIndex, newLeadIndex);
+		fireChange();
+	}
+
+	@Override
+	public void removeIndexInterval (int index0, int index1) {
+
+		if (index0 < 0 || index1 < 0) {
+			return;
+		}
+
+		int removeMin = Math.min(index0, index1);
+		int removeMax = Math.max(index0, index1);
+		int gapLength = (removeMax - removeMin) + 1;
+		int maxIndex = getMaxSelectionIndex();
+
+		removeRange(removeMin, removeMax);
+
+		/*
+		 * Move the intervals after the removed indexes down, merging the one
+		 * that now follows the removed indexes directly
+		 */
+		int writeIndex = 0;
+
+		for (int i = 0; i < count; i++) {
+			int start = starts[i];
+			int end = ends[i];
+
+			if (start > removeMax) {
+				start -= gapLength;
+				end -= gapLength;
+			}
+
+			if (writeIndex > 0 && start <= ends[writeIndex - 1] + 1) {
+				ends[writeIndex - 1] = end;
+			} else {
+				starts[writeIndex] = start;
+				ends[writeIndex] = end;
+				writeIndex++;
+			}
+		}
+
+		count = writeIndex;
+
+		if (maxIndex >= removeMin) {
+			markChanged(removeMin, maxIndex);
+		}
+
+		setLeadAnchor(shiftRemoved(anchorIndex, removeMin, removeMax, gapLength),
+				shiftRemoved(leadIndex, removeMin, removeMax, gapLength));
+		fireChange();
+	}
+
+	@Override
+	public void setValueIsAdjusting (boolean isAdjusting) {
+
+		if (isAdjusting == this.isAdjusting) {
+			return;
+		}
+
+		this.isAdjusting = isAdjusting;
+
+		if (!isAdjusting && adjustedLast >= 0) {
+			int first = adjustedFirst;
+			int last = adjustedLast;
+
+			adjustedFirst = Integer.MAX_VALUE;
+			adjustedLast = -1;
+			fireValueChanged(first, last, false);
+		}
+	}
+
+	@Override
+	public boolean getValueIsAdjusting () {
+		return isAdjusting;
+	}
+
+	/**
+	 * Sets the selection mode. Like DefaultListSelectionModel's, the
+	 * current selection is kept as it is.
+	 *
+	 * @param selectionMode SINGLE_SELECTION, SINGLE_INTERVAL_SELECTION or
+	 * MULTIPLE_INTERVAL_SELECTION
+	 * @throws IllegalArgumentException if the selection mode is invalid
+	 */
+	@Override
+	public void setSelectionMode (int selectionMode) {
+
+		if (selectionMode != SINGLE_SELECTION && selectionMode != SINGLE_INTERVAL_SELECTION
+				&& selectionMode != MULTIPLE_INTERVAL_SELECTION) {
+			throw new IllegalArgumentException("Invalid selection mode " + selectionMode);
+		}
+
+		this.selectionMode = selectionMode;
+	}
+
+	@Override
+	public int getSelectionMode () {
+		return selectionMode;
+	}
+
+	@Override
+	public void addListSelectionListener (ListSelectionListener listener) {
+		listenerList.add(ListSelectionListener.class, listener);
+	}
+
+	@Override
+	public void removeListSelectionListener (ListSelectionListener listener) {
+		listenerList.remove(ListSelectionListener.class, listener);
+	}
+
+	/**
+	 * Returns the listeners registered with the model.
+	 *
+	 * @return the ListSelectionListeners, or an empty array if there are
+	 * none
+	 */
+	public ListSelectionListener[] getListSelectionListeners () {
+		return listenerList.getListeners(ListSelectionListener.class);
+	}
+
+	/*
+	 * Returns whether the given interval ends are indexes, as opposed to
+	 * -1, which is ignored.
+	 */
+	private static boolean isValid (int index0, int index1) {
+
+		if (index0 < -1 || index1 < -1) {
+			throw new IndexOutOfBoundsException("Selection index < -1");
+		}
+
+		return (index0 != -1 && index1 != -1);
+	}
+
+	/*
+	 * Returns the given lead or anchor index after removing the given
+	 * indexes, as DefaultListSelectionModel does.
+	 */
+	private static int shiftRemoved (int index, int removeMin, int removeMax, int gapLength) {
+
+		if (index == 0 && removeMin == 0) {
+			return index;
+		} else if (index > removeMax) {
+			return index - gapLength;
+		} else if (index >= removeMin) {
+			return removeMin - 1;
+		}
+
+		return index;
+	}
+
+	/*
+	 * Sets the anchor and lead indexes, marking the rows of those that
+	 * moved as changed.
+	 */
+	private void setLeadAnchor (int anchorIndex, int leadIndex) {
+
+		if (anchorIndex != this.anchorIndex) {
+			markChanged(this.anchorIndex, anchorIndex);
+			this.anchorIndex = anchorIndex;
+		}
+
+		if (leadIndex != this.leadIndex) {
+			markChanged(this.leadIndex, leadIndex);
+			this.leadIndex = leadIndex;
+		}
+	}
+
+	/*
+	 * Selects the given range, merging it with the intervals it overlaps
+	 * or touches.
+	 */
+	private void addRange (int min, int max) {
+
+		int first = firstEndAtLeast(min == 0 ? 0 : min - 1);
+		int last = lastStartAtMost(max == Integer.MAX_VALUE ? max : max + 1);
+
+		if (first > last) {
+			replace(first, last, min, max, -1, -1);
+		} else if (first != last || starts[first] > min || ends[last] < max) {
+			replace(first, last, Math.min(min, starts[first]), Math.max(max, ends[last]), -1, -1);
+		} else {
+			return;
+		}
+
+		markChanged(min, max);
+	}
+
+	/*
+	 * Deselects the given range, splitting the interval that spans it.
+	 */
+	private void removeRange (int min, int max) {
+
+		int first = firstEndAtLeast(min);
+		int last = lastStartAtMost(max);
+
+		if (first > last) {
+			return;
+		}
+
+		markChanged(Math.max(min, starts[first]), Math.min(max, ends[last]));
+
+		int leftStart = starts[first];
+		int rightEnd = ends[last];
+
+		if (leftStart < min && rightEnd > max) {
+			replace(first, last, leftStart, min - 1, max + 1, rightEnd);
+		} else if (leftStart < min) {
+			replace(first, last, leftStart, min - 1, -1, -1);
+		} else if (rightEnd > max) {
+			replace(first, last, max + 1, rightEnd, -1, -1);
+		} else {
+			replace(first, last, -1, -1, -1, -1);
+		}
+	}
+
+	/*
+	 * Replaces the intervals first to last, which may be an empty range at
+	 * first, with up to two intervals; a start of -1 stands for none.
+	 */
+	private void replace (int first, int last, int start0, int end0, int start1, int end1) {
+
+		int replacementCount = (start0 < 0 ? 0 : (start1 < 0 ? 1 : 2));
+		int newCount = count - (last - first + 1) + replacementCount;
+
+		if (newCount > starts.length) {
+			int capacity = Math.max(newCount, starts.length * 2);
+			int[] newStarts = new int[capacity];
+			int[] newEnds = new int[capacity];
+
+			System.arraycopy(starts, 0, newStarts, 0, count);
+			System.arraycopy(ends, 0, newEnds, 0, count);
+			starts = newStarts;
+			ends = newEnds;
+		}
+
+		int tail = count - (last + 1);
+
+		System.arraycopy(starts, last + 1, starts, first + replacementCount, tail);
+		System.arraycopy(ends, last + 1, ends, first + replacementCount, tail);
+
+		if (replacementCount > 0) {
+			starts[first] = start0;
+			ends[first] = end0;
+		}
+
+		if (replacementCount > 1) {
+			starts[first + 1] = start1;
+			ends[first + 1] = end1;
+		}
+
+		count = newCount;
+	}
+
+	/*
+	 * Returns the first interval ending at or after the given index, or
+	 * the interval count if there is none.
+	 */
+	private int firstEndAtLeast (int index) {
+
+		int low = 0;
+		int high = count;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (ends[middle] < index) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/*
+	 * Returns the last interval starting at or before the given index, or
+	 * -1 if there is none.
+	 */
+	private int lastStartAtMost (int index) {
+
+		int low = 0;
+		int high = count;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (starts[middle] <= index) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low - 1;
+	}
+
+	/*
+	 * Extends the range changed by the current operation to the given
+	 * indexes, ignoring -1.
+	 */
+	private void markChanged (int index0, int index1) {
+
+		int min = Math.min(index0, index1);
+		int max = Math.max(index0, index1);
+
+		if (max < 0) {
+			return;
+		}
+
+		changedFirst = Math.min(changedFirst, Math.max(min, 0));
+		changedLast = Math.max(changedLast, max);
+	}
+
+	/*
+	 * Notifies the listeners of the range changed by the current operation,
+	 * if any.
+	 */
+	private void fireChange () {
+
+		if (changedLast < 0) {
+			return;
+		}
+
+		int first = changedFirst;
+		int last = changedLast;
+
+		changedFirst = Integer.MAX_VALUE;
+		changedLast = -1;
+
+		if (isAdjusting) {
+			adjustedFirst = Math.min(adjustedFirst, first);
+			adjustedLast = Math.max(adjustedLast, last);
+		}
+
+		fireValueChanged(first, last, isAdjusting);
+	}
+
+	/*
+	 * Notifies the listeners, last registered first, of a change to the
+	 * given range.
+	 */
+	private void fireValueChanged (int first, int last, boolean isAdjusting) {
+
+		Object[] listeners = listenerList.getListenerList();
+		ListSelectionEvent event = null;
+
+		for (int i = listeners.length - 2; i >= 0; i -= 2) {
+			if (listeners[i] == ListSelectionListener.class) {
+				if (event == null) {
+					event = new ListSelectionEvent(this, first, last, isAdjusting);
+				}
+
+				((ListSelectionListener) listeners[i + 1]).valueChanged(event);
+			}
+		}
+	}
+
+}
@@ -1,144 +1,443 @@
-package com.doetsch.oxide;
-
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-
-import javax.swing.AbstractAction;
-import javax.swing.JLabel;
-
-/**
- * OxideMenuButton utilizes a customized JLabel to implement 
- * the behavior of a button. OxideMenuButton also decorates itself
- * such that it adheres to the Oxide aesthetic; when the mouse 
- * cursor hovers over an OxideMenuButton it will be surrounded by
- * a thin white border, the OxideMenuButton is opaque and shows
- * a matte color the same as the OxideFrame's decoration color.
- */
-public class OxideMenuButton extends JLabel {
-
-	/*
-	 * Satisfies Serializable 
-	 */
-	private static final long serialVersionUID = 2008351390536732476L;
-	private boolean isSelected;
-	private AbstractAction action;	
-	private OxideSkin skin;
-	
-	/**
-	 * Creates an OxideMenuButton with the given text.
-	 * 
-	 * @param text a String representation of the button's text label
-	 */
-	public OxideMenuButton (String text, OxideSkin skin) {
-		super.setText(text);
-		
-		this.skin = skin;
-		
-		buildComponent();
-		initBehavior();
-		
-		
-	}
-	
-	/*
-	 * Defines the button's decoration
-	 */
-	private void buildComponent () {
-		this.setOpaque(true);
-		isSelected = false;
-		this.setBackground(skin.getMenuButtonUnselectedColor());
-		this.setForeground(skin.getMenuButtonFontColor());
-		this.setFont(skin.getMenuButtonFontFace());
-		this.setHorizontalAlignment(JLabel.CENTER);
-		this.setVerticalAlignment(JLabel.CENTER);
-	}
-	
-	/*
-	 * Defines the buttons behavior when hovered over and pressed
-	 */
-	private void initBehavior () {
-		
-		/*
-		 * Define behavior regarding mouse actions
-		 */
-		this.addMouseListener(new MouseListener() {
-
-			@Override
-			public void mouseClicked (MouseEvent e) {
-			}
-
-			/*
-			 * When the cursor hovers over the button then draw a thin border
-			 * around it
-			 */
-			@Override
-			public void mouseEntered (MouseEvent e) {
-				OxideMenuButton.this.setBorder(skin.getButtonHoverBorder());
-			}
-
-			/*
-			 * When the cursor stops hovering over the button then remove the
-			 * thin border
-			 */
-			@Override
-			public void mouseExited (MouseEvent e) {
-				OxideMenuButton.this.setBorder(null);
-			}
-
-			/*
-			 * Perform the action specified by the action listener
-			 */
-			@Override
-			public void mousePressed (MouseEvent e) {
-				if (action != null) {
-					action.actionPerformed(null);
-				}
-				
-				setSelected (true);
-			}
-
-			@Override
-			public void mouseReleased (MouseEvent e) {
-			}
-			
-		});
-		
-	}
-	
-	/**
-	 * Returns the action invoked when the button is pressed.
-	 * 
-	 * @return the AbstractAction invoked whent he button is pressed
-	 */
-	public AbstractAction getActionListener () {
-		return action;
-	}
-	
-	/**
-	 * Sets the action to invoke when the button is pressed.
-	 * 
-	 * @param action the AbstractAction to invoke
-	 */
-	public void setActionListener (AbstractAction action) {
-		this.action = action; 
-	}
-	
-	/**
-	 * 
-	 */
-	public boolean isSelected () {
-		return this.isSelected;
-	}
-	
-	public void setSelected (boolean isSelected) {
-		this.isSelected = isSelected;
-		
-		if (isSelected) {
-			OxideMenuButton.this.setBackground(skin.getMenuButtonSelectedColor());
-		} else {
-			OxideMenuButton.this.setBackground(skin.getMenuButtonUnselectedColor());
-		}
-		
-	}
-	
-}
+package com.doetsch.oxide;
+
+import java.awt.Cursor;
+import java.awt.EventQueue;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.AbstractAction;
+import javax.swing.JLabel;
+
+/**
+ * OxideMenuButton utilizes a customized JLabel to implement 
+ * the behavior of a button. OxideMenuButton also decorates itself
+ * such that it adheres to the Oxide aesthetic; when the mouse 
+ * cursor hovers over an OxideMenuButton it will be surrounded by
+ * a thin white border, the OxideMenuButton is opaque and shows
+ * a matte color the same as the OxideFrame's decoration color.
+ */
+public class OxideMenuButton extends JLabel {
+
+	/*
+	 * Satisfies Serializable 
+	 */
+	private static final long serialVersionUID = 2008351390536732476L;
+	
+	/*
+	 * The default executor of asynchronous actions: a cached pool of
+	 * daemon threads, created on first use
+	 */
+	private static ExecutorService defaultActionExecutor;
+	private static Executor actionExecutor;
+	
+	private boolean isSelected;
+	private boolean isAsynchronous;
+	private boolean isActionRunning;
+	private AbstractAction action;	
+	private OxideCompiledSkin skin;
+	private OxideFrameMetrics metrics;
+	
+	/**
+	 * Creates an OxideMenuButton with the given text.
+	 * 
+	 * @param text a String representation of the button's text label
+	 * @param skin the OxideSkin with which to decorate the button
+	 */
+	public OxideMenuButton (String text, OxideSkin skin) {
+		super.setText(text);
+		
+		this.skin = OxideCompiledSkin.compile(skin);
+		
+		buildComponent();
+		initBehavior();
+		
+		
+	}
+	
+	/*
+	 * Defines the button's decoration
+	 */
+	private void buildComponent () {
+		this.setOpaque(true);
+		isSelected = false;
+		this.setBackground(skin.getMenuButtonUnselectedColor());
+		this.setForeground(skin.getMenuButtonFontColor());
+		this.setFont(skin.getMenuButtonFontFace());
+		this.setHorizontalAlignment(JLabel.CENTER);
+		this.setVerticalAlignment(JLabel.CENTER);
+	}
+	
+	/*
+	 * Defines the buttons behavior when hovered over and pressed
+	 */
+	private void initBehavior () {
+		
+		/*
+		 * Define behavior regarding mouse actions
+		 */
+		this.addMouseListener(new MouseListener() {
+
+			@Override
+			public void mouseClicked (MouseEvent e) {
+			}
+
+			/*
+			 * When the cursor hovers over the button then draw a thin border
+			 * around it
+			 */
+			@Override
+			public void mouseEntered (MouseEvent e) {
+				OxideMenuButton.this.setBorder(skin.getButtonHoverBorder());
+			}
+
+			/*
+			 * When the cursor stops hovering over the button then remove the
+			 * thin border
+			 */
+			@Override
+			public void mouseExited (MouseEvent e) {
+				OxideMenuButton.this.setBorder(null);
+			}
+
+			/*
+			 * Perform the action specified by the action listener
+			 */
+			@Override
+			public void mousePressed (MouseEvent e) {
+				doClick();
+			}
+
+			@Override
+			public void mouseReleased (MouseEvent e) {
+			}
+			
+		});
+		
+	}
+	
+	/**
+	 * Performs the button's action and selects the button, as if the
+	 * button had been pressed. A disabled button ignores the press.
+	 */
+	public void doClick () {
+		
+		/*
+		 * Ignore presses while disabled or while an asynchronous action is
+		 * still running
+		 */
+		if (!isEnabled() || isActionRunning) {
+			return;
+		}
+		
+		if (action != null && isAsynchronous) {
+			performActionAsynchronously();
+			return;
+		}
+		
+		if (action != null) {
+			performAction();
+		}
+		
+		setSelected (true);
+	}
+	
+	/*
+	 * Invokes the button's action, timing it if instrumentation is enabled
+	 * and the button belongs to a measured frame.
+	 */
+	private void performAction () {
+		
+		if (metrics == null || !OxideInstrumentation.isEnabled()) {
+			action.actionPerformed(null);
+			return;
+		}
+		
+		long start = System.nanoTime();
+		
+		try {
+			action.actionPerformed(null);
+		} finally {
+			metrics.recordButtonAction(System.nanoTime() - start);
+		}
+	}
+	
+	/*
+	 * Runs the button's action on the action executor. The button shows its
+	 * selected color and a wait cursor until the action completes, and the
+	 * completion is marshaled back to the event dispatch thread.
+	 */
+	private void performActionAsynchronously () {
+		
+		isActionRunning = true;
+		setSelected(true);
+		setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		
+		final AbstractAction runningAction = action;
+		
+		try {
+			getActionExecutor().execute(new Runnable() {
+			
+				@Override
+				public void run () {
+				
+					long start = System.nanoTime();
+				
+					if (runningAction instanceof OxideAsyncAction) {
+						runAsyncAction((OxideAsyncAction<?>) runningAction, start);
+						return;
+					}
+				
+					Throwable error = null;
+				
+					try {
+						runningAction.actionPerformed(null);
+					} catch (Throwable t) {
+						error = t;
+					}
+				
+					final Throwable actionError = error;
+					final long elapsed = System.nanoTime() - start;
+				
+					EventQueue.invokeLater(new Runnable() {
+					
+						/*
+						 * Rethrow a failure on the EDT, where a synchronous
+						 * action's failure would have surfaced
+						 */
+						@Override
+						public void run () {
+							completeAction(elapsed);
+						
+							if (actionError instanceof RuntimeException) {
+								throw (RuntimeException) actionError;
+							} else if (actionError instanceof Error) {
+								throw (Error) actionError;
+							}
+						}
+					
+					});
+				}
+			
+			});
+		} catch (RuntimeException e) {
+			
+			/*
+			 * The executor rejected the action, so restore the button before
+			 * reporting the failure
+			 */
+			isActionRunning = false;
+			setSelected(false);
+			setCursor(null);
+			throw e;
+		}
+	}
+	
+	/*
+	 * Runs the background step of the given action on the calling thread
+	 * and marshals its result to the action's completion step on the EDT.
+	 */
+	private <T> void runAsyncAction (final OxideAsyncAction<T> asyncAction, long start) {
+		
+		T result = null;
+		Throwable error = null;
+		
+		try {
+			result = asyncAction.runInBackground();
+		} catch (Throwable t) {
+			error = t;
+		}
+		
+		final T actionResult = result;
+		final Throwable actionError = error;
+		final long elapsed = System.nanoTime() - start;
+		
+		EventQueue.invokeLater(new Runnable() {
+			
+			@Override
+			public void run () {
+				try {
+					asyncAction.done(actionResult, actionError);
+				} finally {
+					completeAction(elapsed);
+				}
+			}
+			
+		});
+	}
+	
+	/*
+	 * Restores the button once an asynchronous action has completed.
+	 */
+	private void completeAction (long elapsed) {
+		
+		isActionRunning = false;
+		setCursor(null);
+		
+		if (metrics != null && OxideInstrumentation.isEnabled()) {
+			metrics.recordButtonAction(elapsed);
+		}
+	}
+	
+	/*
+	 * Sets the metrics to which the button's action times are recorded.
+	 */
+	void setMetrics (OxideFrameMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Returns whether or not the button's action runs asynchronously.
+	 * 
+	 * @return true if the action runs off the event dispatch thread
+	 */
+	public boolean isAsynchronous () {
+		return isAsynchronous;
+	}
+	
+	/**
+	 * Sets whether or not the button's action runs asynchronously. An
+	 * asynchronous action is run on the action executor, so a slow action
+	 * doesn't block the event dispatch thread; the button shows its
+	 * selected color and a wait cursor, and ignores presses, until the
+	 * action completes. An OxideAsyncAction's completion step is called on
+	 * the event dispatch thread, while any other action must not touch
+	 * realized Swing components.
+	 * 
+	 * @param isAsynchronous true to run the action asynchronously
+	 * @see #setActionExecutor(Executor)
+	 */
+	public void setAsynchronous (boolean isAsynchronous) {
+		this.isAsynchronous = isAsynchronous;
+	}
+	
+	/**
+	 * Returns whether or not an asynchronous action is currently running.
+	 * 
+	 * @return true if the button's action is running
+	 */
+	public boolean isActionRunning () {
+		return isActionRunning;
+	}
+	
+	/**
+	 * Sets the executor that runs the asynchronous actions of every
+	 * OxideMenuButton, such as a virtual-thread-per-task executor where
+	 * the runtime provides one. By default a shared pool of daemon
+	 * threads is used.
+	 * 
+	 * @param executor the Executor to run asynchronous actions, or null
+	 * to use the default pool
+	 */
+	public static synchronized void setActionExecutor (Executor executor) {
+		actionExecutor = executor;
+	}
+	
+	/*
+	 * Returns the executor of asynchronous actions.
+	 */
+	private static synchronized Executor getActionExecutor () {
+		
+		if (actionExecutor != null) {
+			return actionExecutor;
+		}
+		
+		if (defaultActionExecutor == null) {
+			defaultActionExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+				
+				@Override
+				public Thread newThread (Runnable runnable) {
+					Thread thread = new Thread(runnable, "Oxide action");
+					thread.setDaemon(true);
+					return thread;
+				}
+				
+			});
+		}
+		
+		return defaultActionExecutor;
+	}
+	
+	/**
+	 * Returns the action invoked when the button is pressed.
+	 * 
+	 * @return the AbstractAction invoked whent he button is pressed
+	 */
+	public AbstractAction getActionListener () {
+		return action;
+	}
+	
+	/**
+	 * Sets the action to invoke when the button is pressed.
+	 * 
+	 * @param action the AbstractAction to invoke
+	 */
+	public void setActionListener (AbstractAction action) {
+		this.action = action; 
+	}
+	
+	/**
+	 * Returns the OxideSkin that is decorating the button.
+	 * 
+	 * @return the compiled OxideSkin that's decorating the button
+	 */
+	public OxideSkin getOxideSkin () {
+		return skin;
+	}
+	
+	/**
+	 * Sets the OxideSkin that decorates the button. Only the properties
+	 * that differ between the current and the new skin are changed.
+	 * 
+	 * @param skin the OxideSkin with which to decorate the button
+	 */
+	public void setOxideSkin (OxideSkin skin) {
+		
+		OxideCompiledSkin previous = this.skin;
+		this.skin = OxideCompiledSkin.compile(skin);
+		
+		if (this.skin == previous) {
+			return;
+		}
+		
+		if (getForeground() != this.skin.getMenuButtonFontColor()) {
+			setForeground(this.skin.getMenuButtonFontColor());
+		}
+		
+		if (getFont() != this.skin.getMenuButtonFontFace()) {
+			setFont(this.skin.getMenuButtonFontFace());
+		}
+		
+		/*
+		 * Re-apply the background and, while hovered, the hover border
+		 */
+		setSelected(isSelected);
+		
+		if (getBorder() != null && getBorder() == previous.getButtonHoverBorder()) {
+			setBorder(this.skin.getButtonHoverBorder());
+		}
+		
+	}
+	
+	/**
+	 * 
+	 */
+	public boolean isSelected () {
+		return this.isSelected;
+	}
+	
+	public void setSelected (boolean isSelected) {
+		this.isSelected = isSelected;
+		
+		if (isSelected) {
+			OxideMenuButton.this.setBackground(skin.getMenuButtonSelectedColor());
+		} else {
+			OxideMenuButton.this.setBackground(skin.getMenuButtonUnselectedColor());
+		}
+		
+	}
+	
+}
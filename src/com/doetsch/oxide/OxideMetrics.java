@@ -0,0 +1,133 @@
+package com.doetsch.oxide;
+
+import java.util.List;
+
+/**
+ * OxideMetrics is the standard MBean implementation of OxideMetricsMBean,
+ * reading every attribute from a fresh OxideInstrumentation snapshot.
+ */
+class OxideMetrics implements OxideMetricsMBean {
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#isEnabled()
+	 */
+	@Override
+	public boolean isEnabled () {
+		return OxideInstrumentation.isEnabled();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#setEnabled(boolean)
+	 */
+	@Override
+	public void setEnabled (boolean isEnabled) {
+		OxideInstrumentation.setEnabled(isEnabled);
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getFrameCount()
+	 */
+	@Override
+	public int getFrameCount () {
+		return OxideInstrumentation.snapshot().getFrameMetrics().size();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getDecorationPaintNanos()
+	 */
+	@Override
+	public long getDecorationPaintNanos () {
+		return OxideInstrumentation.snapshot().getDecorationPaintNanos();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getContentPaintNanos()
+	 */
+	@Override
+	public long getContentPaintNanos () {
+		return OxideInstrumentation.snapshot().getContentPaintNanos();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getResizeFrameCount()
+	 */
+	@Override
+	public long getResizeFrameCount () {
+		return OxideInstrumentation.snapshot().getResizeFrameCount();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getRepaintRequestCount()
+	 */
+	@Override
+	public long getRepaintRequestCount () {
+		return OxideInstrumentation.snapshot().getRepaintRequestCount();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getButtonActionNanos()
+	 */
+	@Override
+	public long getButtonActionNanos () {
+		return OxideInstrumentation.snapshot().getButtonActionNanos();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getEdtLatencySampleCount()
+	 */
+	@Override
+	public long getEdtLatencySampleCount () {
+		return OxideInstrumentation.snapshot().getEdtLatencySampleCount();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getEdtLatencyP50Micros()
+	 */
+	@Override
+	public long getEdtLatencyP50Micros () {
+		return OxideLatencyHistogram.getPercentileMicros(
+				OxideInstrumentation.getEdtLatency().getBuckets(), 50);
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getEdtLatencyP99Micros()
+	 */
+	@Override
+	public long getEdtLatencyP99Micros () {
+		return OxideLatencyHistogram.getPercentileMicros(
+				OxideInstrumentation.getEdtLatency().getBuckets(), 99);
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getEdtLatencyBuckets()
+	 */
+	@Override
+	public long[] getEdtLatencyBuckets () {
+		return OxideInstrumentation.getEdtLatency().getBuckets();
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#getFrameSummaries()
+	 */
+	@Override
+	public String[] getFrameSummaries () {
+
+		List<OxideFrameMetrics> frameMetrics = OxideInstrumentation.snapshot().getFrameMetrics();
+		String[] summaries = new String[frameMetrics.size()];
+
+		for (int i = 0; i < summaries.length; i++) {
+			summaries[i] = frameMetrics.get(i).toString();
+		}
+
+		return summaries;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideMetricsMBean#resetEdtLatency()
+	 */
+	@Override
+	public void resetEdtLatency () {
+		OxideInstrumentation.getEdtLatency().reset();
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.doetsch.oxide;
+
+/**
+ * OxideMetricsMBean is the JMX management interface through which
+ * Oxide's instrumentation is exposed. It is registered by
+ * OxideInstrumentation.registerMBean() under the object name
+ * "com.doetsch.oxide:type=OxideMetrics".
+ */
+public interface OxideMetricsMBean {
+
+	/**
+	 * Returns whether or not instrumentation is enabled.
+	 * 
+	 * @return true if instrumentation is enabled
+	 */
+	public boolean isEnabled ();
+	
+	/**
+	 * Enables or disables instrumentation.
+	 * 
+	 * @param isEnabled true to enable instrumentation
+	 */
+	public void setEnabled (boolean isEnabled);
+	
+	/**
+	 * Returns the number of frames that have recorded metrics.
+	 * 
+	 * @return the number of measured frames
+	 */
+	public int getFrameCount ();
+	
+	/**
+	 * Returns the total decoration paint time of every measured frame.
+	 * 
+	 * @return the decoration paint time in nanoseconds
+	 */
+	public long getDecorationPaintNanos ();
+	
+	/**
+	 * Returns the total content pane paint time of every measured frame.
+	 * 
+	 * @return the content pane paint time in nanoseconds
+	 */
+	public long getContentPaintNanos ();
+	
+	/**
+	 * Returns the total number of resizeFrame calls of every measured frame.
+	 * 
+	 * @return the resizeFrame call count
+	 */
+	public long getResizeFrameCount ();
+	
+	/**
+	 * Returns the total number of repaint requests of every measured frame.
+	 * 
+	 * @return the repaint request count
+	 */
+	public long getRepaintRequestCount ();
+	
+	/**
+	 * Returns the total OxideMenuButton action time of every measured frame.
+	 * 
+	 * @return the button action time in nanoseconds
+	 */
+	public long getButtonActionNanos ();
+	
+	/**
+	 * Returns the number of EDT queue latency samples.
+	 * 
+	 * @return the number of latency samples
+	 */
+	public long getEdtLatencySampleCount ();
+	
+	/**
+	 * Returns the median EDT queue latency.
+	 * 
+	 * @return the bucketed median latency in microseconds
+	 */
+	public long getEdtLatencyP50Micros ();
+	
+	/**
+	 * Returns the 99th percentile EDT queue latency.
+	 * 
+	 * @return the bucketed 99th percentile latency in microseconds
+	 */
+	public long getEdtLatencyP99Micros ();
+	
+	/**
+	 * Returns the EDT queue latency histogram buckets.
+	 * 
+	 * @return the bucket counts
+	 * @see OxideLatencyHistogram
+	 */
+	public long[] getEdtLatencyBuckets ();
+	
+	/**
+	 * Returns a one line summary of every measured frame's metrics.
+	 * 
+	 * @return the frame summaries
+	 */
+	public String[] getFrameSummaries ();
+	
+	/**
+	 * Resets the EDT queue latency histogram.
+	 */
+	public void resetEdtLatency ();
+	
+}
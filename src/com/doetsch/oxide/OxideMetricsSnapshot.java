@@ -0,0 +1,132 @@
+package com.doetsch.oxide;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * OxideMetricsSnapshot is an immutable, point-in-time copy of Oxide's
+ * instrumentation: the metrics of every measured frame, their totals,
+ * and the process-wide EDT queue latency histogram.
+ *
+ * @see OxideInstrumentation#snapshot()
+ */
+public final class OxideMetricsSnapshot {
+
+	private final List<OxideFrameMetrics> frameMetrics;
+	private final long[] edtLatencyBuckets;
+
+	private long decorationPaintNanos;
+	private long contentPaintNanos;
+	private long resizeFrameCount;
+	private long repaintRequestCount;
+	private long buttonActionNanos;
+
+	/*
+	 * Creates a snapshot of the given frame metrics copies and latency
+	 * histogram buckets.
+	 */
+	OxideMetricsSnapshot (List<OxideFrameMetrics> frameMetrics, long[] edtLatencyBuckets) {
+
+		this.frameMetrics = Collections.unmodifiableList(frameMetrics);
+		this.edtLatencyBuckets = edtLatencyBuckets;
+
+		for (OxideFrameMetrics metrics : frameMetrics) {
+			decorationPaintNanos += metrics.getDecorationPaintNanos();
+			contentPaintNanos += metrics.getContentPaintNanos();
+			resizeFrameCount += metrics.getResizeFrameCount();
+			repaintRequestCount += metrics.getRepaintRequestCount();
+			buttonActionNanos += metrics.getButtonActionNanos();
+		}
+	}
+
+	/**
+	 * Returns the metrics of every measured frame.
+	 *
+	 * @return an unmodifiable list of detached OxideFrameMetrics copies
+	 */
+	public List<OxideFrameMetrics> getFrameMetrics () {
+		return frameMetrics;
+	}
+
+	/**
+	 * Returns the total decoration paint time of every measured frame.
+	 *
+	 * @return the decoration paint time in nanoseconds
+	 */
+	public long getDecorationPaintNanos () {
+		return decorationPaintNanos;
+	}
+
+	/**
+	 * Returns the total content pane paint time of every measured frame.
+	 *
+	 * @return the content pane paint time in nanoseconds
+	 */
+	public long getContentPaintNanos () {
+		return contentPaintNanos;
+	}
+
+	/**
+	 * Returns the total number of resizeFrame calls of every measured frame.
+	 *
+	 * @return the resizeFrame call count
+	 */
+	public long getResizeFrameCount () {
+		return resizeFrameCount;
+	}
+
+	/**
+	 * Returns the total number of repaint requests of every measured frame.
+	 *
+	 * @return the repaint request count
+	 */
+	public long getRepaintRequestCount () {
+		return repaintRequestCount;
+	}
+
+	/**
+	 * Returns the total OxideMenuButton action time of every measured frame.
+	 *
+	 * @return the button action time in nanoseconds
+	 */
+	public long getButtonActionNanos () {
+		return buttonActionNanos;
+	}
+
+	/**
+	 * Returns the EDT queue latency histogram buckets.
+	 *
+	 * @return a copy of the bucket counts
+	 * @see OxideLatencyHistogram
+	 */
+	public long[] getEdtLatencyBuckets () {
+		return edtLatencyBuckets.clone();
+	}
+
+	/**
+	 * Returns the number of EDT queue latency samples.
+	 *
+	 * @return the number of latency samples
+	 */
+	public long getEdtLatencySampleCount () {
+
+		long total = 0;
+
+		for (long count : edtLatencyBuckets) {
+			total += count;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the given percentile of the EDT queue latency.
+	 *
+	 * @param percentile the percentile between 0 and 100
+	 * @return the bucketed latency in microseconds
+	 */
+	public long getEdtLatencyPercentileMicros (double percentile) {
+		return OxideLatencyHistogram.getPercentileMicros(edtLatencyBuckets, percentile);
+	}
+
+}
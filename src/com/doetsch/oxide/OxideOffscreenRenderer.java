@@ -0,0 +1,184 @@
+package com.doetsch.oxide;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.swing.JPanel;
+
+/**
+ * OxideOffscreenRenderer paints an OxideFrame's decoration and content
+ * into a BufferedImage without creating a window or native peer, so
+ * that frames can be rendered on a headless server or in tests. The
+ * decoration is painted by an OxideDecorationPainter, so renders look
+ * like a frame with a painted decoration, with the same geometry,
+ * rather than like the component tree decoration a default OxideFrame
+ * shows. The content is built into a fresh content pane for each render
+ * by a ContentBuilder, laid out and printed.
+ *
+ * Renders may run concurrently, for instance as ForkJoinTasks obtained
+ * from renderTask(..), but only their decorations are painted in
+ * parallel: each uses its own painter and image, and the compiled skin
+ * is immutable. Content is built, laid out and printed by one render at
+ * a time, across all renderers, because Swing components paint through
+ * UI delegates that are shared between components and keep layout state
+ * in fields, such as BasicButtonUI's static view, text and icon
+ * rectangles. A ContentBuilder must create new components on every call
+ * rather than reuse existing ones.
+ */
+public final class OxideOffscreenRenderer {
+
+	/**
+	 * ContentBuilder adds the components of a render to its content pane.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	public interface ContentBuilder {
+
+		/**
+		 * Adds newly created components to the given content pane, which has
+		 * no layout manager and is already sized and skinned.
+		 *
+		 * @param contentPane the content pane of the render
+		 */
+		public void build (JPanel contentPane);
+
+	}
+
+	/*
+	 * Serializes the content of every render, whose Swing components share
+	 * UI delegates that aren't thread-safe
+	 */
+	private static final Object CONTENT_LOCK = new Object();
+
+	private final OxideCompiledSkin skin;
+	private final boolean isParentFrame;
+
+	/**
+	 * Creates an OxideOffscreenRenderer for parent or child frames
+	 * decorated with the given skin.
+	 *
+	 * @param skin the OxideSkin with which to decorate rendered frames
+	 * @param isParentFrame true to render parent frames
+	 */
+	public OxideOffscreenRenderer (OxideSkin skin, boolean isParentFrame) {
+		this.skin = OxideCompiledSkin.compile(skin);
+		this.isParentFrame = isParentFrame;
+	}
+
+	/**
+	 * Renders a frame with the given title and content pane dimensions.
+	 * The image covers the whole frame, including its frame border.
+	 *
+	 * @param title the frame's title text
+	 * @param contentPaneWidth the width of the frame's content pane
+	 * @param contentPaneHeight the height of the frame's content pane
+	 * @param content the ContentBuilder that fills the content pane, or
+	 * null to render an empty frame
+	 * @return the rendered image
+	 */
+	public BufferedImage render (String title, int contentPaneWidth, int contentPaneHeight,
+			ContentBuilder content) {
+
+		if (contentPaneWidth <= 0 || contentPaneHeight <= 0) {
+			throw new IllegalArgumentException("Expected positive content pane dimensions");
+		}
+
+		OxideDecorationPainter painter = new OxideDecorationPainter(skin, isParentFrame);
+		painter.setTitle(title);
+		painter.setContentSize(contentPaneWidth, contentPaneHeight);
+
+		int frameBorderWidth = skin.getFrameBorderWidth();
+		BufferedImage image = new BufferedImage(
+				painter.getDecorationWidth() + (2 * frameBorderWidth),
+				painter.getDecorationHeight() + (2 * frameBorderWidth),
+				BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+
+		try {
+			/*
+			 * Paint the frame border, then the decoration inside it
+			 */
+			g.setColor(skin.getFrameBorderColor());
+			g.fillRect(0, 0, image.getWidth(), image.getHeight());
+			g.translate(frameBorderWidth, frameBorderWidth);
+			painter.paint(g, null, null);
+
+			/*
+			 * Build, lay out and print the content pane where a frame would
+			 * place it, one render at a time
+			 */
+			Rectangle bounds = painter.getContentBounds();
+			Graphics2D contentGraphics = (Graphics2D) g.create(bounds.x, bounds.y,
+					bounds.width, bounds.height);
+
+			try {
+				synchronized (CONTENT_LOCK) {
+					JPanel contentPane = new JPanel(null);
+					contentPane.setBackground(skin.getContentPanelColor());
+					contentPane.setBounds(0, 0, contentPaneWidth, contentPaneHeight);
+
+					if (content != null) {
+						content.build(contentPane);
+					}
+
+					layoutTree(contentPane);
+					contentPane.printAll(contentGraphics);
+				}
+			} finally {
+				contentGraphics.dispose();
+			}
+		} finally {
+			g.dispose();
+		}
+
+		return image;
+	}
+
+	/**
+	 * Returns a ForkJoinTask that renders a frame with the given title and
+	 * content pane dimensions, for running many renders in parallel on a
+	 * ForkJoinPool.
+	 *
+	 * @param title the frame's title text
+	 * @param contentPaneWidth the width of the frame's content pane
+	 * @param contentPaneHeight the height of the frame's content pane
+	 * @param content the ContentBuilder that fills the content pane, or
+	 * null to render an empty frame
+	 * @return the render task
+	 * @see #render(String, int, int, ContentBuilder)
+	 */
+	public ForkJoinTask<BufferedImage> renderTask (final String title, final int contentPaneWidth,
+			final int contentPaneHeight, final ContentBuilder content) {
+
+		return ForkJoinTask.adapt(new Callable<BufferedImage>() {
+
+			@Override
+			public BufferedImage call () {
+				return render(title, contentPaneWidth, contentPaneHeight, content);
+			}
+
+		});
+	}
+
+	/*
+	 * Lays out the given container and its descendants. Container.validate()
+	 * does nothing without a native peer, so layout managers are invoked
+	 * directly.
+	 */
+	private static void layoutTree (Container container) {
+
+		container.doLayout();
+
+		for (Component child : container.getComponents()) {
+			if (child instanceof Container) {
+				layoutTree((Container) child);
+			}
+		}
+	}
+
+}
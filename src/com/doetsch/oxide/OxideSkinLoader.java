@@ -0,0 +1,782 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.Frame;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.border.AbstractBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+
+/**
+ * OxideSkinLoader builds OxideSkins from skin files, so that a skin can be
+ * changed without recompiling. A skin file is UTF-8 text with one
+ * "key = value" pair per line, where each key is the name of an
+ * OxideSkin getter without its "get" prefix, and blank lines and lines
+ * starting with '#' are ignored:
+ *
+ * <pre>
+ * # Widths and heights in pixels
+ * decorationBorderWidth = 6
+ * parentFrameTitleBarHeight = 30
+ * # Colors as #RRGGBB
+ * decorationBorderColor = #7A8A99
+ * # Fonts as "name style size", style being plain, bold, italic or bolditalic
+ * parentTitleFontFace = Monospaced bold 22
+ * # Borders as "line #RRGGBB thickness" or "empty top left bottom right"
+ * buttonHoverBorder = line #FFFFFF 1
+ * </pre>
+ *
+ * Keys that are left out take their value from a base skin. Loaded skins
+ * are compiled and cached by a hash of the file's content, so loading
+ * unchanged content again returns the same OxideCompiledSkin without
+ * parsing it. The cache keeps the current skin of each loaded file: when
+ * a file is loaded with new content, the skin of its previous content is
+ * evicted unless another file has that content too. Skins parsed from
+ * content that didn't come from a file stay cached.
+ *
+ * Skin files may also be watched for changes. When a watched file
+ * changes, the new skin is loaded and every open OxideFrame decorated
+ * with the file's previous skin is re-skinned in a single batch on the
+ * event dispatch thread. A file that fails to parse, for instance one
+ * that is only partially written, leaves the frames' skin unchanged.
+ */
+public class OxideSkinLoader {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/*
+	 * Keys of the skin file format by value type
+	 */
+	private static final Set<String> INT_KEYS = new HashSet<String>(Arrays.asList(
+			"decorationBorderWidth", "frameBorderWidth",
+			"parentFrameTitleBarHeight", "childFrameTitleBarHeight"));
+
+	private static final Set<String> COLOR_KEYS = new HashSet<String>(Arrays.asList(
+			"frameBorderColor", "decorationBorderColor", "contentPanelColor",
+			"mouseHoverBorderColor", "parentTitleFontColor", "childTitleFontColor",
+			"menuButtonFontColor", "menuButtonSelectedColor", "menuButtonUnselectedColor",
+			"controlFontColor", "shadeColor1"));
+
+	private static final Set<String> FONT_KEYS = new HashSet<String>(Arrays.asList(
+			"parentTitleFontFace", "childTitleFontFace", "menuButtonFontFace",
+			"controlFontFace"));
+
+	private static final Set<String> BORDER_KEYS = new HashSet<String>(Arrays.asList(
+			"buttonHoverBorder", "buttonDefaultBorder"));
+
+	private final OxideSkin baseSkin;
+
+	/*
+	 * Compiled skins keyed by the hash of their file content
+	 */
+	private final ConcurrentHashMap<String, OxideCompiledSkin> skinCache =
+			new ConcurrentHashMap<String, OxideCompiledSkin>();
+
+	/*
+	 * The hash of the content each file was last loaded with, by absolute
+	 * path, which decides when a file's previous skin can be evicted
+	 */
+	private final Map<Path, String> fileHashes = new HashMap<Path, String>();
+
+	/*
+	 * The current skin of each watched file, and the watcher state
+	 */
+	private final ConcurrentHashMap<Path, OxideCompiledSkin> watchedSkins =
+			new ConcurrentHashMap<Path, OxideCompiledSkin>();
+	private final Set<Path> watchedDirectories = new HashSet<Path>();
+	private WatchService watchService;
+
+	/*
+	 * Loader metrics
+	 */
+	private final AtomicLong parseCount = new AtomicLong();
+	private final AtomicLong cacheHitCount = new AtomicLong();
+	private final AtomicLong reloadCount = new AtomicLong();
+	private volatile long lastParseNanos;
+	private volatile long lastApplyNanos;
+
+	/**
+	 * Creates an OxideSkinLoader that takes values missing from skin files
+	 * from OxideDefaultSkin.
+	 */
+	public OxideSkinLoader () {
+		this(new OxideDefaultSkin());
+	}
+
+	/**
+	 * Creates an OxideSkinLoader that takes values missing from skin files
+	 * from the given skin.
+	 *
+	 * @param baseSkin the OxideSkin providing values missing from skin files
+	 */
+	public OxideSkinLoader (OxideSkin baseSkin) {
+		this.baseSkin = OxideCompiledSkin.compile(baseSkin);
+	}
+
+	/**
+	 * Loads the skin defined by the given skin file.
+	 *
+	 * @param file the path of the skin file
+	 * @return the compiled skin
+	 * @throws IOException if the file can't be read
+	 * @throws IllegalArgumentException if the file is malformed
+	 */
+	public OxideCompiledSkin load (Path file) throws IOException {
+		return load(file.toAbsolutePath().normalize(), Files.readAllBytes(file));
+	}
+
+	/**
+	 * Loads the skin defined by the given skin file content, returning the
+	 * cached skin if the same content has been loaded before.
+	 *
+	 * @param content the UTF-8 content of a skin file
+	 * @return the compiled skin
+	 * @throws IllegalArgumentException if the content is malformed
+	 */
+	public OxideCompiledSkin parse (byte[] content) {
+		return parse(hash(content), content);
+	}
+
+	/*
+	 * Loads the skin defined by the given content of the given file,
+	 * evicting the skin of the file's previous content from the cache.
+	 */
+	private OxideCompiledSkin load (Path file, byte[] content) {
+
+		String hash = hash(content);
+		OxideCompiledSkin skin = parse(hash, content);
+
+		synchronized (fileHashes) {
+			String previousHash = fileHashes.put(file, hash);
+
+			if (previousHash != null && !previousHash.equals(hash)
+					&& !fileHashes.containsValue(previousHash)) {
+				skinCache.remove(previousHash);
+			}
+		}
+
+		return skin;
+	}
+
+	/*
+	 * Returns the cached skin of the content with the given hash, parsing
+	 * and caching it if it isn't cached yet.
+	 */
+	private OxideCompiledSkin parse (String hash, byte[] content) {
+
+		OxideCompiledSkin skin = skinCache.get(hash);
+
+		if (skin != null) {
+			cacheHitCount.incrementAndGet();
+			return skin;
+		}
+
+		long start = System.nanoTime();
+		skin = OxideCompiledSkin.compile(new LoadedSkin(parseValues(new String(content, UTF_8)), baseSkin));
+		lastParseNanos = System.nanoTime() - start;
+		parseCount.incrementAndGet();
+
+		OxideCompiledSkin cachedSkin = skinCache.putIfAbsent(hash, skin);
+
+		return (cachedSkin != null ? cachedSkin : skin);
+	}
+
+	/**
+	 * Loads the skin defined by the given skin file and watches the file
+	 * for changes, re-skinning the open frames that use it whenever it
+	 * changes.
+	 *
+	 * @param file the path of the skin file
+	 * @return the compiled skin
+	 * @throws IOException if the file can't be read or watched
+	 * @throws IllegalArgumentException if the file is malformed
+	 */
+	public synchronized OxideCompiledSkin watch (Path file) throws IOException {
+
+		Path absoluteFile = file.toAbsolutePath().normalize();
+		OxideCompiledSkin skin = load(absoluteFile);
+		Path directory = absoluteFile.getParent();
+
+		if (watchService == null) {
+			watchService = FileSystems.getDefault().newWatchService();
+			startWatcher(watchService);
+		}
+
+		if (watchedDirectories.add(directory)) {
+			directory.register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		}
+
+		watchedSkins.put(absoluteFile, skin);
+
+		return skin;
+	}
+
+	/**
+	 * Stops watching every skin file.
+	 */
+	public synchronized void close () {
+
+		if (watchService == null) {
+			return;
+		}
+
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			/*
+			 * The watcher thread exits either way
+			 */
+		}
+
+		watchService = null;
+		watchedDirectories.clear();
+		watchedSkins.clear();
+	}
+
+	/**
+	 * Returns the number of skin files that were parsed rather than taken
+	 * from the cache.
+	 *
+	 * @return the parse count
+	 */
+	public long getParseCount () {
+		return parseCount.get();
+	}
+
+	/**
+	 * Returns the number of loads served from the cache.
+	 *
+	 * @return the cache hit count
+	 */
+	public long getCacheHitCount () {
+		return cacheHitCount.get();
+	}
+
+	/**
+	 * Returns the number of times a changed watched file was applied to
+	 * the open frames.
+	 *
+	 * @return the reload count
+	 */
+	public long getReloadCount () {
+		return reloadCount.get();
+	}
+
+	/**
+	 * Returns the time taken to parse and compile the most recently parsed
+	 * skin file.
+	 *
+	 * @return the last parse time in nanoseconds
+	 */
+	public long getLastParseNanos () {
+		return lastParseNanos;
+	}
+
+	/**
+	 * Returns the time taken to re-skin the open frames after the most
+	 * recent change to a watched file.
+	 *
+	 * @return the last apply time in nanoseconds
+	 */
+	public long getLastApplyNanos () {
+		return lastApplyNanos;
+	}
+
+	/*
+	 * Starts the daemon thread that reloads watched files when they change.
+	 */
+	private void startWatcher (final WatchService service) {
+
+		Thread watcher = new Thread(new Runnable() {
+
+			@Override
+			public void run () {
+
+				try {
+					while (true) {
+						WatchKey key = service.take();
+						Path directory = (Path) key.watchable();
+
+						for (WatchEvent<?> event : key.pollEvents()) {
+							if (event.context() instanceof Path) {
+								reload(directory.resolve((Path) event.context()));
+							}
+						}
+
+						key.reset();
+					}
+				} catch (ClosedWatchServiceException e) {
+					/*
+					 * The loader was closed
+					 */
+				} catch (InterruptedException e) {
+					/*
+					 * Stop watching
+					 */
+				}
+			}
+
+		}, "Oxide skin watcher");
+
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/*
+	 * Loads the given file if it is watched and, if its skin changed,
+	 * re-skins the frames using the previous skin on the event dispatch
+	 * thread.
+	 */
+	private void reload (Path file) {
+
+		final OxideCompiledSkin previous = watchedSkins.get(file);
+
+		if (previous == null) {
+			return;
+		}
+
+		final OxideCompiledSkin skin;
+
+		try {
+			byte[] content = Files.readAllBytes(file);
+
+			/*
+			 * An empty file is most likely being rewritten
+			 */
+			if (content.length == 0) {
+				return;
+			}
+
+			skin = load(file, content);
+		} catch (IOException e) {
+			return;
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+
+		if (skin == previous || !watchedSkins.replace(file, previous, skin)) {
+			return;
+		}
+
+		EventQueue.invokeLater(new Runnable() {
+
+			@Override
+			public void run () {
+
+				long start = System.nanoTime();
+				List<OxideFrame> frames = new ArrayList<OxideFrame>();
+
+				for (Frame frame : Frame.getFrames()) {
+					if (frame instanceof OxideFrame && frame.isDisplayable()
+							&& ((OxideFrame) frame).getOxideSkin() == previous) {
+						frames.add((OxideFrame) frame);
+					}
+				}
+
+				OxideFrame.batch(frames, new OxideFrame.Update() {
+
+					@Override
+					public void apply (OxideFrame frame) {
+						frame.setOxideSkin(skin);
+					}
+
+				});
+
+				lastApplyNanos = System.nanoTime() - start;
+				reloadCount.incrementAndGet();
+			}
+
+		});
+	}
+
+	/*
+	 * Returns the hexadecimal SHA-256 hash of the given content.
+	 */
+	private static String hash (byte[] content) {
+
+		byte[] digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-256").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+
+		StringBuilder hash = new StringBuilder(2 * digest.length);
+
+		for (byte b : digest) {
+			hash.append(Character.forDigit((b >> 4) & 0xF, 16));
+			hash.append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return hash.toString();
+	}
+
+	/*
+	 * Parses the lines of a skin file into a map of skin values.
+	 */
+	private static Map<String, Object> parseValues (String text) {
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		String[] lines = text.split("\n");
+
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].trim();
+
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			int separator = line.indexOf('=');
+
+			if (separator < 0) {
+				throw new IllegalArgumentException("Line " + (i + 1) + ": expected key = value");
+			}
+
+			String key = line.substring(0, separator).trim();
+			String value = line.substring(separator + 1).trim();
+
+			try {
+				values.put(key, parseValue(key, value));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+			}
+		}
+
+		return values;
+	}
+
+	/*
+	 * Parses the value of the given key according to the key's type.
+	 */
+	private static Object parseValue (String key, String value) {
+
+		if (INT_KEYS.contains(key)) {
+			return Integer.valueOf(parseInt(value));
+		}
+
+		if (COLOR_KEYS.contains(key)) {
+			return parseColor(value);
+		}
+
+		if (FONT_KEYS.contains(key)) {
+			return parseFont(value);
+		}
+
+		if (BORDER_KEYS.contains(key)) {
+			return parseBorder(value);
+		}
+
+		throw new IllegalArgumentException("unknown key " + key);
+	}
+
+	/*
+	 * Parses a non-negative integer.
+	 */
+	private static int parseInt (String value) {
+
+		int i;
+
+		try {
+			i = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("expected an integer but found " + value);
+		}
+
+		if (i < 0) {
+			throw new IllegalArgumentException("expected a non-negative integer but found " + value);
+		}
+
+		return i;
+	}
+
+	/*
+	 * Parses a color of the form #RRGGBB.
+	 */
+	private static Color parseColor (String value) {
+
+		if (value.length() != 7 || value.charAt(0) != '#') {
+			throw new IllegalArgumentException("expected a #RRGGBB color but found " + value);
+		}
+
+		try {
+			return new Color(Integer.parseInt(value.substring(1), 16));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("expected a #RRGGBB color but found " + value);
+		}
+	}
+
+	/*
+	 * Parses a font of the form "name style size", where the name may
+	 * contain spaces.
+	 */
+	private static Font parseFont (String value) {
+
+		String[] tokens = value.split("\\s+");
+
+		if (tokens.length < 3) {
+			throw new IllegalArgumentException("expected name style size but found " + value);
+		}
+
+		String style = tokens[tokens.length - 2].toLowerCase();
+		int fontStyle;
+
+		if (style.equals("plain")) {
+			fontStyle = Font.PLAIN;
+		} else if (style.equals("bold")) {
+			fontStyle = Font.BOLD;
+		} else if (style.equals("italic")) {
+			fontStyle = Font.ITALIC;
+		} else if (style.equals("bolditalic")) {
+			fontStyle = Font.BOLD | Font.ITALIC;
+		} else {
+			throw new IllegalArgumentException("unknown font style " + style);
+		}
+
+		String name = value.substring(0, value.lastIndexOf(tokens[tokens.length - 2])).trim();
+
+		return new Font(name, fontStyle, parseInt(tokens[tokens.length - 1]));
+	}
+
+	/*
+	 * Parses a border of the form "line #RRGGBB thickness" or
+	 * "empty top left bottom right".
+	 */
+	private static AbstractBorder parseBorder (String value) {
+
+		String[] tokens = value.split("\\s+");
+
+		if (tokens[0].equals("line") && (tokens.length == 2 || tokens.length == 3)) {
+			return new LineBorder(parseColor(tokens[1]),
+					(tokens.length == 3 ? parseInt(tokens[2]) : 1));
+		}
+
+		if (tokens[0].equals("empty") && tokens.length == 5) {
+			return new EmptyBorder(parseInt(tokens[1]), parseInt(tokens[2]),
+					parseInt(tokens[3]), parseInt(tokens[4]));
+		}
+
+		throw new IllegalArgumentException("expected line or empty border but found " + value);
+	}
+
+	/**
+	 * LoadedSkin is the OxideSkin defined by the values of a skin file,
+	 * falling back to the loader's base skin for missing values.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static final class LoadedSkin implements OxideSkin {
+
+		private final Map<String, Object> values;
+		private final OxideSkin baseSkin;
+
+		private LoadedSkin (Map<String, Object> values, OxideSkin baseSkin) {
+			this.values = values;
+			this.baseSkin = baseSkin;
+		}
+
+		/*
+		 * Returns the value of the given key, or the given base value if the
+		 * file doesn't define it.
+		 */
+		@SuppressWarnings("unchecked")
+		private <T> T get (String key, T baseValue) {
+			Object value = values.get(key);
+			return (value != null ? (T) value : baseValue);
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getDecorationBorderWidth()
+		 */
+		@Override
+		public int getDecorationBorderWidth () {
+			return get("decorationBorderWidth", baseSkin.getDecorationBorderWidth());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getFrameBorderWidth()
+		 */
+		@Override
+		public int getFrameBorderWidth () {
+			return get("frameBorderWidth", baseSkin.getFrameBorderWidth());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getParentFrameTitleBarHeight()
+		 */
+		@Override
+		public int getParentFrameTitleBarHeight () {
+			return get("parentFrameTitleBarHeight", baseSkin.getParentFrameTitleBarHeight());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getChildFrameTitleBarHeight()
+		 */
+		@Override
+		public int getChildFrameTitleBarHeight () {
+			return get("childFrameTitleBarHeight", baseSkin.getChildFrameTitleBarHeight());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getFrameBorderColor()
+		 */
+		@Override
+		public Color getFrameBorderColor () {
+			return get("frameBorderColor", baseSkin.getFrameBorderColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getDecorationBorderColor()
+		 */
+		@Override
+		public Color getDecorationBorderColor () {
+			return get("decorationBorderColor", baseSkin.getDecorationBorderColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getContentPanelColor()
+		 */
+		@Override
+		public Color getContentPanelColor () {
+			return get("contentPanelColor", baseSkin.getContentPanelColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getMouseHoverBorderColor()
+		 */
+		@Override
+		public Color getMouseHoverBorderColor () {
+			return get("mouseHoverBorderColor", baseSkin.getMouseHoverBorderColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getParentTitleFontFace()
+		 */
+		@Override
+		public Font getParentTitleFontFace () {
+			return get("parentTitleFontFace", baseSkin.getParentTitleFontFace());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getParentTitleFontColor()
+		 */
+		@Override
+		public Color getParentTitleFontColor () {
+			return get("parentTitleFontColor", baseSkin.getParentTitleFontColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getChildTitleFontFace()
+		 */
+		@Override
+		public Font getChildTitleFontFace () {
+			return get("childTitleFontFace", baseSkin.getChildTitleFontFace());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getChildTitleFontColor()
+		 */
+		@Override
+		public Color getChildTitleFontColor () {
+			return get("childTitleFontColor", baseSkin.getChildTitleFontColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getMenuButtonFontFace()
+		 */
+		@Override
+		public Font getMenuButtonFontFace () {
+			return get("menuButtonFontFace", baseSkin.getMenuButtonFontFace());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getMenuButtonFontColor()
+		 */
+		@Override
+		public Color getMenuButtonFontColor () {
+			return get("menuButtonFontColor", baseSkin.getMenuButtonFontColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getMenuButtonSelectedColor()
+		 */
+		@Override
+		public Color getMenuButtonSelectedColor () {
+			return get("menuButtonSelectedColor", baseSkin.getMenuButtonSelectedColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getMenuButtonUnselectedColor()
+		 */
+		@Override
+		public Color getMenuButtonUnselectedColor () {
+			return get("menuButtonUnselectedColor", baseSkin.getMenuButtonUnselectedColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getButtonHoverBorder()
+		 */
+		@Override
+		public AbstractBorder getButtonHoverBorder () {
+			return get("buttonHoverBorder", baseSkin.getButtonHoverBorder());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getButtonDefaultBorder()
+		 */
+		@Override
+		public AbstractBorder getButtonDefaultBorder () {
+			return get("buttonDefaultBorder", baseSkin.getButtonDefaultBorder());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getControlFontFace()
+		 */
+		@Override
+		public Font getControlFontFace () {
+			return get("controlFontFace", baseSkin.getControlFontFace());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getControlFontColor()
+		 */
+		@Override
+		public Color getControlFontColor () {
+			return get("controlFontColor", baseSkin.getControlFontColor());
+		}
+
+		/*
+		 * @see com.doetsch.oxide.OxideSkin#getShadeColor1()
+		 */
+		@Override
+		public Color getShadeColor1 () {
+			return get("shadeColor1", baseSkin.getShadeColor1());
+		}
+
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.doetsch.oxide;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OxideSpatialIndex is a uniform grid of rectangles, used to find the
+ * windows near a point of interest without looking at every window.
+ * Each item is listed in every grid cell its bounds overlap, so a query
+ * only visits the cells overlapping the queried area. Moving an item
+ * within the same cells only replaces its stored bounds.
+ *
+ * Items are compared by identity. An OxideSpatialIndex is not
+ * thread-safe.
+ *
+ * @param <T> the type of the indexed items
+ */
+public final class OxideSpatialIndex<T> {
+
+	private final int cellSize;
+
+	/*
+	 * The items listed in each cell, keyed by packed cell coordinates, and
+	 * each item's entry
+	 */
+	private final Map<Long, List<Entry<T>>> cells = new HashMap<Long, List<Entry<T>>>();
+	private final Map<T, Entry<T>> entries = new IdentityHashMap<T, Entry<T>>();
+
+	/**
+	 * Creates an OxideSpatialIndex whose grid cells are squares of the
+	 * given size.
+	 *
+	 * @param cellSize the width and height of a grid cell in pixels
+	 */
+	public OxideSpatialIndex (int cellSize) {
+
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("Expected a positive cell size");
+		}
+
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Adds the given item with the given bounds, or updates its bounds if
+	 * it is already indexed.
+	 *
+	 * @param item the item to index
+	 * @param bounds the item's bounds
+	 */
+	public void put (T item, Rectangle bounds) {
+
+		Entry<T> entry = entries.get(item);
+
+		int minCellX = cell(bounds.x);
+		int minCellY = cell(bounds.y);
+		int maxCellX = cell(bounds.x + Math.max(bounds.width, 1) - 1);
+		int maxCellY = cell(bounds.y + Math.max(bounds.height, 1) - 1);
+
+		if (entry == null) {
+			entry = new Entry<T>(item);
+			entries.put(item, entry);
+		} else if (entry.minCellX == minCellX && entry.minCellY == minCellY
+				&& entry.maxCellX == maxCellX && entry.maxCellY == maxCellY) {
+			entry.bounds.setBounds(bounds);
+			return;
+		} else {
+			unlist(entry);
+		}
+
+		entry.bounds.setBounds(bounds);
+		entry.minCellX = minCellX;
+		entry.minCellY = minCellY;
+		entry.maxCellX = maxCellX;
+		entry.maxCellY = maxCellY;
+
+		for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+			for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+				Long key = key(cellX, cellY);
+				List<Entry<T>> cell = cells.get(key);
+
+				if (cell == null) {
+					cell = new ArrayList<Entry<T>>(4);
+					cells.put(key, cell);
+				}
+
+				cell.add(entry);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given item from the index.
+	 *
+	 * @param item the item to remove
+	 */
+	public void remove (T item) {
+
+		Entry<T> entry = entries.remove(item);
+
+		if (entry != null) {
+			unlist(entry);
+		}
+	}
+
+	/**
+	 * Returns the indexed bounds of the given item.
+	 *
+	 * @param item the indexed item
+	 * @return a copy of the item's bounds, or null if it isn't indexed
+	 */
+	public Rectangle getBounds (T item) {
+		Entry<T> entry = entries.get(item);
+		return (entry != null ? new Rectangle(entry.bounds) : null);
+	}
+
+	/**
+	 * Returns the number of indexed items.
+	 *
+	 * @return the item count
+	 */
+	public int size () {
+		return entries.size();
+	}
+
+	/**
+	 * Adds every item whose bounds intersect the given area to the given
+	 * collection, each item once.
+	 *
+	 * @param area the area to query
+	 * @param result the collection receiving the items
+	 */
+	public void query (Rectangle area, Collection<? super T> result) {
+
+		if (area.width <= 0 || area.height <= 0) {
+			return;
+		}
+
+		int minCellX = cell(area.x);
+		int minCellY = cell(area.y);
+		int maxCellX = cell(area.x + area.width - 1);
+		int maxCellY = cell(area.y + area.height - 1);
+
+		for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+			for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+				List<Entry<T>> cell = cells.get(key(cellX, cellY));
+
+				if (cell == null) {
+					continue;
+				}
+
+				for (int i = 0; i < cell.size(); i++) {
+					Entry<T> entry = cell.get(i);
+
+					/*
+					 * An item spanning several queried cells is only reported from
+					 * the first of them
+					 */
+					if (cellX == Math.max(entry.minCellX, minCellX)
+							&& cellY == Math.max(entry.minCellY, minCellY)
+							&& entry.bounds.intersects(area)) {
+						result.add(entry.item);
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Removes the given entry from every cell it is listed in.
+	 */
+	private void unlist (Entry<T> entry) {
+
+		for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+			for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+				Long key = key(cellX, cellY);
+				List<Entry<T>> cell = cells.get(key);
+
+				if (cell != null) {
+					cell.remove(entry);
+
+					if (cell.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Returns the grid coordinate of the cell containing the given pixel
+	 * coordinate.
+	 */
+	private int cell (int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	/*
+	 * Packs the given cell coordinates into a map key.
+	 */
+	private static Long key (int cellX, int cellY) {
+		return Long.valueOf(((long) cellX << 32) | (cellY & 0xFFFFFFFFL));
+	}
+
+	/**
+	 * Entry is an indexed item along with its bounds and the range of
+	 * cells it is listed in.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static final class Entry<T> {
+
+		private final T item;
+		private final Rectangle bounds = new Rectangle();
+		private int minCellX;
+		private int minCellY;
+		private int maxCellX;
+		private int maxCellY;
+
+		private Entry (T item) {
+			this.item = item;
+		}
+
+	}
+
+}
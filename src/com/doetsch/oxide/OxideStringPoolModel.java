@@ -0,0 +1,112 @@
+package com.doetsch.oxide;
+
+import java.util.Arrays;
+
+/**
+ * OxideStringPoolModel is an OxideVirtualListModel that stores the text
+ * of every row back-to-back in a single character pool, along with an
+ * array of row offsets into it. No object is kept per row, so the model
+ * holds millions of rows in two primitive arrays.
+ *
+ * An OxideStringPoolModel isn't thread-safe; rows should be added on the
+ * event dispatch thread, or before the model is given to a list.
+ */
+public class OxideStringPoolModel implements OxideVirtualListModel {
+
+	/*
+	 * The text of every row, and the offset of each row within it. The
+	 * offset at rowCount marks the end of the last row.
+	 */
+	private char[] pool;
+	private int[] offsets;
+	private int rowCount;
+
+	/**
+	 * Creates an empty OxideStringPoolModel.
+	 */
+	public OxideStringPoolModel () {
+		this(16, 256);
+	}
+
+	/**
+	 * Creates an empty OxideStringPoolModel sized to hold the given number
+	 * of rows and characters without growing.
+	 * 
+	 * @param rowCapacity the initial number of rows
+	 * @param charCapacity the initial number of characters
+	 */
+	public OxideStringPoolModel (int rowCapacity, int charCapacity) {
+		pool = new char[Math.max(charCapacity, 1)];
+		offsets = new int[Math.max(rowCapacity, 1) + 1];
+	}
+
+	/**
+	 * Appends a row with the given text.
+	 * 
+	 * @param text the row's text
+	 * @return the index of the new row
+	 */
+	public int addRow (CharSequence text) {
+
+		int length = text.length();
+		int start = offsets[rowCount];
+
+		if (start + length > pool.length) {
+			pool = Arrays.copyOf(pool, Math.max(pool.length * 2, start + length));
+		}
+
+		if (rowCount + 2 > offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+
+		for (int i = 0; i < length; i++) {
+			pool[start + i] = text.charAt(i);
+		}
+
+		offsets[++rowCount] = start + length;
+
+		return rowCount - 1;
+	}
+
+	/**
+	 * Removes every row from the model, keeping the allocated pool.
+	 */
+	public void clear () {
+		rowCount = 0;
+	}
+
+	/**
+	 * Returns the text of the given row as a String.
+	 * 
+	 * @param row the index of the row
+	 * @return the row's text
+	 */
+	public String getRowText (int row) {
+		return new String(pool, offsets[row], offsets[row + 1] - offsets[row]);
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideVirtualListModel#getRowCount()
+	 */
+	@Override
+	public int getRowCount () {
+		return rowCount;
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideVirtualListModel#getRowLength(int)
+	 */
+	@Override
+	public int getRowLength (int row) {
+		return offsets[row + 1] - offsets[row];
+	}
+
+	/*
+	 * @see com.doetsch.oxide.OxideVirtualListModel#getRowChars(int, char[], int)
+	 */
+	@Override
+	public void getRowChars (int row, char[] dest, int destOffset) {
+		System.arraycopy(pool, offsets[row], dest, destOffset, offsets[row + 1] - offsets[row]);
+	}
+
+}
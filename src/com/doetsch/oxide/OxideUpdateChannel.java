@@ -0,0 +1,287 @@
+package com.doetsch.oxide;
+
+import java.awt.EventQueue;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OxideUpdateChannel carries property updates for Oxide components from
+ * any thread to the event dispatch thread: OxideFrame title text and
+ * OxideMenuButton selection and enable state. Only the latest value of
+ * each property is kept, and the pending values are applied together in
+ * a single EDT task at most a configured number of times per second. A
+ * worker thread reporting progress in a frame title thousands of times
+ * per second therefore causes a few title changes per second rather
+ * than one invokeLater per update. Values that are superseded before
+ * being applied are counted as dropped.
+ *
+ * The update methods may be called from any thread.
+ */
+public class OxideUpdateChannel {
+
+	/*
+	 * Properties carried by the channel
+	 */
+	private static final int TITLE = 0;
+	private static final int SELECTED = 1;
+	private static final int ENABLED = 2;
+
+	/*
+	 * The scheduler that delays flushes to honor each channel's maximum
+	 * rate, shared by every channel and created on first use
+	 */
+	private static ScheduledExecutorService flushScheduler;
+
+	private final long flushIntervalNanos;
+
+	/*
+	 * The latest unapplied value of each property
+	 */
+	private final ConcurrentHashMap<PropertyKey, Object> pendingValues =
+			new ConcurrentHashMap<PropertyKey, Object>();
+
+	private final AtomicBoolean isFlushScheduled = new AtomicBoolean();
+	private volatile long lastFlushNanos;
+
+	/*
+	 * Channel metrics
+	 */
+	private final AtomicLong updateCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong flushCount = new AtomicLong();
+
+	private final Runnable flushTask = new Runnable() {
+
+		/*
+		 * Applies the pending values on the event dispatch thread
+		 */
+		@Override
+		public void run () {
+			flush();
+		}
+
+	};
+
+	private final Runnable postFlushTask = new Runnable() {
+
+		/*
+		 * Posts a flush to the event dispatch thread once the flush
+		 * interval has elapsed
+		 */
+		@Override
+		public void run () {
+			EventQueue.invokeLater(flushTask);
+		}
+
+	};
+
+	/**
+	 * Creates an OxideUpdateChannel that applies pending updates at most
+	 * the given number of times per second.
+	 *
+	 * @param maxFlushesPerSecond the maximum flush rate
+	 */
+	public OxideUpdateChannel (int maxFlushesPerSecond) {
+
+		if (maxFlushesPerSecond <= 0) {
+			throw new IllegalArgumentException("Expected a positive flush rate");
+		}
+
+		flushIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxFlushesPerSecond;
+		lastFlushNanos = System.nanoTime() - flushIntervalNanos;
+	}
+
+	/**
+	 * Sets the title text of the given frame on the next flush.
+	 *
+	 * @param frame the OxideFrame to update
+	 * @param title a String representation of the title
+	 */
+	public void setTitle (OxideFrame frame, String title) {
+		post(frame, TITLE, (title == null ? "" : title));
+	}
+
+	/**
+	 * Sets the selection state of the given button on the next flush.
+	 *
+	 * @param button the OxideMenuButton to update
+	 * @param isSelected true to select the button
+	 */
+	public void setSelected (OxideMenuButton button, boolean isSelected) {
+		post(button, SELECTED, Boolean.valueOf(isSelected));
+	}
+
+	/**
+	 * Sets the enable state of the given button on the next flush.
+	 *
+	 * @param button the OxideMenuButton to update
+	 * @param isEnabled true to enable the button
+	 */
+	public void setEnabled (OxideMenuButton button, boolean isEnabled) {
+		post(button, ENABLED, Boolean.valueOf(isEnabled));
+	}
+
+	/**
+	 * Returns the number of updates posted to the channel.
+	 *
+	 * @return the update count
+	 */
+	public long getUpdateCount () {
+		return updateCount.get();
+	}
+
+	/**
+	 * Returns the number of updates that were superseded by a later value
+	 * of the same property before being applied.
+	 *
+	 * @return the dropped update count
+	 */
+	public long getDroppedCount () {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Returns the number of times pending updates have been applied.
+	 *
+	 * @return the flush count
+	 */
+	public long getFlushCount () {
+		return flushCount.get();
+	}
+
+	/**
+	 * Returns the number of properties with a value waiting to be applied.
+	 *
+	 * @return the number of pending updates
+	 */
+	public int getPendingCount () {
+		return pendingValues.size();
+	}
+
+	/*
+	 * Records the latest value of the given property and schedules a
+	 * flush if none is scheduled yet.
+	 */
+	private void post (Object target, int property, Object value) {
+
+		if (target == null) {
+			throw new IllegalArgumentException("Expected a target component");
+		}
+
+		updateCount.incrementAndGet();
+
+		if (pendingValues.put(new PropertyKey(target, property), value) != null) {
+			droppedCount.incrementAndGet();
+		}
+
+		if (isFlushScheduled.compareAndSet(false, true)) {
+			long delay = lastFlushNanos + flushIntervalNanos - System.nanoTime();
+
+			if (delay <= 0) {
+				EventQueue.invokeLater(flushTask);
+			} else {
+				getFlushScheduler().schedule(postFlushTask, delay, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	/*
+	 * Applies every pending value. The scheduled flag is cleared first so
+	 * that a value posted while flushing schedules another flush rather
+	 * than being lost.
+	 */
+	private void flush () {
+
+		lastFlushNanos = System.nanoTime();
+		isFlushScheduled.set(false);
+		flushCount.incrementAndGet();
+
+		Iterator<Map.Entry<PropertyKey, Object>> entries = pendingValues.entrySet().iterator();
+
+		while (entries.hasNext()) {
+			Map.Entry<PropertyKey, Object> entry = entries.next();
+			PropertyKey key = entry.getKey();
+			Object value = pendingValues.remove(key);
+
+			if (value == null) {
+				continue;
+			}
+
+			switch (key.property) {
+			case TITLE:
+				((OxideFrame) key.target).setTitle((String) value);
+				break;
+			case SELECTED:
+				((OxideMenuButton) key.target).setSelected(((Boolean) value).booleanValue());
+				break;
+			case ENABLED:
+				((OxideMenuButton) key.target).setEnabled(((Boolean) value).booleanValue());
+				break;
+			}
+		}
+	}
+
+	/*
+	 * Returns the shared flush scheduler, creating it if necessary.
+	 */
+	private static synchronized ScheduledExecutorService getFlushScheduler () {
+
+		if (flushScheduler == null) {
+			flushScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread (Runnable runnable) {
+					Thread thread = new Thread(runnable, "Oxide update channel");
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
+		}
+
+		return flushScheduler;
+	}
+
+	/**
+	 * PropertyKey identifies one property of one component, comparing
+	 * components by identity.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static final class PropertyKey {
+
+		private final Object target;
+		private final int property;
+
+		private PropertyKey (Object target, int property) {
+			this.target = target;
+			this.property = property;
+		}
+
+		@Override
+		public boolean equals (Object o) {
+
+			if (!(o instanceof PropertyKey)) {
+				return false;
+			}
+
+			PropertyKey key = (PropertyKey) o;
+
+			return (key.target == target && key.property == property);
+		}
+
+		@Override
+		public int hashCode () {
+			return (31 * System.identityHashCode(target)) + property;
+		}
+
+	}
+
+}
@@ -0,0 +1,469 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+
+/**
+ * OxideVirtualList is a list component, decorated to adhere to the Oxide
+ * aesthetic, for very large numbers of rows. Every row has the same fixed
+ * height, so the list never measures its rows, and only the rows that
+ * intersect the painted area are read from the model and drawn. Row
+ * text is copied into a single reusable buffer and drawn directly, so
+ * painting, scrolling and selection cost is proportional to the number
+ * of visible rows rather than to the size of the model. The default
+ * OxideListSelectionModel stores the selection as intervals, so that
+ * selecting a row far from the current selection costs no more than
+ * selecting the next one.
+ *
+ * The list should be placed in a JScrollPane.
+ */
+public class OxideVirtualList extends JComponent implements Scrollable {
+
+	/*
+	 * Satisfies Serializable.
+	 */
+	private static final long serialVersionUID = -2190556430716618021L;
+
+	/*
+	 * Horizontal padding of the row text
+	 */
+	private static final int TEXT_INSET = 3;
+
+	private OxideVirtualListModel model;
+	private ListSelectionModel selectionModel;
+
+	/*
+	 * Fixed row geometry; the row height follows the font unless set
+	 */
+	private int rowHeight = 16;
+	private boolean isRowHeightSet;
+	private int preferredRowWidth = 200;
+	private int visibleRowCount = 8;
+
+	private Color selectionBackground;
+
+	/*
+	 * Repaints the visible rows whose selection changed
+	 */
+	private final ListSelectionListener selectionRepainter = new ListSelectionListener() {
+
+		@Override
+		public void valueChanged (ListSelectionEvent e) {
+			repaintRows(e.getFirstIndex(), e.getLastIndex());
+		}
+
+	};
+
+	/*
+	 * Reusable buffer into which row text is copied for painting
+	 */
+	private char[] rowBuffer = new char[64];
+
+	/**
+	 * Creates an OxideVirtualList displaying the rows of the given model.
+	 *
+	 * @param model the OxideVirtualListModel providing the rows
+	 */
+	public OxideVirtualList (OxideVirtualListModel model) {
+
+		this.model = model;
+
+		setOpaque(true);
+		setFocusable(true);
+		setBackground(UIManager.getColor("List.background"));
+		setFont(UIManager.getFont("List.font"));
+		selectionBackground = UIManager.getColor("List.selectionBackground");
+
+		setSelectionModel(new OxideListSelectionModel());
+		initBehavior();
+	}
+
+	/*
+	 * Defines the list's mouse and keyboard selection behavior
+	 */
+	private void initBehavior () {
+
+		/*
+		 * Select the row under the cursor when pressed, extending the
+		 * selection with shift and toggling it with control
+		 */
+		this.addMouseListener(new MouseAdapter() {
+
+			@Override
+			public void mousePressed (MouseEvent e) {
+
+				requestFocusInWindow();
+				int row = rowAtPoint(e.getY());
+
+				if (row < 0) {
+					return;
+				}
+
+				if (e.isShiftDown() && selectionModel.getAnchorSelectionIndex() >= 0) {
+					selectionModel.setSelectionInterval(selectionModel.getAnchorSelectionIndex(), row);
+				} else if (e.isControlDown()) {
+					if (selectionModel.isSelectedIndex(row)) {
+						selectionModel.removeSelectionInterval(row, row);
+					} else {
+						selectionModel.addSelectionInterval(row, row);
+					}
+				} else {
+					selectionModel.setSelectionInterval(row, row);
+				}
+			}
+
+		});
+
+		bindMoveKey(KeyEvent.VK_UP, "selectPreviousRow", -1);
+		bindMoveKey(KeyEvent.VK_DOWN, "selectNextRow", 1);
+		bindMoveKey(KeyEvent.VK_PAGE_UP, "scrollUp", -2);
+		bindMoveKey(KeyEvent.VK_PAGE_DOWN, "scrollDown", 2);
+		bindMoveKey(KeyEvent.VK_HOME, "selectFirstRow", Integer.MIN_VALUE);
+		bindMoveKey(KeyEvent.VK_END, "selectLastRow", Integer.MAX_VALUE);
+	}
+
+	/*
+	 * Binds the given key to an action that moves the lead selection.
+	 * A step of +/-1 moves one row, +/-2 moves one visible page, and
+	 * MIN_VALUE/MAX_VALUE move to the first or last row.
+	 */
+	private void bindMoveKey (int keyCode, String name, final int step) {
+
+		getInputMap(WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+		getActionMap().put(name, new AbstractAction() {
+
+			@Override
+			public void actionPerformed (ActionEvent e) {
+
+				int rowCount = model.getRowCount();
+
+				if (rowCount == 0) {
+					return;
+				}
+
+				int lead = Math.max(selectionModel.getLeadSelectionIndex(), 0);
+				int pageRows = Math.max(getVisibleRect().height / rowHeight, 1);
+				long row;
+
+				switch (step) {
+				case Integer.MIN_VALUE:
+					row = 0;
+					break;
+				case Integer.MAX_VALUE:
+					row = rowCount - 1;
+					break;
+				case -2:
+				case 2:
+					row = (long) lead + (step / 2) * pageRows;
+					break;
+				default:
+					row = (long) lead + step;
+				}
+
+				int target = (int) Math.max(0, Math.min(rowCount - 1, row));
+				selectionModel.setSelectionInterval(target, target);
+				ensureRowIsVisible(target);
+			}
+
+		});
+	}
+
+	/**
+	 * Returns the model providing the list's rows.
+	 *
+	 * @return the list's OxideVirtualListModel
+	 */
+	public OxideVirtualListModel getModel () {
+		return model;
+	}
+
+	/**
+	 * Sets the model providing the list's rows and clears the selection.
+	 *
+	 * @param model the OxideVirtualListModel providing the rows
+	 */
+	public void setModel (OxideVirtualListModel model) {
+		this.model = model;
+		modelChanged();
+	}
+
+	/**
+	 * Notifies the list that rows were added to or removed from its model.
+	 * The selection is cleared and the list is laid out again.
+	 */
+	public void modelChanged () {
+		selectionModel.clearSelection();
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Returns the selection model of the list.
+	 *
+	 * @return the list's ListSelectionModel
+	 */
+	public ListSelectionModel getSelectionModel () {
+		return selectionModel;
+	}
+
+	/**
+	 * Sets the selection model of the list. Selection changes repaint only
+	 * the changed rows that are visible. A DefaultListSelectionModel keeps
+	 * one bit per row and takes time proportional to the distance between
+	 * the old and the new selection to change it, unlike the default
+	 * OxideListSelectionModel.
+	 *
+	 * @param selectionModel the ListSelectionModel to use
+	 */
+	public void setSelectionModel (ListSelectionModel selectionModel) {
+
+		if (this.selectionModel != null) {
+			this.selectionModel.removeListSelectionListener(selectionRepainter);
+		}
+
+		this.selectionModel = selectionModel;
+		selectionModel.addListSelectionListener(selectionRepainter);
+
+		repaint();
+	}
+
+	/**
+	 * Returns the index of the first selected row.
+	 *
+	 * @return the index of the first selected row, or -1 if none is selected
+	 */
+	public int getSelectedIndex () {
+		return selectionModel.getMinSelectionIndex();
+	}
+
+	/**
+	 * Selects the given row and scrolls it into view.
+	 *
+	 * @param row the index of the row to select
+	 */
+	public void setSelectedIndex (int row) {
+		selectionModel.setSelectionInterval(row, row);
+		ensureRowIsVisible(row);
+	}
+
+	/**
+	 * Returns the fixed height of every row.
+	 *
+	 * @return the row height in pixels
+	 */
+	public int getRowHeight () {
+		return rowHeight;
+	}
+
+	/**
+	 * Sets the fixed height of every row, overriding the height derived
+	 * from the list's font.
+	 *
+	 * @param rowHeight the row height in pixels
+	 */
+	public void setRowHeight (int rowHeight) {
+		this.rowHeight = Math.max(rowHeight, 1);
+		this.isRowHeightSet = true;
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Sets the preferred width of the list. Row widths are never measured,
+	 * so the list's preferred width doesn't depend on its rows.
+	 *
+	 * @param preferredRowWidth the preferred width in pixels
+	 */
+	public void setPreferredRowWidth (int preferredRowWidth) {
+		this.preferredRowWidth = preferredRowWidth;
+		revalidate();
+	}
+
+	/**
+	 * Sets the number of rows shown by a scroll pane's viewport when it's
+	 * sized to the list's preferred viewport size.
+	 *
+	 * @param visibleRowCount the number of visible rows
+	 */
+	public void setVisibleRowCount (int visibleRowCount) {
+		this.visibleRowCount = visibleRowCount;
+		revalidate();
+	}
+
+	/**
+	 * Sets the background color of selected rows.
+	 *
+	 * @param selectionBackground the selected row Color
+	 */
+	public void setSelectionBackground (Color selectionBackground) {
+		this.selectionBackground = selectionBackground;
+		repaint();
+	}
+
+	/**
+	 * Returns the index of the row at the given y position.
+	 *
+	 * @param y the y position within the list
+	 * @return the row index, or -1 if there is no row at the position
+	 */
+	public int rowAtPoint (int y) {
+		int row = (y < 0 ? -1 : y / rowHeight);
+		return (row < model.getRowCount() ? row : -1);
+	}
+
+	/**
+	 * Scrolls the list such that the given row is visible.
+	 *
+	 * @param row the index of the row
+	 */
+	public void ensureRowIsVisible (int row) {
+		scrollRectToVisible(new Rectangle(0, row * rowHeight, 1, rowHeight));
+	}
+
+	/**
+	 * Sets the list's font and, unless the row height was set explicitly,
+	 * derives the row height from it.
+	 *
+	 * @param font the list's Font
+	 */
+	@Override
+	public void setFont (Font font) {
+
+		super.setFont(font);
+
+		if (!isRowHeightSet && font != null) {
+			FontMetrics metrics = getFontMetrics(font);
+			rowHeight = metrics.getHeight() + 2;
+		}
+
+		revalidate();
+	}
+
+	/*
+	 * @see javax.swing.JComponent#getPreferredSize()
+	 */
+	@Override
+	public Dimension getPreferredSize () {
+		long height = (long) model.getRowCount() * rowHeight;
+		return new Dimension(preferredRowWidth, (int) Math.min(height, Integer.MAX_VALUE));
+	}
+
+	/*
+	 * Paints only the rows that intersect the clip.
+	 */
+	@Override
+	protected void paintComponent (Graphics g) {
+
+		Rectangle clip = g.getClipBounds();
+		int rowCount = model.getRowCount();
+
+		if (isOpaque()) {
+			g.setColor(getBackground());
+			g.fillRect(clip.x, clip.y, clip.width, clip.height);
+		}
+
+		if (rowCount == 0) {
+			return;
+		}
+
+		int firstRow = Math.max(clip.y / rowHeight, 0);
+		int lastRow = Math.min((clip.y + clip.height - 1) / rowHeight, rowCount - 1);
+
+		g.setFont(getFont());
+		FontMetrics metrics = g.getFontMetrics();
+		int baseline = (rowHeight - metrics.getHeight()) / 2 + metrics.getAscent();
+		int width = getWidth();
+
+		for (int row = firstRow; row <= lastRow; row++) {
+			int y = row * rowHeight;
+
+			if (selectionModel.isSelectedIndex(row)) {
+				g.setColor(selectionBackground);
+				g.fillRect(0, y, width, rowHeight);
+			}
+
+			int length = model.getRowLength(row);
+
+			if (length > rowBuffer.length) {
+				rowBuffer = new char[Math.max(length, rowBuffer.length * 2)];
+			}
+
+			model.getRowChars(row, rowBuffer, 0);
+			g.setColor(getForeground());
+			g.drawChars(rowBuffer, 0, length, TEXT_INSET, y + baseline);
+		}
+	}
+
+	/*
+	 * Repaints the given range of rows, clipped to the visible area.
+	 */
+	private void repaintRows (int firstRow, int lastRow) {
+
+		Rectangle visible = getVisibleRect();
+		long top = Math.max((long) firstRow * rowHeight, visible.y);
+		long bottom = Math.min(((long) lastRow + 1) * rowHeight, (long) visible.y + visible.height);
+
+		if (top < bottom) {
+			repaint(visible.x, (int) top, visible.width, (int) (bottom - top));
+		}
+	}
+
+	/*
+	 * @see javax.swing.Scrollable#getPreferredScrollableViewportSize()
+	 */
+	@Override
+	public Dimension getPreferredScrollableViewportSize () {
+		return new Dimension(preferredRowWidth, visibleRowCount * rowHeight);
+	}
+
+	/*
+	 * @see javax.swing.Scrollable#getScrollableUnitIncrement(java.awt.Rectangle, int, int)
+	 */
+	@Override
+	public int getScrollableUnitIncrement (Rectangle visibleRect, int orientation, int direction) {
+		return (orientation == SwingConstants.VERTICAL ? rowHeight : TEXT_INSET * 4);
+	}
+
+	/*
+	 * @see javax.swing.Scrollable#getScrollableBlockIncrement(java.awt.Rectangle, int, int)
+	 */
+	@Override
+	public int getScrollableBlockIncrement (Rectangle visibleRect, int orientation, int direction) {
+		return (orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width);
+	}
+
+	/*
+	 * @see javax.swing.Scrollable#getScrollableTracksViewportWidth()
+	 */
+	@Override
+	public boolean getScrollableTracksViewportWidth () {
+		return true;
+	}
+
+	/*
+	 * @see javax.swing.Scrollable#getScrollableTracksViewportHeight()
+	 */
+	@Override
+	public boolean getScrollableTracksViewportHeight () {
+		return false;
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.doetsch.oxide;
+
+/**
+ * OxideVirtualListModel is an interface that declares the member method
+ * stubs an OxideVirtualList uses to read its rows. Rows are read as
+ * characters copied into a buffer owned by the list so that painting
+ * a row doesn't allocate.
+ */
+public interface OxideVirtualListModel {
+
+	/**
+	 * Returns the number of rows in the model.
+	 * 
+	 * @return the number of rows
+	 */
+	public int getRowCount ();
+	
+	/**
+	 * Returns the number of characters in the given row's text.
+	 * 
+	 * @param row the index of the row
+	 * @return the length of the row's text
+	 */
+	public int getRowLength (int row);
+	
+	/**
+	 * Copies the given row's text into the given array.
+	 * 
+	 * @param row the index of the row
+	 * @param dest the array into which the characters are copied
+	 * @param destOffset the position in the array of the first character
+	 */
+	public void getRowChars (int row, char[] dest, int destOffset);
+	
+}
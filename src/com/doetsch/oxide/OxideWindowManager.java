@@ -0,0 +1,487 @@
+package com.doetsch.oxide;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Frame;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.AbstractAction;
+
+/**
+ * OxideWindowManager keeps track of a group of OxideFrames and applies
+ * changes to all of them at once. Frames register with a manager when
+ * they are created, the default manager unless the OxideFrame.Builder
+ * says otherwise, and are removed from it when they are disposed.
+ *
+ * Every bulk operation runs as a single task on the event dispatch
+ * thread, posted there if called from another thread, in which each
+ * frame's layout, validation and repaint are deferred until all frames
+ * have been updated (see OxideFrame.batch(Collection, Update)).
+ * Registration is synchronized, so frames may be created on any thread,
+ * and a manager holding thousands of frames registers and removes them
+ * in constant time.
+ *
+ * A manager can also snap frames dragged by their title bar to the edges
+ * of nearby frames, docking them side by side or aligning their edges.
+ * The frames' window bounds are kept in an OxideSpatialIndex that is
+ * updated whenever a frame moves, so each drag event only looks at the
+ * frames near the dragged one.
+ */
+public class OxideWindowManager {
+
+	/*
+	 * Rough retained size of one Swing component, including its UI
+	 * delegate, listeners and client properties, used by
+	 * getEstimatedRetainedBytes()
+	 */
+	private static final long COMPONENT_BYTES = 2048;
+
+	/*
+	 * Size of the grid cells indexing the frames' window bounds
+	 */
+	private static final int INDEX_CELL_SIZE = 256;
+
+	private static final OxideWindowManager defaultManager = new OxideWindowManager();
+
+	/*
+	 * Registered frames in registration order
+	 */
+	private final Set<OxideFrame> frames = new LinkedHashSet<OxideFrame>();
+
+	/*
+	 * The registered frames' window bounds, kept up to date as they move,
+	 * and the distance within which dragged frames snap to them
+	 */
+	private final OxideSpatialIndex<OxideFrame> frameIndex =
+			new OxideSpatialIndex<OxideFrame>(INDEX_CELL_SIZE);
+	private int snapDistance;
+
+	/*
+	 * Manager metrics
+	 */
+	private long registeredCount;
+	private long unregisteredCount;
+	private long bulkOperationCount;
+	private volatile long lastBulkOperationNanos;
+
+	/**
+	 * Creates an OxideWindowManager with no frames.
+	 */
+	public OxideWindowManager () {
+
+	}
+
+	/**
+	 * Returns the window manager that frames register with by default.
+	 *
+	 * @return the default OxideWindowManager
+	 */
+	public static OxideWindowManager getDefault () {
+		return defaultManager;
+	}
+
+	/**
+	 * Returns a snapshot of the registered frames in registration order.
+	 *
+	 * @return a new List of the registered OxideFrames
+	 */
+	public synchronized List<OxideFrame> getFrames () {
+		return new ArrayList<OxideFrame>(frames);
+	}
+
+	/**
+	 * Returns the number of registered frames.
+	 *
+	 * @return the registered frame count
+	 */
+	public synchronized int getFrameCount () {
+		return frames.size();
+	}
+
+	/**
+	 * Returns the number of registered frames that are currently visible.
+	 *
+	 * @return the visible frame count
+	 */
+	public int getVisibleFrameCount () {
+
+		int visibleCount = 0;
+
+		for (OxideFrame frame : getFrames()) {
+			if (frame.isVisible()) {
+				visibleCount++;
+			}
+		}
+
+		return visibleCount;
+	}
+
+	/**
+	 * Returns the number of frames ever registered with the manager.
+	 *
+	 * @return the total registration count
+	 */
+	public synchronized long getRegisteredCount () {
+		return registeredCount;
+	}
+
+	/**
+	 * Returns the number of frames removed from the manager on disposal.
+	 *
+	 * @return the total removal count
+	 */
+	public synchronized long getUnregisteredCount () {
+		return unregisteredCount;
+	}
+
+	/**
+	 * Returns the number of bulk operations the manager has applied.
+	 *
+	 * @return the bulk operation count
+	 */
+	public synchronized long getBulkOperationCount () {
+		return bulkOperationCount;
+	}
+
+	/**
+	 * Returns the time taken by the most recent bulk operation on the
+	 * event dispatch thread.
+	 *
+	 * @return the last bulk operation time in nanoseconds
+	 */
+	public long getLastBulkOperationNanos () {
+		return lastBulkOperationNanos;
+	}
+
+	/**
+	 * Returns a rough estimate of the heap retained by the registered
+	 * frames' component trees, counting a fixed size per component. The
+	 * estimate is meant for comparing workspaces, not for exact
+	 * accounting. It walks every component tree and should be called on
+	 * the event dispatch thread.
+	 *
+	 * @return the estimated retained size in bytes
+	 */
+	public long getEstimatedRetainedBytes () {
+
+		long retainedBytes = 0;
+
+		for (OxideFrame frame : getFrames()) {
+			retainedBytes += COMPONENT_BYTES * (1 + countComponents(frame));
+		}
+
+		return retainedBytes;
+	}
+
+	/**
+	 * Re-skins every registered frame.
+	 *
+	 * @param skin the OxideSkin with which to decorate the frames
+	 */
+	public void setOxideSkin (OxideSkin skin) {
+
+		final OxideCompiledSkin compiledSkin = OxideCompiledSkin.compile(skin);
+
+		apply(new OxideFrame.Update() {
+
+			@Override
+			public void apply (OxideFrame frame) {
+				frame.setOxideSkin(compiledSkin);
+			}
+
+		});
+	}
+
+	/**
+	 * Moves every visible registered frame by the given offset.
+	 *
+	 * @param deltaX the horizontal offset in pixels
+	 * @param deltaY the vertical offset in pixels
+	 */
+	public void moveBy (final int deltaX, final int deltaY) {
+
+		apply(new OxideFrame.Update() {
+
+			@Override
+			public void apply (OxideFrame frame) {
+
+				if (frame.isVisible()) {
+					Rectangle bounds = frame.getContentPaneBounds();
+					frame.setBounds(bounds.x + deltaX, bounds.y + deltaY, bounds.width, bounds.height);
+				}
+			}
+
+		});
+	}
+
+	/**
+	 * Cascades the visible registered frames, in registration order, from
+	 * the given position, offsetting each frame's content pane by the
+	 * given step from the previous one.
+	 *
+	 * @param left the x position of the first frame's content pane
+	 * @param top the y position of the first frame's content pane
+	 * @param step the offset between consecutive frames in pixels
+	 */
+	public void cascade (final int left, final int top, final int step) {
+
+		apply(new OxideFrame.Update() {
+
+			private int index;
+
+			@Override
+			public void apply (OxideFrame frame) {
+
+				if (frame.isVisible()) {
+					Rectangle bounds = frame.getContentPaneBounds();
+					frame.setBounds(left + (index * step), top + (index * step),
+							bounds.width, bounds.height);
+					index++;
+				}
+			}
+
+		});
+	}
+
+	/**
+	 * Minimizes every visible registered frame.
+	 */
+	public void minimizeAll () {
+		setExtendedState(Frame.ICONIFIED);
+	}
+
+	/**
+	 * Restores every visible registered frame.
+	 */
+	public void restoreAll () {
+		setExtendedState(Frame.NORMAL);
+	}
+
+	/**
+	 * Closes every registered frame by performing its close button
+	 * behavior, so that frames which are pooled or confirm before closing
+	 * behave as if their close button had been pressed.
+	 */
+	public void closeAll () {
+
+		apply(new OxideFrame.Update() {
+
+			@Override
+			public void apply (OxideFrame frame) {
+
+				AbstractAction closeBehavior = frame.getCloseButtonBehavior();
+
+				if (closeBehavior != null) {
+					closeBehavior.actionPerformed(null);
+				}
+			}
+
+		});
+	}
+
+	/**
+	 * Returns the distance within which dragged frames snap to the edges
+	 * of other frames.
+	 *
+	 * @return the snap distance in pixels, 0 if snapping is disabled
+	 */
+	public synchronized int getSnapDistance () {
+		return snapDistance;
+	}
+
+	/**
+	 * Sets the distance within which frames dragged by their title bar
+	 * snap to the edges of the manager's other visible frames. Snapping is
+	 * disabled by default.
+	 *
+	 * @param snapDistance the snap distance in pixels, or 0 to disable
+	 * snapping
+	 */
+	public synchronized void setSnapDistance (int snapDistance) {
+
+		if (snapDistance < 0) {
+			throw new IllegalArgumentException("Expected a non-negative snap distance");
+		}
+
+		this.snapDistance = snapDistance;
+	}
+
+	/**
+	 * Returns the location to which a window with the given bounds snaps:
+	 * each of its edges within the snap distance of a nearby frame's edge,
+	 * either the facing edge or the edge on the same side, is moved onto
+	 * that edge, the nearest edge winning. Only visible, non-minimized
+	 * frames other than the given frame are snapped to.
+	 *
+	 * @param frame the frame being moved, or null
+	 * @param bounds the window bounds the frame is being moved to
+	 * @return the snapped window location
+	 */
+	public synchronized Point snap (OxideFrame frame, Rectangle bounds) {
+
+		Point location = bounds.getLocation();
+
+		if (snapDistance == 0) {
+			return location;
+		}
+
+		int d = snapDistance;
+		List<OxideFrame> nearbyFrames = new ArrayList<OxideFrame>();
+		frameIndex.query(new Rectangle(bounds.x - d, bounds.y - d,
+				bounds.width + (2 * d), bounds.height + (2 * d)), nearbyFrames);
+
+		int snapX = d + 1;
+		int snapY = d + 1;
+
+		for (OxideFrame other : nearbyFrames) {
+
+			if (other == frame || !other.isVisible()
+					|| (other.getExtendedState() & Frame.ICONIFIED) != 0) {
+				continue;
+			}
+
+			Rectangle o = frameIndex.getBounds(other);
+
+			/*
+			 * Snap horizontally to frames beside this one, and vertically to
+			 * frames above or below it
+			 */
+			if (bounds.y < o.y + o.height + d && o.y < bounds.y + bounds.height + d) {
+				snapX = nearest(snapX, o.x + o.width - bounds.x);
+				snapX = nearest(snapX, o.x - (bounds.x + bounds.width));
+				snapX = nearest(snapX, o.x - bounds.x);
+				snapX = nearest(snapX, o.x + o.width - (bounds.x + bounds.width));
+			}
+
+			if (bounds.x < o.x + o.width + d && o.x < bounds.x + bounds.width + d) {
+				snapY = nearest(snapY, o.y + o.height - bounds.y);
+				snapY = nearest(snapY, o.y - (bounds.y + bounds.height));
+				snapY = nearest(snapY, o.y - bounds.y);
+				snapY = nearest(snapY, o.y + o.height - (bounds.y + bounds.height));
+			}
+		}
+
+		if (Math.abs(snapX) <= d) {
+			location.x += snapX;
+		}
+
+		if (Math.abs(snapY) <= d) {
+			location.y += snapY;
+		}
+
+		return location;
+	}
+
+	/*
+	 * Returns whichever of the given offsets is closer to zero.
+	 */
+	private static int nearest (int offset, int candidate) {
+		return (Math.abs(candidate) < Math.abs(offset) ? candidate : offset);
+	}
+
+	/*
+	 * Adds the given frame to the manager.
+	 */
+	synchronized void register (OxideFrame frame) {
+
+		if (frames.add(frame)) {
+			registeredCount++;
+			frameIndex.put(frame, frame.getBounds());
+		}
+	}
+
+	/*
+	 * Removes the given frame from the manager.
+	 */
+	synchronized void unregister (OxideFrame frame) {
+
+		if (frames.remove(frame)) {
+			unregisteredCount++;
+			frameIndex.remove(frame);
+		}
+	}
+
+	/*
+	 * Updates the indexed window bounds of the given frame after it moved
+	 * or was resized.
+	 */
+	synchronized void frameMoved (OxideFrame frame) {
+
+		if (frames.contains(frame)) {
+			frameIndex.put(frame, frame.getBounds());
+		}
+	}
+
+	/*
+	 * Sets the extended state of every visible registered frame.
+	 */
+	private void setExtendedState (final int state) {
+
+		apply(new OxideFrame.Update() {
+
+			@Override
+			public void apply (OxideFrame frame) {
+
+				if (frame.isVisible() && frame.getExtendedState() != state) {
+					frame.setExtendedState(state);
+				}
+			}
+
+		});
+	}
+
+	/*
+	 * Applies the given update to a snapshot of the registered frames in a
+	 * single batch on the event dispatch thread, timing the batch.
+	 */
+	private void apply (final OxideFrame.Update update) {
+
+		synchronized (this) {
+			bulkOperationCount++;
+		}
+
+		final List<OxideFrame> snapshot = getFrames();
+
+		Runnable bulkOperation = new Runnable() {
+
+			@Override
+			public void run () {
+				long start = System.nanoTime();
+				OxideFrame.batch(snapshot, update);
+				lastBulkOperationNanos = System.nanoTime() - start;
+			}
+
+		};
+
+		if (EventQueue.isDispatchThread()) {
+			bulkOperation.run();
+		} else {
+			EventQueue.invokeLater(bulkOperation);
+		}
+	}
+
+	/*
+	 * Returns the number of components below the given container.
+	 */
+	private static int countComponents (Container container) {
+
+		int count = 0;
+
+		for (Component child : container.getComponents()) {
+			count++;
+
+			if (child instanceof Container) {
+				count += countComponents((Container) child);
+			}
+		}
+
+		return count;
+	}
+
+}
@@ -0,0 +1,412 @@
+package com.doetsch.oxide;
+
+import java.awt.EventQueue;
+import java.awt.Frame;
+import java.awt.Rectangle;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OxideWorkspaceLayout saves the layout of a set of OxideFrames to a
+ * compact binary file and recreates the frames from it, so that a
+ * workspace of hundreds of frames can be restored on startup without
+ * configuring each frame separately.
+ *
+ * For each frame the file holds its content pane bounds, title, whether
+ * it is a parent or child frame, whether it is minimized and the id of
+ * its skin. Skins are identified through the ids they are registered
+ * with; a frame whose skin isn't registered is saved without one and
+ * restored with the layout's default skin. The file starts with the
+ * magic number 0x4F58574C ("OXWL") and a format version, followed by the
+ * table of skin ids and one fixed-order record per frame.
+ *
+ * Restoring reads the file through a memory-mapped buffer and then
+ * creates, decorates, lays out and shows every frame in a single pass on
+ * the event dispatch thread, each frame being laid out once with its
+ * final geometry.
+ */
+public final class OxideWorkspaceLayout {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/*
+	 * The file header
+	 */
+	private static final int MAGIC = 0x4F58574C;
+	private static final int VERSION = 1;
+
+	/*
+	 * Bits of a frame record's flags
+	 */
+	private static final int FLAG_PARENT_FRAME = 1;
+	private static final int FLAG_MINIMIZED = 2;
+
+	private final OxideCompiledSkin defaultSkin;
+
+	/*
+	 * Registered skins by id, and ids by skin
+	 */
+	private final Map<String, OxideCompiledSkin> skins = new HashMap<String, OxideCompiledSkin>();
+	private final Map<OxideCompiledSkin, String> skinIds =
+			new IdentityHashMap<OxideCompiledSkin, String>();
+
+	/*
+	 * Timing of the most recent save, read and restore
+	 */
+	private volatile long lastSaveNanos;
+	private volatile long lastReadNanos;
+	private volatile long lastRestoreNanos;
+
+	/**
+	 * Creates an OxideWorkspaceLayout that restores frames without a
+	 * registered skin with the given skin.
+	 *
+	 * @param defaultSkin the OxideSkin of frames saved without a skin id
+	 */
+	public OxideWorkspaceLayout (OxideSkin defaultSkin) {
+		this.defaultSkin = OxideCompiledSkin.compile(defaultSkin);
+	}
+
+	/**
+	 * Registers the given skin under the given id. Frames are matched to
+	 * registered skins by identity, so they should be decorated with the
+	 * returned compiled skin.
+	 *
+	 * @param id the id to save the skin's frames with
+	 * @param skin the OxideSkin to register
+	 * @return the compiled skin registered under the id
+	 */
+	public synchronized OxideCompiledSkin registerSkin (String id, OxideSkin skin) {
+
+		OxideCompiledSkin compiledSkin = OxideCompiledSkin.compile(skin);
+		OxideCompiledSkin previous = skins.put(id, compiledSkin);
+
+		if (previous != null) {
+			skinIds.remove(previous);
+		}
+
+		skinIds.put(compiledSkin, id);
+
+		return compiledSkin;
+	}
+
+	/**
+	 * Returns the skin registered under the given id.
+	 *
+	 * @param id the skin's id
+	 * @return the registered compiled skin, or null if none is registered
+	 * under the id
+	 */
+	public synchronized OxideCompiledSkin getSkin (String id) {
+		return skins.get(id);
+	}
+
+	/**
+	 * Saves the layout of the given frames to the given file, replacing
+	 * it. The file is written to a temporary file first and then moved
+	 * into place, so an interrupted save leaves the previous layout
+	 * intact. This method should be called on the event dispatch thread.
+	 *
+	 * @param file the path of the layout file
+	 * @param frames the OxideFrames to save, in the order to restore them
+	 * @throws IOException if the file can't be written
+	 */
+	public void save (Path file, Collection<? extends OxideFrame> frames) throws IOException {
+
+		long start = System.nanoTime();
+
+		List<String> ids = new ArrayList<String>();
+		Map<String, Integer> idIndexes = new HashMap<String, Integer>();
+		int[] skinIndexes = new int[frames.size()];
+		int frameIndex = 0;
+
+		synchronized (this) {
+			for (OxideFrame frame : frames) {
+				String id = skinIds.get(frame.getOxideSkin());
+				Integer index = (id != null ? idIndexes.get(id) : null);
+
+				if (id != null && index == null) {
+					index = Integer.valueOf(ids.size());
+					idIndexes.put(id, index);
+					ids.add(id);
+				}
+
+				skinIndexes[frameIndex++] = (index != null ? index.intValue() : -1);
+			}
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + (frames.size() * 48));
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+
+		out.writeShort(ids.size());
+
+		for (String id : ids) {
+			writeString(out, id);
+		}
+
+		out.writeInt(frames.size());
+		frameIndex = 0;
+
+		for (OxideFrame frame : frames) {
+			Rectangle bounds = frame.getContentPaneBounds();
+
+			out.writeInt(bounds.x);
+			out.writeInt(bounds.y);
+			out.writeInt(bounds.width);
+			out.writeInt(bounds.height);
+			out.writeByte((frame.isParentFrame() ? FLAG_PARENT_FRAME : 0)
+					| ((frame.getExtendedState() & Frame.ICONIFIED) != 0 ? FLAG_MINIMIZED : 0));
+			out.writeShort(skinIndexes[frameIndex++]);
+			writeString(out, (frame.getTitle() != null ? frame.getTitle() : ""));
+		}
+
+		out.flush();
+
+		Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(temporaryFile, bytes.toByteArray());
+		Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+		lastSaveNanos = System.nanoTime() - start;
+	}
+
+	/**
+	 * Recreates the frames saved in the given layout file. The file is read
+	 * on the calling thread; the frames are then created, configured by
+	 * the given initializer and shown in a single pass on the event
+	 * dispatch thread, which this method waits for.
+	 *
+	 * @param file the path of the layout file
+	 * @param initializer an Update applied to each frame before it is
+	 * shown, for instance to add its content, or null
+	 * @return the restored OxideFrames, in the order they were saved
+	 * @throws IOException if the file can't be read or the thread is
+	 * interrupted while waiting for the frames
+	 * @throws IllegalArgumentException if the file isn't a layout file of
+	 * a supported version or is truncated
+	 */
+	public List<OxideFrame> restore (Path file, final OxideFrame.Update initializer) throws IOException {
+
+		long start = System.nanoTime();
+		final List<SavedFrame> savedFrames = read(file);
+		lastReadNanos = System.nanoTime() - start;
+
+		final List<OxideFrame> frames = new ArrayList<OxideFrame>(savedFrames.size());
+
+		Runnable restoreFrames = new Runnable() {
+
+			/*
+			 * Builds every frame with its final geometry, then shows them
+			 */
+			@Override
+			public void run () {
+
+				for (SavedFrame savedFrame : savedFrames) {
+					OxideFrame frame = new OxideFrame.Builder(savedFrame.skin)
+							.parentFrame(savedFrame.isParentFrame)
+							.title(savedFrame.title)
+							.bounds(savedFrame.bounds)
+							.visible(false)
+							.build();
+
+					if (initializer != null) {
+						initializer.apply(frame);
+					}
+
+					frames.add(frame);
+				}
+
+				for (int i = 0; i < frames.size(); i++) {
+					if (savedFrames.get(i).isMinimized) {
+						frames.get(i).setExtendedState(Frame.ICONIFIED);
+					}
+
+					frames.get(i).setVisible(true);
+				}
+			}
+
+		};
+
+		if (EventQueue.isDispatchThread()) {
+			restoreFrames.run();
+		} else {
+			try {
+				EventQueue.invokeAndWait(restoreFrames);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while restoring frames");
+			} catch (InvocationTargetException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+
+				throw new IllegalStateException("Failed to restore frames", e.getCause());
+			}
+		}
+
+		lastRestoreNanos = System.nanoTime() - start;
+
+		return frames;
+	}
+
+	/**
+	 * Returns the time taken by the most recent save.
+	 *
+	 * @return the last save time in nanoseconds
+	 */
+	public long getLastSaveNanos () {
+		return lastSaveNanos;
+	}
+
+	/**
+	 * Returns the time taken to read and decode the layout file during the
+	 * most recent restore.
+	 *
+	 * @return the last read time in nanoseconds
+	 */
+	public long getLastReadNanos () {
+		return lastReadNanos;
+	}
+
+	/**
+	 * Returns the total time taken by the most recent restore, from
+	 * reading the layout file to having shown every frame.
+	 *
+	 * @return the last restore time in nanoseconds
+	 */
+	public long getLastRestoreNanos () {
+		return lastRestoreNanos;
+	}
+
+	/*
+	 * Reads the saved frames from the given layout file through a
+	 * memory-mapped buffer.
+	 */
+	private List<SavedFrame> read (Path file) throws IOException {
+
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+		try {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+				throw new IllegalArgumentException("Not an Oxide workspace layout: " + file);
+			}
+
+			int version = buffer.getShort();
+
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported workspace layout version: " + version);
+			}
+
+			OxideCompiledSkin[] skinTable = new OxideCompiledSkin[buffer.getShort() & 0xFFFF];
+
+			synchronized (this) {
+				for (int i = 0; i < skinTable.length; i++) {
+					OxideCompiledSkin skin = skins.get(readString(buffer));
+					skinTable[i] = (skin != null ? skin : defaultSkin);
+				}
+			}
+
+			int frameCount = buffer.getInt();
+
+			if (frameCount < 0) {
+				throw new IllegalArgumentException("Malformed workspace layout: " + file);
+			}
+
+			List<SavedFrame> savedFrames = new ArrayList<SavedFrame>(Math.min(frameCount, 4096));
+
+			for (int i = 0; i < frameCount; i++) {
+				Rectangle bounds = new Rectangle(buffer.getInt(), buffer.getInt(),
+						buffer.getInt(), buffer.getInt());
+				int flags = buffer.get();
+				int skinIndex = buffer.getShort();
+
+				if (skinIndex >= skinTable.length) {
+					throw new IllegalArgumentException("Malformed workspace layout: " + file);
+				}
+
+				savedFrames.add(new SavedFrame(bounds, readString(buffer),
+						(flags & FLAG_PARENT_FRAME) != 0, (flags & FLAG_MINIMIZED) != 0,
+						(skinIndex >= 0 ? skinTable[skinIndex] : defaultSkin)));
+			}
+
+			return savedFrames;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated workspace layout: " + file);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/*
+	 * Writes the given string as its UTF-8 length followed by its UTF-8
+	 * bytes.
+	 */
+	private static void writeString (DataOutputStream out, String s) throws IOException {
+
+		byte[] bytes = s.getBytes(UTF_8);
+
+		if (bytes.length > 0xFFFF) {
+			throw new IllegalArgumentException("String too long to save: " + s.length() + " chars");
+		}
+
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	/*
+	 * Reads a string written by writeString.
+	 */
+	private static String readString (MappedByteBuffer buffer) {
+
+		byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * SavedFrame is the layout of a frame as read from a layout file.
+	 *
+	 * @author Jacob Wesley Doetsch
+	 */
+	private static final class SavedFrame {
+
+		private final Rectangle bounds;
+		private final String title;
+		private final boolean isParentFrame;
+		private final boolean isMinimized;
+		private final OxideCompiledSkin skin;
+
+		private SavedFrame (Rectangle bounds, String title, boolean isParentFrame,
+				boolean isMinimized, OxideCompiledSkin skin) {
+			this.bounds = bounds;
+			this.title = title;
+			this.isParentFrame = isParentFrame;
+			this.isMinimized = isMinimized;
+			this.skin = skin;
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.EventQueue;
+import java.awt.event.ContainerAdapter;
+import java.awt.event.ContainerEvent;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideComponentFactory.buildInto(..) builds subtrees off the
+ * event dispatch thread, publishes them on it in a single step, and
+ * doesn't leave the subtree of a cancelled build in its container.
+ */
+@CacioTest
+class OxideComponentFactoryTest {
+
+	private OxideFrame frame;
+	private ExecutorService executor;
+
+	@BeforeEach
+	void createFrame () throws Exception {
+		executor = Executors.newSingleThreadExecutor();
+		frame = OxideTestSupport.onEdt(() -> new OxideFrame.Builder(new OxideDefaultSkin())
+				.title("Factory")
+				.bounds(100, 100, 400, 300)
+				.build());
+	}
+
+	@AfterEach
+	void disposeFrame () throws Exception {
+		executor.shutdownNow();
+		OxideTestSupport.onEdt(() -> frame.dispose());
+	}
+
+	@Test
+	void buildsOffTheEdtAndPublishesOnIt () throws Exception {
+
+		OxideComponentFactory factory = new OxideComponentFactory(new OxideDefaultSkin());
+		JPanel contentPane = frame.getContentPane();
+		AtomicBoolean isBuiltOnEdt = new AtomicBoolean(true);
+		AtomicBoolean isAddedOnEdt = new AtomicBoolean(false);
+		AtomicInteger addCount = new AtomicInteger();
+
+		contentPane.addContainerListener(new ContainerAdapter() {
+
+			@Override
+			public void componentAdded (ContainerEvent e) {
+				isAddedOnEdt.set(EventQueue.isDispatchThread());
+				addCount.incrementAndGet();
+			}
+
+		});
+
+		JComponent subtree = factory.buildInto(contentPane, f -> {
+			isBuiltOnEdt.set(EventQueue.isDispatchThread());
+
+			JPanel panel = f.createTitledPanel("Subtree");
+			panel.setBounds(10, 10, 200, 100);
+
+			for (int i = 0; i < 20; i++) {
+				panel.add(f.createButton());
+			}
+
+			return panel;
+		}, executor).get(10, TimeUnit.SECONDS);
+
+		assertFalse(isBuiltOnEdt.get());
+		assertTrue(isAddedOnEdt.get());
+		assertEquals(1, addCount.get());
+
+		OxideTestSupport.onEdt(() -> {
+			assertSame(contentPane, subtree.getParent());
+			assertEquals(20, subtree.getComponentCount());
+			assertTrue(subtree.isShowing());
+		});
+	}
+
+	@Test
+	void cancelledBuildAddsNothing () throws Exception {
+
+		OxideComponentFactory factory = new OxideComponentFactory(new OxideDefaultSkin());
+		JPanel contentPane = frame.getContentPane();
+		int componentCount = OxideTestSupport.onEdt(() -> contentPane.getComponentCount());
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch built = new CountDownLatch(1);
+
+		CompletableFuture<JComponent> future = factory.buildInto(contentPane, f -> {
+			release.await(10, TimeUnit.SECONDS);
+
+			JPanel panel = f.createTitledPanel("Subtree");
+			panel.setBounds(10, 10, 200, 100);
+			built.countDown();
+
+			return panel;
+		}, executor);
+
+		assertTrue(future.cancel(false));
+		release.countDown();
+		assertTrue(built.await(10, TimeUnit.SECONDS));
+
+		/*
+		 * Let the executor hand the subtree to the EDT, then let the EDT run
+		 * the publish step
+		 */
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		OxideTestSupport.onEdt(() -> { });
+
+		assertEquals(componentCount, (int) OxideTestSupport.onEdt(() -> contentPane.getComponentCount()));
+	}
+
+	@Test
+	void cancelDuringPublishTakesTheSubtreeBackOut () throws Exception {
+
+		OxideComponentFactory factory = new OxideComponentFactory(new OxideDefaultSkin());
+		JPanel contentPane = frame.getContentPane();
+		int componentCount = OxideTestSupport.onEdt(() -> contentPane.getComponentCount());
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<CompletableFuture<JComponent>> future = new AtomicReference<>();
+
+		/*
+		 * Cancel the future after the publish step has checked it, as
+		 * another thread could
+		 */
+		contentPane.addContainerListener(new ContainerAdapter() {
+
+			@Override
+			public void componentAdded (ContainerEvent e) {
+				future.get().cancel(false);
+			}
+
+		});
+
+		future.set(factory.buildInto(contentPane, f -> {
+			release.await(10, TimeUnit.SECONDS);
+
+			JPanel panel = f.createTitledPanel("Subtree");
+			panel.setBounds(10, 10, 200, 100);
+
+			return panel;
+		}, executor));
+
+		release.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		OxideTestSupport.onEdt(() -> { });
+
+		assertTrue(future.get().isCancelled());
+		assertEquals(componentCount, (int) OxideTestSupport.onEdt(() -> contentPane.getComponentCount()));
+	}
+
+	@Test
+	void failedBuildAddsNothing () throws Exception {
+
+		OxideComponentFactory factory = new OxideComponentFactory(new OxideDefaultSkin());
+		JPanel contentPane = frame.getContentPane();
+		int componentCount = OxideTestSupport.onEdt(() -> contentPane.getComponentCount());
+
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> factory.buildInto(contentPane, f -> {
+					throw new IllegalStateException("Build failed");
+				}, executor).get(10, TimeUnit.SECONDS));
+
+		assertEquals("Build failed", e.getCause().getMessage());
+		assertEquals(componentCount, (int) OxideTestSupport.onEdt(() -> contentPane.getComponentCount()));
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import javax.swing.JPanel;
+import javax.swing.border.TitledBorder;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideFormTemplate instances don't share mutable state.
+ */
+@CacioTest
+class OxideFormTemplateTest {
+
+	@Test
+	void instancesHaveTheirOwnTitledBorder () throws Exception {
+
+		OxideFormTemplate template = OxideFormTemplate.parse(
+				"panel 0 0 360 120 Customer\n"
+				+ "label 10 20 100 24 Name\n"
+				+ "textField 120 20 200 24\n", new OxideDefaultSkin());
+
+		OxideTestSupport.onEdt(() -> {
+			JPanel first = template.instantiate();
+			JPanel second = template.instantiate();
+			TitledBorder firstBorder = (TitledBorder) first.getBorder();
+			TitledBorder secondBorder = (TitledBorder) second.getBorder();
+
+			assertNotSame(firstBorder, secondBorder);
+			assertSame(firstBorder.getBorder(), secondBorder.getBorder());
+			assertSame(firstBorder.getTitleFont(), secondBorder.getTitleFont());
+
+			/*
+			 * Retitling one form leaves the others alone
+			 */
+			firstBorder.setTitle("Supplier");
+
+			assertEquals("Customer", secondBorder.getTitle());
+			assertEquals("Customer", ((TitledBorder) template.instantiate().getBorder()).getTitle());
+		});
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests the component trees of OxideFrame's decorations.
+ */
+@CacioTest
+class OxideFrameDecorationTest {
+
+	@Test
+	void paintedDecorationHasThreeComponents () throws Exception {
+		assertEquals(3, countDecorationComponents(true));
+	}
+
+	@Test
+	void treeDecorationHasSixComponents () throws Exception {
+		assertEquals(6, countDecorationComponents(false));
+	}
+
+	/*
+	 * Returns the number of components making up a frame with the given
+	 * decoration: the frame pane, which is the root pane's content pane,
+	 * and the components below it.
+	 */
+	private static int countDecorationComponents (boolean isPainted) throws Exception {
+		return OxideTestSupport.onEdt(() -> {
+			OxideFrame frame = new OxideFrame.Builder(new OxideDefaultSkin())
+					.paintedDecoration(isPainted)
+					.visible(false)
+					.build();
+
+			try {
+				return 1 + OxideTestSupport.countComponents(frame.getRootPane().getContentPane());
+			} finally {
+				frame.dispose();
+			}
+		});
+	}
+
+}
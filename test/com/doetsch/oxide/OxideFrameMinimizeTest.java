@@ -0,0 +1,107 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Frame;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that an interrupted minimize animation leaves the frame at its
+ * full height and asks for it to be iconified.
+ */
+@CacioTest
+class OxideFrameMinimizeTest {
+
+	private final long[] now = new long[1];
+	private final OxideAnimator animator = new OxideAnimator(() -> now[0], 0, Long.MAX_VALUE);
+	private final AtomicBoolean isIconified = new AtomicBoolean();
+	private OxideFrame frame;
+
+	@AfterEach
+	void disposeFrame () throws Exception {
+		OxideTestSupport.onEdt(() -> frame.dispose());
+	}
+
+	@Test
+	void clearingTheAnimatorFinishesMinimizing () throws Exception {
+
+		OxideTestSupport.onEdt(() -> {
+			int fullHeight = startMinimizing();
+
+			frame.setAnimator(null);
+
+			assertEquals(0, animator.getRunningCount());
+			assertEquals(fullHeight, frame.getHeight());
+			assertTrue(isIconified.get());
+
+			/*
+			 * The finished animation no longer steps the frame
+			 */
+			isIconified.set(false);
+			now[0] += TimeUnit.SECONDS.toNanos(1);
+			animator.tick();
+
+			assertEquals(fullHeight, frame.getHeight());
+			assertFalse(isIconified.get());
+		});
+	}
+
+	@Test
+	void disposingFinishesMinimizing () throws Exception {
+
+		OxideTestSupport.onEdt(() -> {
+			int fullHeight = startMinimizing();
+
+			frame.dispose();
+
+			assertEquals(0, animator.getRunningCount());
+			assertEquals(fullHeight, frame.getHeight());
+			assertTrue(isIconified.get());
+		});
+	}
+
+	/*
+	 * Builds an animated frame and runs half of its minimize animation,
+	 * returning the frame's full height.
+	 */
+	private int startMinimizing () {
+
+		frame = new OxideFrame(false, new OxideDefaultSkin()) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void setExtendedState (int state) {
+				if (state == Frame.ICONIFIED) {
+					isIconified.set(true);
+				}
+
+				super.setExtendedState(state);
+			}
+
+		};
+
+		frame.setBounds(100, 100, 400, 300);
+		frame.setAnimator(animator);
+
+		int fullHeight = frame.getHeight();
+
+		frame.minimize();
+		now[0] += TimeUnit.MILLISECONDS.toNanos(75);
+		animator.tick();
+
+		assertTrue(frame.getHeight() < fullHeight);
+		assertEquals(1, animator.getRunningCount());
+
+		return fullHeight;
+	}
+
+}
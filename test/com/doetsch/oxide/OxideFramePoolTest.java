@@ -0,0 +1,86 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JLabel;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideFramePool restores released frames.
+ */
+@CacioTest
+class OxideFramePoolTest {
+
+	@Test
+	void releaseRestoresTheFrame () throws Exception {
+
+		OxideFramePool pool = new OxideFramePool(new OxideDefaultSkin(), 0, 1, 60_000);
+
+		OxideTestSupport.onEdt(() -> {
+			OxideFrame frame = pool.acquire("First", 100, 100, 300, 200);
+			AbstractAction closeBehavior = frame.getCloseButtonBehavior();
+			AbstractAction minimizeBehavior = frame.getMinimizeButtonBehavior();
+
+			frame.getContentPane().setLayout(new BorderLayout());
+			frame.getContentPane().add(new JLabel("Content"));
+			frame.setOxideSkin(new OxideTestSupport.AlternateSkin());
+			frame.setAnimator(new OxideAnimator(OxideAnimator.SYSTEM_CLOCK, 0, 1));
+			frame.setDragStrategy(OxideFrame.DRAG_OUTLINE);
+			frame.setDragCoalescingEnabled(true);
+			frame.setButtonActionsAsynchronous(true);
+			frame.setCloseButtonBehavior(new NoAction());
+			frame.setMinimizeButtonBehavior(new NoAction());
+
+			closeBehavior.actionPerformed(null);
+			assertFalse(frame.isVisible());
+			assertEquals(1, pool.getIdleCount());
+
+			OxideFrame reacquired = pool.acquire("Second", 100, 100, 300, 200);
+
+			assertSame(frame, reacquired);
+			assertEquals(0, frame.getContentPane().getComponentCount());
+			assertNull(frame.getContentPane().getLayout());
+			assertEquals(new OxideDefaultSkin().getContentPanelColor(),
+					frame.getContentPane().getBackground());
+			assertNull(frame.getAnimator());
+			assertEquals(OxideFrame.DRAG_LIVE, frame.getDragStrategy());
+			assertFalse(frame.isDragCoalescingEnabled());
+			assertFalse(frame.isButtonActionsAsynchronous());
+			assertNotSame(minimizeBehavior, frame.getMinimizeButtonBehavior());
+			assertFalse(frame.getMinimizeButtonBehavior() instanceof NoAction);
+
+			/*
+			 * The restored close button returns the frame to the pool again
+			 */
+			frame.getCloseButtonBehavior().actionPerformed(null);
+			assertEquals(1, pool.getIdleCount());
+
+			pool.shutdown();
+		});
+	}
+
+	/**
+	 * An action that does nothing.
+	 */
+	private static class NoAction extends AbstractAction {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void actionPerformed (ActionEvent e) {
+		}
+
+	}
+
+}
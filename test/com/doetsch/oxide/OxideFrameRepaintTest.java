@@ -0,0 +1,171 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Container;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideFrame repaints only what a move or resize changes,
+ * counting every repaint request the frame's components make.
+ */
+@CacioTest
+class OxideFrameRepaintTest {
+
+	private static final int WIDTH = 400;
+	private static final int HEIGHT = 300;
+
+	private RepaintManager previousManager;
+	private RecordingRepaintManager recorder;
+	private OxideFrame frame;
+	private Container framePane;
+
+	@BeforeEach
+	void createFrame () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			frame = new OxideFrame.Builder(new OxideDefaultSkin())
+					.parentFrame(false)
+					.title("Repaint")
+					.bounds(100, 100, WIDTH, HEIGHT)
+					.build();
+			framePane = frame.getRootPane().getContentPane();
+
+			previousManager = RepaintManager.currentManager(frame);
+			recorder = new RecordingRepaintManager();
+			RepaintManager.setCurrentManager(recorder);
+		});
+	}
+
+	@AfterEach
+	void disposeFrame () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			RepaintManager.setCurrentManager(previousManager);
+			frame.dispose();
+		});
+	}
+
+	@Test
+	void moveRepaintsNothing () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			long repaintedArea = frame.getRepaintedArea();
+
+			record(() -> frame.setBounds(160, 140, WIDTH, HEIGHT));
+
+			assertEquals(List.of(), recorder.regions);
+			assertEquals(repaintedArea, frame.getRepaintedArea());
+		});
+	}
+
+	@Test
+	void widthResizeRepaintsTheRightStrip () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			long repaintedArea = frame.getRepaintedArea();
+			int oldWidth = frame.getWidth();
+
+			record(() -> frame.setBounds(100, 100, WIDTH + 40, HEIGHT));
+
+			/*
+			 * A single strip from the end of the title, left of the buttons,
+			 * to the new right edge, spanning the frame's height
+			 */
+			assertEquals(1, recorder.regions.size(), "Repainted " + recorder.regions);
+
+			Rectangle strip = recorder.regions.get(0);
+
+			assertTrue(strip.x > 0 && strip.x < oldWidth - 40, "Repainted " + strip);
+			assertEquals(frame.getWidth(), strip.x + strip.width);
+			assertEquals(0, strip.y);
+			assertEquals(frame.getHeight(), strip.height);
+			assertEquals(frame.getRepaintedArea() - repaintedArea, recorder.getArea());
+		});
+	}
+
+	@Test
+	void heightResizeRepaintsTheBottomStrip () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			long repaintedArea = frame.getRepaintedArea();
+			int oldHeight = frame.getHeight();
+
+			record(() -> frame.setBounds(100, 100, WIDTH, HEIGHT + 30));
+
+			/*
+			 * A single strip from the old content pane's bottom edge to the new
+			 * bottom edge, spanning the frame's width
+			 */
+			assertEquals(1, recorder.regions.size(), "Repainted " + recorder.regions);
+
+			Rectangle strip = recorder.regions.get(0);
+
+			assertTrue(strip.y > oldHeight - 30 && strip.y < oldHeight, "Repainted " + strip);
+			assertEquals(frame.getHeight(), strip.y + strip.height);
+			assertEquals(0, strip.x);
+			assertEquals(frame.getWidth(), strip.width);
+			assertEquals(frame.getRepaintedArea() - repaintedArea, recorder.getArea());
+		});
+	}
+
+	/*
+	 * Records the repaint requests made by the given task.
+	 */
+	private void record (Runnable task) {
+		recorder.regions.clear();
+		recorder.isRecording = true;
+
+		try {
+			task.run();
+		} finally {
+			recorder.isRecording = false;
+		}
+
+		assertTrue(frame.isShowing());
+	}
+
+	/**
+	 * A RepaintManager that records the dirty regions requested within the
+	 * frame, in frame pane coordinates.
+	 */
+	private class RecordingRepaintManager extends RepaintManager {
+
+		private final List<Rectangle> regions = new ArrayList<>();
+		private boolean isRecording;
+
+		@Override
+		public void addDirtyRegion (JComponent c, int x, int y, int w, int h) {
+
+			if (isRecording && w > 0 && h > 0 && SwingUtilities.isDescendingFrom(c, frame)) {
+				regions.add(SwingUtilities.convertRectangle(c, new Rectangle(x, y, w, h), framePane));
+			}
+
+			super.addDirtyRegion(c, x, y, w, h);
+		}
+
+		/*
+		 * Returns the total recorded area.
+		 */
+		private long getArea () {
+
+			long area = 0;
+
+			for (Rectangle region : regions) {
+				area += (long) region.width * region.height;
+			}
+
+			return area;
+		}
+
+	}
+
+}
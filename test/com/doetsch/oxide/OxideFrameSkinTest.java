@@ -0,0 +1,129 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JButton;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideFrame re-skins its existing component tree.
+ */
+@CacioTest
+class OxideFrameSkinTest {
+
+	private OxideFrame frame;
+
+	@AfterEach
+	void disposeFrame () throws Exception {
+		OxideTestSupport.onEdt(() -> frame.dispose());
+	}
+
+	@Test
+	void reskinningKeepsTheComponentTree () throws Exception {
+
+		OxideSkin defaultSkin = new OxideDefaultSkin();
+		OxideSkin alternateSkin = new OxideTestSupport.AlternateSkin();
+		JButton content = new JButton("Content");
+
+		OxideTestSupport.onEdt(() -> {
+			frame = new OxideFrame.Builder(defaultSkin)
+					.title("Skin")
+					.bounds(100, 100, 400, 300)
+					.add(content)
+					.build();
+		});
+
+		int componentCount = OxideTestSupport.onEdt(() -> OxideTestSupport.countComponents(frame));
+
+		for (int i = 0; i < 50; i++) {
+			OxideSkin skin = (i % 2 == 0 ? alternateSkin : defaultSkin);
+
+			OxideTestSupport.onEdt(() -> {
+				frame.setOxideSkin(skin);
+				assertEquals(componentCount, OxideTestSupport.countComponents(frame));
+			});
+		}
+
+		OxideTestSupport.onEdt(() -> {
+			frame.setOxideSkin(alternateSkin);
+
+			assertSame(frame.getContentPane(), content.getParent());
+			assertEquals(alternateSkin.getContentPanelColor(), frame.getContentPane().getBackground());
+			assertEquals(componentCount, OxideTestSupport.countComponents(frame));
+		});
+	}
+
+	@Test
+	void reskinningTakesBoundedTime () throws Exception {
+
+		OxideSkin defaultSkin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+		OxideSkin alternateSkin = OxideCompiledSkin.compile(new OxideTestSupport.AlternateSkin());
+
+		OxideTestSupport.onEdt(() -> {
+			frame = new OxideFrame.Builder(defaultSkin)
+					.title("Skin")
+					.bounds(100, 100, 400, 300)
+					.build();
+		});
+
+		long elapsedNanos = OxideTestSupport.onEdt(() -> {
+			long start = System.nanoTime();
+
+			for (int i = 0; i < 200; i++) {
+				frame.setOxideSkin(i % 2 == 0 ? alternateSkin : defaultSkin);
+			}
+
+			return System.nanoTime() - start;
+		});
+
+		/*
+		 * A re-skin only sets properties and lays out the decoration, so 200
+		 * of them take milliseconds; the bound leaves ample room for slow
+		 * machines while still catching a rebuild of the tree per re-skin
+		 */
+		assertTrue(elapsedNanos < 5_000_000_000L, "200 re-skins took " + (elapsedNanos / 1_000_000) + " ms");
+	}
+
+	@Test
+	void interruptedTransitionReturnsToTheCurrentSkin () throws Exception {
+
+		OxideSkin defaultSkin = OxideCompiledSkin.compile(new OxideDefaultSkin());
+		OxideSkin alternateSkin = OxideCompiledSkin.compile(new OxideTestSupport.AlternateSkin());
+		long[] now = new long[1];
+		OxideAnimator animator = new OxideAnimator(() -> now[0], 0, Long.MAX_VALUE);
+
+		OxideTestSupport.onEdt(() -> {
+			frame = new OxideFrame.Builder(defaultSkin)
+					.title("Skin")
+					.bounds(100, 100, 400, 300)
+					.animator(animator)
+					.build();
+
+			frame.setOxideSkin(alternateSkin, 100);
+			now[0] += TimeUnit.MILLISECONDS.toNanos(50);
+			animator.tick();
+
+			assertNotEquals(defaultSkin.getContentPanelColor(), frame.getContentPane().getBackground());
+
+			/*
+			 * Transitioning back to the skin the frame still has applies it at
+			 * once, which must also undo the interrupted transition's blending
+			 */
+			frame.setOxideSkin(defaultSkin, 100);
+
+			assertEquals(0, animator.getRunningCount());
+			assertSame(defaultSkin, frame.getOxideSkin());
+			assertEquals(defaultSkin.getContentPanelColor(), frame.getContentPane().getBackground());
+		});
+	}
+
+}
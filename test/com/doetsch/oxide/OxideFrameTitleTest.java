@@ -0,0 +1,65 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.swing.JLabel;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideFrame displays its title.
+ */
+@CacioTest
+class OxideFrameTitleTest {
+
+	@Test
+	void emptyTitleReachesTheLabelOfANewFrame () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			OxideFrame frame = new OxideFrame(false, new OxideDefaultSkin());
+
+			try {
+				frame.setTitle("");
+
+				assertEquals(" ", titleLabel(frame).getText());
+			} finally {
+				frame.dispose();
+			}
+		});
+	}
+
+	@Test
+	void titleChangedDuringAnUpdateIsApplied () throws Exception {
+		OxideTestSupport.onEdt(() -> {
+			OxideFrame frame = new OxideFrame.Builder(new OxideDefaultSkin())
+					.title("First")
+					.visible(false)
+					.build();
+
+			try {
+				frame.beginUpdate();
+				frame.setTitle("Second");
+				frame.setTitle("First");
+				frame.endUpdate();
+
+				assertEquals("First", frame.getTitle());
+				assertEquals(" First", titleLabel(frame).getText());
+
+				frame.setTitle("First");
+
+				assertEquals(" First", titleLabel(frame).getText());
+			} finally {
+				frame.dispose();
+			}
+		});
+	}
+
+	/*
+	 * Returns the given frame's title label.
+	 */
+	private static JLabel titleLabel (OxideFrame frame) {
+		return (JLabel) OxideTestSupport.findComponent(frame, "DragAnchorLabel");
+	}
+
+}
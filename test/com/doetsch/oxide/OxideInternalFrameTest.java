@@ -0,0 +1,117 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests that OxideInternalFrame's title bar buttons act on release, like
+ * a JButton.
+ */
+@CacioTest
+class OxideInternalFrameTest {
+
+	@Test
+	void closeButtonActsOnReleaseOverTheButton () throws Exception {
+
+		OxideTestSupport.onEdt(() -> {
+			JPanel parent = new JPanel(null);
+			OxideInternalFrame frame = new OxideInternalFrame("Internal", new OxideDefaultSkin());
+			parent.add(frame);
+
+			Point close = center(closeButtonBounds(frame));
+
+			dispatch(frame, MouseEvent.MOUSE_PRESSED, close.x, close.y);
+			assertEquals(parent, frame.getParent());
+
+			dispatch(frame, MouseEvent.MOUSE_RELEASED, close.x, close.y);
+			assertNull(frame.getParent());
+		});
+	}
+
+	@Test
+	void releaseAwayFromThePressedButtonCancelsIt () throws Exception {
+
+		OxideTestSupport.onEdt(() -> {
+			JPanel parent = new JPanel(null);
+			OxideInternalFrame frame = new OxideInternalFrame("Internal", new OxideDefaultSkin());
+			parent.add(frame);
+
+			Rectangle closeBounds = closeButtonBounds(frame);
+			Point close = center(closeBounds);
+			Point minimize = center(minimizeButtonBounds(frame));
+
+			/*
+			 * Dragging off the button, or onto the other button, does nothing
+			 */
+			dispatch(frame, MouseEvent.MOUSE_PRESSED, close.x, close.y);
+			dispatch(frame, MouseEvent.MOUSE_RELEASED, closeBounds.x - 40, close.y);
+			assertEquals(parent, frame.getParent());
+
+			dispatch(frame, MouseEvent.MOUSE_PRESSED, close.x, close.y);
+			dispatch(frame, MouseEvent.MOUSE_RELEASED, minimize.x, minimize.y);
+			assertEquals(parent, frame.getParent());
+			assertFalse(frame.isMinimized());
+
+			/*
+			 * A later release alone doesn't fire the cancelled press
+			 */
+			dispatch(frame, MouseEvent.MOUSE_RELEASED, close.x, close.y);
+			assertEquals(parent, frame.getParent());
+
+			dispatch(frame, MouseEvent.MOUSE_PRESSED, minimize.x, minimize.y);
+			dispatch(frame, MouseEvent.MOUSE_RELEASED, minimize.x, minimize.y);
+			assertTrue(frame.isMinimized());
+		});
+	}
+
+	/*
+	 * Returns the bounds of the given frame's close button, relative to the
+	 * frame, from a painter laid out the same way.
+	 */
+	private static Rectangle closeButtonBounds (OxideInternalFrame frame) {
+		Rectangle bounds = painterFor(frame).getCloseButtonBounds();
+		bounds.translate(frame.getOxideSkin().getFrameBorderWidth(), frame.getOxideSkin().getFrameBorderWidth());
+		return bounds;
+	}
+
+	/*
+	 * Returns the bounds of the given frame's minimize button, relative to
+	 * the frame.
+	 */
+	private static Rectangle minimizeButtonBounds (OxideInternalFrame frame) {
+		Rectangle bounds = painterFor(frame).getMinimizeButtonBounds();
+		bounds.translate(frame.getOxideSkin().getFrameBorderWidth(), frame.getOxideSkin().getFrameBorderWidth());
+		return bounds;
+	}
+
+	private static OxideDecorationPainter painterFor (OxideInternalFrame frame) {
+		Rectangle content = frame.getContentPaneBounds();
+		OxideDecorationPainter painter = new OxideDecorationPainter(frame.getOxideSkin(), false);
+		painter.setTitle("Internal");
+		painter.setContentSize(content.width, content.height);
+		return painter;
+	}
+
+	private static Point center (Rectangle bounds) {
+		return new Point((int) bounds.getCenterX(), (int) bounds.getCenterY());
+	}
+
+	private static void dispatch (OxideInternalFrame frame, int id, int x, int y) {
+		frame.dispatchEvent(new MouseEvent(frame, id, System.currentTimeMillis(),
+				InputEvent.BUTTON1_DOWN_MASK, x, y, x, y, 1, false, MouseEvent.BUTTON1));
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import javax.swing.DefaultListSelectionModel;
+import javax.swing.ListSelectionModel;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests OxideListSelectionModel against DefaultListSelectionModel, and
+ * that its events cover every changed index.
+ */
+class OxideListSelectionModelTest {
+
+	/*
+	 * The range of indexes the random operations use
+	 */
+	private static final int SIZE = 64;
+
+	@Test
+	void behavesLikeDefaultListSelectionModel () {
+
+		int[] modes = {
+			ListSelectionModel.MULTIPLE_INTERVAL_SELECTION,
+			ListSelectionModel.SINGLE_INTERVAL_SELECTION,
+			ListSelectionModel.SINGLE_SELECTION
+		};
+
+		for (int mode : modes) {
+			Random random = new Random(mode);
+
+			for (int run = 0; run < 50; run++) {
+				OxideListSelectionModel model = new OxideListSelectionModel();
+				DefaultListSelectionModel reference = new DefaultListSelectionModel();
+				model.setSelectionMode(mode);
+				reference.setSelectionMode(mode);
+
+				boolean[] before = new boolean[SIZE * 2];
+				int[] changed = new int[] { Integer.MAX_VALUE, -1 };
+
+				model.addListSelectionListener(e -> {
+					changed[0] = Math.min(changed[0], e.getFirstIndex());
+					changed[1] = Math.max(changed[1], e.getLastIndex());
+				});
+
+				for (int step = 0; step < 200; step++) {
+					snapshot(model, before);
+					changed[0] = Integer.MAX_VALUE;
+					changed[1] = -1;
+
+					String operation = apply(random, model, reference);
+
+					assertSameState(reference, model, operation);
+
+					/*
+					 * Every index whose selection changed is within the reported range
+					 */
+					for (int i = 0; i < before.length; i++) {
+						if (before[i] != model.isSelectedIndex(i)) {
+							assertTrue(i >= changed[0] && i <= changed[1], operation + ": index " + i
+									+ " changed outside " + changed[0] + ".." + changed[1]);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void farSelectionKeepsOneInterval () {
+
+		OxideListSelectionModel model = new OxideListSelectionModel();
+
+		model.setSelectionInterval(5, 5);
+		model.setSelectionInterval(2_000_000_000, 2_000_000_000);
+		model.addSelectionInterval(10, 1_999_999_990);
+
+		assertEquals(10, model.getMinSelectionIndex());
+		assertEquals(2_000_000_000, model.getMaxSelectionIndex());
+		assertTrue(model.isSelectedIndex(1_000_000_000));
+		assertTrue(!model.isSelectedIndex(1_999_999_995));
+		assertTrue(!model.isSelectedIndex(5));
+	}
+
+	/*
+	 * Applies the same random operation to both models and describes it.
+	 */
+	private static String apply (Random random, ListSelectionModel model, ListSelectionModel reference) {
+
+		int index0 = random.nextInt(SIZE);
+		int index1 = random.nextInt(SIZE);
+
+		switch (random.nextInt(10)) {
+		case 0:
+		case 1:
+			model.setSelectionInterval(index0, index1);
+			reference.setSelectionInterval(index0, index1);
+			return "set " + index0 + " " + index1;
+		case 2:
+		case 3:
+			model.addSelectionInterval(index0, index1);
+			reference.addSelectionInterval(index0, index1);
+			return "add " + index0 + " " + index1;
+		case 4:
+		case 5:
+			model.removeSelectionInterval(index0, index1);
+			reference.removeSelectionInterval(index0, index1);
+			return "remove " + index0 + " " + index1;
+		case 6:
+			boolean before = random.nextBoolean();
+			int length = 1 + (index1 % 4);
+			model.insertIndexInterval(index0, length, before);
+			reference.insertIndexInterval(index0, length, before);
+			return "insertIndexes " + index0 + " " + length + " " + before;
+		case 7:
+			int last = Math.min(index0 + (index1 % 4), SIZE - 1);
+			model.removeIndexInterval(index0, last);
+			reference.removeIndexInterval(index0, last);
+			return "removeIndexes " + index0 + " " + last;
+		case 8:
+			model.setLeadSelectionIndex(index0);
+			reference.setLeadSelectionIndex(index0);
+			return "lead " + index0;
+		default:
+			if (index1 % 8 == 0) {
+				model.clearSelection();
+				reference.clearSelection();
+				return "clear";
+			}
+
+			model.setAnchorSelectionIndex(index0);
+			reference.setAnchorSelectionIndex(index0);
+			return "anchor " + index0;
+		}
+	}
+
+	private static void assertSameState (ListSelectionModel expected, ListSelectionModel actual, String operation) {
+
+		assertEquals(expected.getMinSelectionIndex(), actual.getMinSelectionIndex(), operation);
+		assertEquals(expected.getMaxSelectionIndex(), actual.getMaxSelectionIndex(), operation);
+		assertEquals(expected.getAnchorSelectionIndex(), actual.getAnchorSelectionIndex(), operation);
+		assertEquals(expected.getLeadSelectionIndex(), actual.getLeadSelectionIndex(), operation);
+		assertEquals(expected.isSelectionEmpty(), actual.isSelectionEmpty(), operation);
+
+		for (int i = 0; i < SIZE * 2; i++) {
+			assertEquals(expected.isSelectedIndex(i), actual.isSelectedIndex(i), operation + ": index " + i);
+		}
+	}
+
+	private static void snapshot (ListSelectionModel model, boolean[] selection) {
+		for (int i = 0; i < selection.length; i++) {
+			selection[i] = model.isSelectedIndex(i);
+		}
+	}
+
+}
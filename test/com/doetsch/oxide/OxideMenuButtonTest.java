@@ -0,0 +1,226 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Cursor;
+import java.awt.EventQueue;
+import java.awt.Frame;
+import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.AbstractAction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.caciocavallosilano.cacio.ctc.junit.CacioTest;
+
+/**
+ * Tests OxideMenuButton's asynchronous actions.
+ */
+@CacioTest
+class OxideMenuButtonTest {
+
+	@AfterEach
+	void resetExecutor () {
+		OxideMenuButton.setActionExecutor(null);
+	}
+
+	@Test
+	void asynchronousActionKeepsTheEdtResponsive () throws Exception {
+
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runCount = new AtomicInteger();
+		OxideMenuButton button = OxideTestSupport.onEdt(() -> new OxideMenuButton("", new OxideDefaultSkin()));
+
+		button.setActionListener(new AbstractAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void actionPerformed (ActionEvent e) {
+				runCount.incrementAndGet();
+
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+		});
+		button.setAsynchronous(true);
+
+		OxideTestSupport.onEdt(() -> button.doClick());
+
+		/*
+		 * The EDT keeps dispatching events while the action blocks, and the
+		 * button ignores presses until the action completes
+		 */
+		long start = System.nanoTime();
+
+		for (int i = 0; i < 100; i++) {
+			OxideTestSupport.onEdt(() -> {
+				assertTrue(button.isActionRunning());
+				button.doClick();
+			});
+		}
+
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+		assertEquals(1, runCount.get());
+
+		release.countDown();
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+		while (OxideTestSupport.onEdt(() -> button.isActionRunning())) {
+			assertTrue(System.nanoTime() < deadline, "The action did not complete");
+			Thread.sleep(10);
+		}
+
+		assertEquals(1, runCount.get());
+	}
+
+	@Test
+	void rejectedActionRestoresTheButton () throws Exception {
+
+		OxideMenuButton.setActionExecutor(new Executor() {
+
+			@Override
+			public void execute (Runnable command) {
+				throw new RejectedExecutionException("Shut down");
+			}
+
+		});
+
+		OxideTestSupport.onEdt(() -> {
+			OxideMenuButton button = new OxideMenuButton("", new OxideDefaultSkin());
+			button.setActionListener(new AbstractAction() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void actionPerformed (ActionEvent e) {
+				}
+
+			});
+			button.setAsynchronous(true);
+
+			assertThrows(RejectedExecutionException.class, () -> button.doClick());
+			assertFalse(button.isActionRunning());
+			assertFalse(button.isSelected());
+			assertEquals(Cursor.DEFAULT_CURSOR, button.getCursor().getType());
+		});
+	}
+
+	@Test
+	void frameForwardsAsynchronousButtonActions () throws Exception {
+
+		OxideTestSupport.onEdt(() -> {
+			OxideFrame frame = new OxideFrame.Builder(new OxideDefaultSkin())
+					.visible(false)
+					.asynchronousButtonActions(true)
+					.build();
+
+			try {
+				List<OxideMenuButton> buttons = new ArrayList<>();
+				collectButtons(frame, buttons);
+
+				assertEquals(2, buttons.size());
+				assertTrue(frame.isButtonActionsAsynchronous());
+				assertTrue(buttons.get(0).isAsynchronous());
+				assertTrue(buttons.get(1).isAsynchronous());
+
+				frame.setButtonActionsAsynchronous(false);
+
+				assertFalse(frame.isButtonActionsAsynchronous());
+				assertFalse(buttons.get(0).isAsynchronous());
+				assertFalse(buttons.get(1).isAsynchronous());
+			} finally {
+				frame.dispose();
+			}
+		});
+	}
+
+	@Test
+	void asynchronousDefaultBehaviorsActOnTheEdt () throws Exception {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		OxideMenuButton.setActionExecutor(executor);
+
+		CountDownLatch performed = new CountDownLatch(2);
+		AtomicBoolean isMinimizedOnEdt = new AtomicBoolean();
+		AtomicBoolean isDisposedOnEdt = new AtomicBoolean();
+
+		try {
+			OxideFrame frame = OxideTestSupport.onEdt(() -> new OxideFrame(false, new OxideDefaultSkin()) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void setExtendedState (int state) {
+					if (state == Frame.ICONIFIED) {
+						isMinimizedOnEdt.set(EventQueue.isDispatchThread());
+						performed.countDown();
+					}
+
+					super.setExtendedState(state);
+				}
+
+				@Override
+				public void dispose () {
+					isDisposedOnEdt.set(EventQueue.isDispatchThread());
+					performed.countDown();
+					super.dispose();
+				}
+
+			});
+
+			OxideTestSupport.onEdt(() -> {
+				frame.setButtonActionsAsynchronous(true);
+
+				List<OxideMenuButton> buttons = new ArrayList<>();
+				collectButtons(frame, buttons);
+
+				for (OxideMenuButton button : buttons) {
+					button.doClick();
+				}
+			});
+
+			assertTrue(performed.await(10, TimeUnit.SECONDS));
+			assertTrue(isMinimizedOnEdt.get());
+			assertTrue(isDisposedOnEdt.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/*
+	 * Adds the menu buttons below the given container to the given list.
+	 */
+	private static void collectButtons (Container container, List<OxideMenuButton> buttons) {
+
+		for (Component component : container.getComponents()) {
+			if (component instanceof OxideMenuButton) {
+				buttons.add((OxideMenuButton) component);
+			} else if (component instanceof Container) {
+				collectButtons((Container) component, buttons);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.doetsch.oxide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.Color;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests OxideSkinLoader's content-hash cache.
+ */
+class OxideSkinLoaderTest {
+
+	private static final String BLUE = "decorationBorderColor = #1F4E79\n";
+	private static final String GREEN = "decorationBorderColor = #2E7D32\n";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void unchangedContentIsNotParsedAgain () throws Exception {
+
+		OxideSkinLoader loader = new OxideSkinLoader();
+		Path file = write("skin.txt", BLUE);
+
+		OxideCompiledSkin skin = loader.load(file);
+
+		assertSame(skin, loader.load(file));
+		assertEquals(1, loader.getParseCount());
+		assertEquals(1, loader.getCacheHitCount());
+		assertEquals(new Color(0x1F, 0x4E, 0x79), skin.getDecorationBorderColor());
+	}
+
+	@Test
+	void changedContentEvictsTheFilesPreviousSkin () throws Exception {
+
+		OxideSkinLoader loader = new OxideSkinLoader();
+		Path file = write("skin.txt", BLUE);
+
+		OxideCompiledSkin blue = loader.load(file);
+		write("skin.txt", GREEN);
+		OxideCompiledSkin green = loader.load(file);
+		write("skin.txt", BLUE);
+
+		/*
+		 * The blue skin was evicted when the file turned green
+		 */
+		assertNotSame(blue, loader.load(file));
+		assertNotSame(green, blue);
+		assertEquals(3, loader.getParseCount());
+	}
+
+	@Test
+	void contentSharedWithAnotherFileStaysCached () throws Exception {
+
+		OxideSkinLoader loader = new OxideSkinLoader();
+		Path first = write("first.txt", BLUE);
+		Path second = write("second.txt", BLUE);
+
+		OxideCompiledSkin blue = loader.load(first);
+		assertSame(blue, loader.load(second));
+
+		write("first.txt", GREEN);
+		loader.load(first);
+
+		assertSame(blue, loader.load(second));
+		assertEquals(2, loader.getParseCount());
+	}
+
+	/*
+	 * Writes the given content to the named file in the temporary directory.
+	 */
+	private Path write (String name, String content) throws Exception {
+		return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.doetsch.oxide;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * OxideTestSupport holds the helpers shared by the Oxide tests.
+ */
+final class OxideTestSupport {
+
+	private OxideTestSupport () {
+	}
+
+	/**
+	 * Runs the given task on the event dispatch thread and returns its
+	 * result, rethrowing whatever the task throws.
+	 */
+	static <T> T onEdt (Callable<T> task) throws Exception {
+
+		Object[] result = new Object[1];
+		Exception[] failure = new Exception[1];
+
+		try {
+			SwingUtilities.invokeAndWait(() -> {
+				try {
+					result[0] = task.call();
+				} catch (Exception e) {
+					failure[0] = e;
+				}
+			});
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+
+			throw e;
+		}
+
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+
+		@SuppressWarnings("unchecked")
+		T typedResult = (T) result[0];
+		return typedResult;
+	}
+
+	/**
+	 * Runs the given task on the event dispatch thread.
+	 */
+	static void onEdt (ThrowingRunnable task) throws Exception {
+		onEdt(() -> {
+			task.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Returns the number of components in the tree below the given
+	 * container.
+	 */
+	static int countComponents (Container container) {
+
+		int count = 0;
+
+		for (Component component : container.getComponents()) {
+			count++;
+
+			if (component instanceof Container) {
+				count += countComponents((Container) component);
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the first component below the given container whose class is
+	 * the given class or, for a nested class, whose simple name is the
+	 * given name.
+	 */
+	static Component findComponent (Container container, String className) {
+
+		for (Component component : container.getComponents()) {
+			if (component.getClass().getName().equals(className)
+					|| component.getClass().getName().endsWith("$" + className)) {
+				return component;
+			}
+
+			if (component instanceof Container) {
+				Component found = findComponent((Container) component, className);
+
+				if (found != null) {
+					return found;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * A Runnable that may throw.
+	 */
+	interface ThrowingRunnable {
+
+		void run () throws Exception;
+
+	}
+
+	/**
+	 * An OxideDefaultSkin with different colors and a wider decoration
+	 * border, for tests that change skins.
+	 */
+	static class AlternateSkin extends OxideDefaultSkin {
+
+		@Override
+		public int getDecorationBorderWidth () {
+			return 8;
+		}
+
+		@Override
+		public Color getDecorationBorderColor () {
+			return new Color(40, 90, 140);
+		}
+
+		@Override
+		public Color getContentPanelColor () {
+			return new Color(250, 250, 245);
+		}
+
+		@Override
+		public Color getChildTitleFontColor () {
+			return new Color(255, 255, 255);
+		}
+
+	}
+
+}